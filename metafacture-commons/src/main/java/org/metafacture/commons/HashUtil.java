@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.commons;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hash related utility functions, e.g. for caching parsed definitions by
+ * their content.
+ */
+public final class HashUtil {
+
+    private static final String SHA_256 = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int HEX_SHIFT = 4;
+    private static final int HEX_MASK = 0xf;
+
+    private HashUtil() {
+        // No instances allowed
+    }
+
+    /**
+     * Computes the SHA-256 hash of the content.
+     *
+     * @param content the content to hash
+     * @return the hash as lower case hex string
+     */
+    public static String sha256(final byte[] content) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance(SHA_256).digest(content);
+        }
+        catch (final NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        final char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; ++i) {
+            hex[2 * i] = HEX_DIGITS[digest[i] >> HEX_SHIFT & HEX_MASK];
+            hex[2 * i + 1] = HEX_DIGITS[digest[i] & HEX_MASK];
+        }
+
+        return new String(hex);
+    }
+
+}
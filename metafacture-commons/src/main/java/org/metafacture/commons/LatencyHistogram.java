@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.commons;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations with logarithmic buckets. Each power of two is
+ * divided into eight buckets, so percentiles are accurate to 12.5%. Values
+ * can be recorded concurrently.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = Long.SIZE * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Creates an instance of {@link LatencyHistogram}.
+     */
+    public LatencyHistogram() {
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds. Negative durations are
+     *              recorded as 0.
+     */
+    public void record(final long nanos) {
+        record(nanos, 1);
+    }
+
+    /**
+     * Records the same duration several times.
+     *
+     * @param nanos the duration in nanoseconds. Negative durations are
+     *              recorded as 0.
+     * @param count the number of times the duration is recorded
+     */
+    public void record(final long nanos, final long count) {
+        counts.addAndGet(getBucket(Math.max(nanos, 0)), count);
+    }
+
+    /**
+     * Removes all recorded durations.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the duration below which the given fraction of the recorded
+     * durations lies.
+     *
+     * @param percentile the fraction between 0 and 1
+     * @return the lower bound of the bucket containing the percentile in
+     * nanoseconds or 0 if no durations were recorded
+     */
+    public long getPercentile(final double percentile) {
+        final long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max((long) Math.ceil(percentile * total), 1);
+
+        int bucket = 0;
+        long count = counts.get(bucket);
+        while (count < rank && bucket < BUCKETS - 1) {
+            ++bucket;
+            count += counts.get(bucket);
+        }
+
+        return getLowerBound(bucket);
+    }
+
+    /**
+     * Gets the largest recorded duration.
+     *
+     * @return the lower bound of the highest non-empty bucket in nanoseconds
+     * or 0 if no durations were recorded
+     */
+    public long getMax() {
+        int bucket = BUCKETS - 1;
+        while (bucket > 0 && counts.get(bucket) == 0) {
+            --bucket;
+        }
+        return getLowerBound(bucket);
+    }
+
+    private static int getBucket(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (exponent + 1) * SUB_BUCKETS + (int) (value >>> exponent & SUB_BUCKETS - 1);
+    }
+
+    private static long getLowerBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final int exponent = bucket / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << exponent;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Regular expression related utility functions.
+ */
+public final class RegexUtil {
+
+    public static final int MAX_CACHED_PATTERNS = 1024;
+
+    private static final String META_CHARS = "\\^$.|?*+()[]{}";
+
+    private static final char ESCAPE_CHAR = '\\';
+    private static final char BEGIN_ANCHOR = '^';
+
+    // Patterns are immutable and thread-safe:
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private RegexUtil() {
+        throw new AssertionError("No instances allowed");
+    }
+
+    /**
+     * Compiles a regular expression. Identical regular expressions share one
+     * {@link Pattern}, so that a pattern which is used in many places (e.g.
+     * in several functions of a morph) is only compiled once. At most
+     * {@value #MAX_CACHED_PATTERNS} patterns are shared.
+     *
+     * @param regex the regular expression
+     * @return the compiled pattern
+     */
+    public static Pattern compile(final String regex) {
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            if (PATTERNS.size() < MAX_CACHED_PATTERNS) {
+                PATTERNS.putIfAbsent(regex, pattern);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Returns the string matched by a regular expression which consists of
+     * literal characters only. Meta characters may be escaped with a
+     * backslash, e.g. {@code a\.b} matches the literal {@code a.b}.
+     *
+     * @param regex the regular expression
+     * @return the matched string or null if the regular expression is empty
+     * or not a literal
+     */
+    public static String getLiteral(final String regex) {
+        return getLiteral(regex, 0);
+    }
+
+    /**
+     * Returns the prefix matched by a regular expression which consists of a
+     * begin anchor ({@code ^}) followed by literal characters only.
+     *
+     * @param regex the regular expression
+     * @return the matched prefix or null if the regular expression is not an
+     * anchored literal
+     * @see #getLiteral(String)
+     */
+    public static String getPrefix(final String regex) {
+        return !regex.isEmpty() && regex.charAt(0) == BEGIN_ANCHOR ? getLiteral(regex, 1) : null;
+    }
+
+    /**
+     * Checks whether a replacement string is free of group references and
+     * escapes, which are interpreted by
+     * {@link java.util.regex.Matcher#replaceAll(String)}.
+     *
+     * @param replacement the replacement string
+     * @return true if the replacement string is inserted unchanged
+     */
+    public static boolean isLiteralReplacement(final String replacement) {
+        return replacement.indexOf('$') < 0 && replacement.indexOf(ESCAPE_CHAR) < 0;
+    }
+
+    private static String getLiteral(final String regex, final int start) {
+        final StringBuilder literal = new StringBuilder(regex.length() - start);
+
+        boolean isLiteral = true;
+        int i = start;
+        while (isLiteral && i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == ESCAPE_CHAR) {
+                // Escaped letters and digits are character classes, back references etc.
+                isLiteral = i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1));
+                if (isLiteral) {
+                    literal.append(regex.charAt(i + 1));
+                }
+                i += 2;
+            }
+            else {
+                isLiteral = META_CHARS.indexOf(c) < 0;
+                literal.append(c);
+                ++i;
+            }
+        }
+
+        return isLiteral && literal.length() > 0 ? literal.toString() : null;
+    }
+
+}
@@ -17,6 +17,8 @@
 package org.metafacture.commons;
 
 import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -114,41 +116,35 @@ public static String format(final String format, final String varStartIndicator,
             return format;
         }
 
-        int varStart = 0;
-        int varEnd = 0;
-        int oldEnd = 0;
-        String varName;
-        String varValue;
-
-        final StringBuilder builder = new StringBuilder();
-        final char[] formatChars = format.toCharArray();
-
-        while (true) {
-            varStart = format.indexOf(varStartIndicator, oldEnd);
-            varEnd = format.indexOf(varEndIndicator, varStart);
-            if (varStart < 0 || varEnd < 0) {
-                builder.append(formatChars, oldEnd, formatChars.length - oldEnd);
-                break;
-            }
-
-            builder.append(formatChars, oldEnd, varStart - oldEnd);
+        return compile(format, varStartIndicator, varEndIndicator).format(variables, ignoreMissingVars);
+    }
 
-            varName = format.substring(varStart + varStartIndicator.length(), varEnd);
-            varValue = variables.get(varName);
-            if (varValue == null) {
-                if (ignoreMissingVars) {
-                    varValue = "";
-                }
-                else {
-                    throw new IllegalArgumentException("Variable '" + varName +
-                            "' was not assigned!\nAssigned variables:\n" + variables);
-                }
-            }
-            builder.append(varValue);
+    /**
+     * Compiles a format String into a {@link Template}, which can be formatted
+     * repeatedly without parsing the format String again.
+     * {@value #DEFAULT_VARSTART} indicates the start of a variable and
+     * {@value #DEFAULT_VAREND} the end of the variable.
+     *
+     * @param format the String to be compiled
+     * @return the compiled template
+     * @see #format(String, Map)
+     */
+    public static Template compile(final String format) {
+        return compile(format, DEFAULT_VARSTART, DEFAULT_VAREND);
+    }
 
-            oldEnd = varEnd + varEndIndicator.length();
-        }
-        return builder.toString();
+    /**
+     * Compiles a format String into a {@link Template}, which can be formatted
+     * repeatedly without parsing the format String again.
+     *
+     * @param format            the String to be compiled
+     * @param varStartIndicator a String indicating the start of a variable
+     * @param varEndIndicator   a String indicating the end of a variable
+     * @return the compiled template
+     * @see #format(String, String, String, boolean, Map)
+     */
+    public static Template compile(final String format, final String varStartIndicator, final String varEndIndicator) {
+        return new Template(format, varStartIndicator, varEndIndicator);
     }
 
     /**
@@ -210,4 +206,102 @@ public static String repeatChars(final char ch, final int count) {
         return CharBuffer.allocate(count).toString().replace('\0', ch);
     }
 
+    /**
+     * A format String which has been split into literal text and variables
+     * once, so that it can be formatted repeatedly (e.g. for each record)
+     * without being parsed again. Instances are immutable and thread-safe.
+     *
+     * @see StringUtil#compile(String)
+     */
+    public static final class Template {
+
+        private final String format;
+        private final String[] literals;
+        private final String[] varNames;
+
+        private Template(final String format, final String varStartIndicator, final String varEndIndicator) {
+            final List<String> literalList = new ArrayList<>();
+            final List<String> varNameList = new ArrayList<>();
+
+            int oldEnd = 0;
+            while (true) {
+                final int varStart = format.indexOf(varStartIndicator, oldEnd);
+                final int varEnd = format.indexOf(varEndIndicator, varStart);
+                if (varStart < 0 || varEnd < 0) {
+                    literalList.add(format.substring(oldEnd));
+                    break;
+                }
+
+                literalList.add(format.substring(oldEnd, varStart));
+                varNameList.add(format.substring(varStart + varStartIndicator.length(), varEnd));
+
+                oldEnd = varEnd + varEndIndicator.length();
+            }
+
+            this.format = format;
+            literals = literalList.toArray(new String[0]);
+            varNames = varNameList.toArray(new String[0]);
+        }
+
+        /**
+         * Checks whether the template contains variables.
+         *
+         * @return true if the template contains at least one variable
+         */
+        public boolean hasVariables() {
+            return varNames.length > 0;
+        }
+
+        /**
+         * Replaces the variables of the template with their values. Unassigned
+         * variables are ignored.
+         *
+         * @param variables a Map of variable names and their values
+         * @return the formatted String
+         */
+        public String format(final Map<String, String> variables) {
+            return format(variables, true);
+        }
+
+        /**
+         * Replaces the variables of the template with their values.
+         *
+         * @param variables         a Map of variable names and their values
+         * @param ignoreMissingVars boolean if an unassigned variable should be ignored
+         * @return the formatted String
+         */
+        public String format(final Map<String, String> variables, final boolean ignoreMissingVars) {
+            if (varNames.length == 0) {
+                return format;
+            }
+
+            final StringBuilder builder = new StringBuilder(format.length());
+
+            for (int i = 0; i < varNames.length; ++i) {
+                builder.append(literals[i]);
+
+                String varValue = variables.get(varNames[i]);
+                if (varValue == null) {
+                    if (ignoreMissingVars) {
+                        varValue = "";
+                    }
+                    else {
+                        throw new IllegalArgumentException("Variable '" + varNames[i] +
+                                "' was not assigned!\nAssigned variables:\n" + variables);
+                    }
+                }
+                builder.append(varValue);
+            }
+
+            builder.append(literals[varNames.length]);
+            return builder.toString();
+        }
+
+        @Override
+        public String toString() {
+            return format;
+        }
+
+    }
+
 }
@@ -18,15 +18,19 @@
 package org.metafacture.commons.reflection;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Provides instances of preregistered classes. New classes can be registered
- * during runtime. This class is not thread-safe.
+ * during runtime. Classes registered by name are only loaded when they are
+ * used for the first time. Registering classes is not thread-safe, creating
+ * instances is.
  *
  * @param <T> the type of objects created
  * @author Markus Michael Geipel
@@ -35,7 +39,9 @@
 public class ObjectFactory<T> {
 
     private final Map<String, ConfigurableClass<? extends T>> classes =
-            new HashMap<>();
+            new ConcurrentHashMap<>();
+    private final Map<String, Supplier<ConfigurableClass<? extends T>>> unloadedClasses =
+            new ConcurrentHashMap<>();
 
     /**
      * Creates an instance of {@link ObjectFactory}.
@@ -44,7 +50,9 @@ public ObjectFactory() {
     }
 
     /**
-     * Loads classes from a map.
+     * Registers classes from a map of keys and class names. The classes are
+     * loaded with the current context class loader when they are used for the
+     * first time.
      *
      * @param classMap the map of classes
      * @param baseType the object type of the classes
@@ -54,7 +62,8 @@ public final void loadClassesFromMap(final Map<?, ?> classMap, final Class<T> ba
         for (final Entry<?, ?> entry : classMap.entrySet()) {
             final String key = entry.getKey().toString();
             final String className = entry.getValue().toString();
-            registerClass(key, ReflectionUtil.loadClass(loader, className, baseType));
+            classes.remove(key);
+            unloadedClasses.put(key, () -> ReflectionUtil.loadClass(loader, className, baseType));
         }
     }
 
@@ -75,6 +84,7 @@ public final void registerClass(final String key, final Class<? extends T> objec
      * @param objectClass the ConfigurableClass
      */
     public final void registerClass(final String key, final ConfigurableClass<? extends T> objectClass) {
+        unloadedClasses.remove(key);
         classes.put(key, objectClass);
     }
 
@@ -98,10 +108,10 @@ public final T newInstance(final String key, final Object... constructorArgs) {
      * @return a new instance
      */
     public final T newInstance(final String key, final Map<String, String> values, final Object... constructorArgs) {
-        if (!classes.containsKey(key)) {
+        final ConfigurableClass<? extends T> instanceClass = get(key);
+        if (instanceClass == null) {
             throw new NoSuchElementException("no registered class for: " + key);
         }
-        final ConfigurableClass<? extends T> instanceClass = classes.get(key);
         return instanceClass.newInstance(values, constructorArgs);
     }
 
@@ -112,7 +122,7 @@ public final T newInstance(final String key, final Map<String, String> values, f
      * @return true if the key is associcated with a ConfigurableClass
      */
     public final boolean containsKey(final String key) {
-        return classes.containsKey(key);
+        return classes.containsKey(key) || unloadedClasses.containsKey(key);
     }
 
     /**
@@ -121,7 +131,9 @@ public final boolean containsKey(final String key) {
      * @return all keys that identify the {ConfigurableClass}es
      */
     public final Set<String> keySet() {
-        return Collections.unmodifiableSet(classes.keySet());
+        final Set<String> keys = new HashSet<>(classes.keySet());
+        keys.addAll(unloadedClasses.keySet());
+        return Collections.unmodifiableSet(keys);
     }
 
     /**
@@ -131,7 +143,18 @@ public final Set<String> keySet() {
      * @return the ConfigurableClass
      */
     public final ConfigurableClass<? extends T> get(final String key) {
-        return classes.get(key);
+        ConfigurableClass<? extends T> objectClass = classes.get(key);
+
+        if (objectClass == null) {
+            final Supplier<ConfigurableClass<? extends T>> loader = unloadedClasses.get(key);
+            if (loader != null) {
+                // Loading a class twice on concurrent first use does no harm:
+                objectClass = loader.get();
+                classes.put(key, objectClass);
+            }
+        }
+
+        return objectClass;
     }
 
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.commons;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests for {@link HashUtil}.
+ */
+public final class HashUtilTest {
+
+    public HashUtilTest() {
+    }
+
+    @Test
+    public void shouldComputeSha256AsHex() {
+        Assert.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                HashUtil.sha256("abc".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void shouldComputeSha256OfEmptyContent() {
+        Assert.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                HashUtil.sha256(new byte[0]));
+    }
+
+}
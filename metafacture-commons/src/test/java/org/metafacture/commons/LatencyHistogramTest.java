@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.commons;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+public final class LatencyHistogramTest {
+
+    public LatencyHistogramTest() {
+    }
+
+    @Test
+    public void shouldReturnZeroIfEmpty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getPercentile(0.5));
+        Assert.assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void shouldRecordSmallValuesExactly() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 7; ++i) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(7, histogram.getCount());
+        Assert.assertEquals(4, histogram.getPercentile(0.5));
+        Assert.assertEquals(7, histogram.getMax());
+    }
+
+    @Test
+    public void shouldApproximateLargeValues() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; ++i) {
+            histogram.record(1000);
+        }
+        histogram.record(1_000_000);
+
+        assertApproximately(1000, histogram.getPercentile(0.5));
+        assertApproximately(1000, histogram.getPercentile(0.99));
+        assertApproximately(1_000_000, histogram.getMax());
+    }
+
+    private void assertApproximately(final long expected, final long actual) {
+        Assert.assertTrue("expected about " + expected + " but was " + actual,
+                actual <= expected && actual > expected * 7 / 8);
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.commons;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link RegexUtil}.
+ */
+public final class RegexUtilTest {
+
+    public RegexUtilTest() {
+    }
+
+    @Test
+    public void testShouldShareCompiledPatterns() {
+        Assert.assertSame(RegexUtil.compile("a+b"), RegexUtil.compile("a+b"));
+    }
+
+    @Test
+    public void testShouldReturnLiteral() {
+        Assert.assertEquals("abc", RegexUtil.getLiteral("abc"));
+        Assert.assertEquals("a.b", RegexUtil.getLiteral("a\\.b"));
+        Assert.assertEquals("a b-c", RegexUtil.getLiteral("a b-c"));
+    }
+
+    @Test
+    public void testShouldNotReturnLiteralForNonLiterals() {
+        Assert.assertNull(RegexUtil.getLiteral(""));
+        Assert.assertNull(RegexUtil.getLiteral("a.b"));
+        Assert.assertNull(RegexUtil.getLiteral("ab+"));
+        Assert.assertNull(RegexUtil.getLiteral("a\\d"));
+        Assert.assertNull(RegexUtil.getLiteral("^abc"));
+        Assert.assertNull(RegexUtil.getLiteral("abc\\"));
+    }
+
+    @Test
+    public void testShouldReturnPrefix() {
+        Assert.assertEquals("abc", RegexUtil.getPrefix("^abc"));
+        Assert.assertNull(RegexUtil.getPrefix("abc"));
+        Assert.assertNull(RegexUtil.getPrefix("^abc$"));
+        Assert.assertNull(RegexUtil.getPrefix(""));
+    }
+
+    @Test
+    public void testShouldDetectLiteralReplacements() {
+        Assert.assertTrue(RegexUtil.isLiteralReplacement("abc"));
+        Assert.assertFalse(RegexUtil.isLiteralReplacement("$1"));
+        Assert.assertFalse(RegexUtil.isLiteralReplacement("a\\$"));
+    }
+
+}
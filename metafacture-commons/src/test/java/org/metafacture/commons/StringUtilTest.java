@@ -107,4 +107,28 @@ public void testMissingVars() {
         StringUtil.format("${a}${x}", false, vars);
     }
 
+    @Test
+    public void testCompiledTemplate() {
+        final StringUtil.Template template = StringUtil.compile("X${bb}X${bb}X");
+
+        Assert.assertTrue(template.hasVariables());
+        Assert.assertEquals(XHULAXHULAX, template.format(vars));
+
+        vars.put("bb", "Aloha");
+        Assert.assertEquals("XAlohaXAlohaX", template.format(vars));
+    }
+
+    @Test
+    public void testCompiledTemplateWithoutVars() {
+        final StringUtil.Template template = StringUtil.compile("{a}$${b");
+
+        Assert.assertFalse(template.hasVariables());
+        Assert.assertEquals("{a}$${b", template.format(vars));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompiledTemplateWithMissingVars() {
+        StringUtil.compile("${a}${x}").format(vars, false);
+    }
+
 }
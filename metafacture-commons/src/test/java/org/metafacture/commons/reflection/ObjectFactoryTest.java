@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.commons.reflection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * Tests for {@link ObjectFactory}.
+ */
+public final class ObjectFactoryTest {
+
+    public ObjectFactoryTest() {
+    }
+
+    @Test
+    public void testShouldNotLoadClassesBeforeTheyAreUsed() {
+        final ObjectFactory<Object> factory = new ObjectFactory<>();
+        factory.loadClassesFromMap(Collections.singletonMap("missing", "org.example.Missing"), Object.class);
+
+        Assert.assertTrue(factory.containsKey("missing"));
+        Assert.assertEquals(Collections.singleton("missing"), factory.keySet());
+    }
+
+    @Test(expected = ReflectionException.class)
+    public void testShouldLoadClassWhenItIsUsed() {
+        final ObjectFactory<Object> factory = new ObjectFactory<>();
+        factory.loadClassesFromMap(Collections.singletonMap("missing", "org.example.Missing"), Object.class);
+
+        factory.newInstance("missing");
+    }
+
+    @Test
+    public void testShouldCreateInstancesOfClassesRegisteredByName() {
+        final ObjectFactory<Object> factory = new ObjectFactory<>();
+        factory.loadClassesFromMap(Collections.singletonMap("builder", StringBuilder.class.getName()), Object.class);
+
+        Assert.assertTrue(factory.newInstance("builder") instanceof StringBuilder);
+        Assert.assertSame(StringBuilder.class, factory.get("builder").getPlainClass());
+    }
+
+}
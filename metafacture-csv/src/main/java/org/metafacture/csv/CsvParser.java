@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.csv;
+
+import org.metafacture.framework.FormatException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Splits the character data read from a {@link Reader} into rows of fields
+ * according to RFC 4180. Quoted fields may contain separators, line breaks
+ * and escaped quotes. Empty lines are skipped. The row array is reused for
+ * all rows.
+ */
+final class CsvParser {
+
+    static final char QUOTE = '"';
+
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final int INITIAL_COLUMNS = 16;
+
+    private final Reader reader;
+    private final char separator;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+
+    private String[] row = new String[INITIAL_COLUMNS];
+    private int size;
+    private int position;
+    private int limit;
+    private int rowNumber;
+
+    CsvParser(final Reader reader, final char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return false if the end of the input has been reached
+     * @throws IOException if reading fails
+     */
+    public boolean readRow() throws IOException {
+        size = 0;
+
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            c = read();
+        }
+
+        if (c != -1) {
+            ++rowNumber;
+            c = readField(c);
+            while (c == separator) {
+                c = readField(read());
+            }
+
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+        }
+
+        return size > 0;
+    }
+
+    /**
+     * Gets the fields of the current row. The array is reused for the next
+     * row and may be longer than the number of fields.
+     *
+     * @return the fields of the current row
+     * @see #getSize()
+     */
+    public String[] getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the number of fields in the current row.
+     *
+     * @return the number of fields
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of the current row, not counting empty lines.
+     *
+     * @return the row number
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Copies the fields of the current row into a new array.
+     *
+     * @return the fields of the current row
+     */
+    public String[] copyRow() {
+        return Arrays.copyOf(row, size);
+    }
+
+    private int readField(final int first) throws IOException {
+        field.setLength(0);
+
+        final int next = first == QUOTE ? readQuoted() : readUnquoted(first);
+
+        if (size == row.length) {
+            row = Arrays.copyOf(row, size * 2);
+        }
+        row[size] = field.toString();
+        ++size;
+
+        return next;
+    }
+
+    private int readQuoted() throws IOException {
+        int c = read();
+        while (true) {
+            if (c == -1) {
+                throw new FormatException("Unterminated quoted field in row " + rowNumber);
+            }
+
+            if (c == QUOTE) {
+                c = read();
+                if (c != QUOTE) {
+                    return readUnquoted(c);
+                }
+            }
+
+            field.append((char) c);
+            c = read();
+        }
+    }
+
+    private int readUnquoted(final int first) throws IOException {
+        int c = first;
+        while (c != -1 && c != separator && c != '\n' && c != '\r') {
+            field.append((char) c);
+            c = read();
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+        }
+        return limit > 0 ? buffer[position] : -1;
+    }
+
+    private int read() throws IOException {
+        final int c = peek();
+        if (c != -1) {
+            ++position;
+        }
+        return c;
+    }
+
+}
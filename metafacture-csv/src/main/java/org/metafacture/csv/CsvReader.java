@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.csv;
+
+import org.metafacture.framework.Asynchronous;
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decodes a CSV file read from a {@link Reader}. Unlike {@link CsvDecoder},
+ * which parses each line on its own, a single parser runs over the whole
+ * input, so quoted fields may span several lines. The first row may be
+ * interpreted as header.
+ * <p>
+ * If more than one thread is configured, the input is cut into chunks at line
+ * breaks outside of quoted fields. The chunks are parsed in parallel and the
+ * records are emitted in input order.
+ */
+@Description("Decodes a CSV file read from a reader; quoted fields may contain line breaks. First row may be interpreted as header. " +
+        "Set `threads` to parse chunks of the file in parallel.")
+@In(Reader.class)
+@Out(StreamReceiver.class)
+@FluxCommand("read-csv")
+public final class CsvReader extends DefaultObjectPipe<Reader, StreamReceiver> implements Asynchronous {
+
+    public static final int CHUNK_SIZE = 1024 * 1024;
+
+    private static final int PENDING_CHUNKS_PER_THREAD = 4;
+
+    private final Deque<Future<List<String[]>>> pendingChunks = new ArrayDeque<>();
+
+    private char separator = CsvDecoder.DEFAULT_SEP;
+    private boolean hasHeader;
+    private int threads = 1;
+
+    private String[] header;
+    private String[] columnNames = new String[0];
+    private int count;
+    private ExecutorService executor;
+
+    /**
+     * Creates an instance of {@link CsvReader}. The default separator is
+     * {@value CsvDecoder#DEFAULT_SEP}.
+     */
+    public CsvReader() {
+    }
+
+    /**
+     * Flags if the CSV has a header or comes without a header.
+     *
+     * @param hasHeader true if the CSV has a header, otherwise false
+     */
+    public void setHasHeader(final boolean hasHeader) {
+        this.hasHeader = hasHeader;
+    }
+
+    /**
+     * Sets the separator.
+     *
+     * @param separator the separator as a String. The first character is used as
+     *                  the separator.
+     */
+    public void setSeparator(final String separator) {
+        this.separator = separator.charAt(0);
+    }
+
+    /**
+     * Sets the number of threads parsing the input. The default is 1, which
+     * parses the input in the calling thread. Chunked parsing requires that
+     * quotes only occur around fields and as escaped quotes within them.
+     *
+     * @param threads the number of parser threads
+     */
+    public void setThreads(final int threads) {
+        if (executor != null) {
+            throw new IllegalStateException("Threads cannot be changed while processing.");
+        }
+
+        this.threads = Math.max(threads, 1);
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return threads > 1;
+    }
+
+    @Override
+    public void process(final Reader reader) {
+        assert !isClosed();
+
+        header = null;
+
+        try {
+            if (threads == 1) {
+                final CsvParser parser = new CsvParser(reader, separator);
+                while (parser.readRow()) {
+                    emitRow(parser.getRow(), parser.getSize());
+                }
+            }
+            else {
+                processChunks(reader);
+            }
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    @Override
+    protected void onResetStream() {
+        emitPendingChunks();
+        count = 0;
+    }
+
+    @Override
+    protected void onCloseStream() {
+        try {
+            emitPendingChunks();
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    private void processChunks(final Reader reader) throws IOException {
+        final char[] buffer = new char[CHUNK_SIZE];
+        final StringBuilder chunk = new StringBuilder();
+
+        boolean quoted = false;
+        int boundary = 0;
+        int size;
+        while ((size = reader.read(buffer)) != -1) {
+            for (int i = 0; i < size; ++i) {
+                if (buffer[i] == CsvParser.QUOTE) {
+                    quoted = !quoted;
+                }
+                else if (buffer[i] == '\n' && !quoted) {
+                    boundary = chunk.length() + i + 1;
+                }
+            }
+            chunk.append(buffer, 0, size);
+
+            if (boundary > 0 && chunk.length() >= CHUNK_SIZE) {
+                submitChunk(chunk.substring(0, boundary));
+                chunk.delete(0, boundary);
+                boundary = 0;
+            }
+        }
+
+        if (chunk.length() > 0) {
+            submitChunk(chunk.toString());
+        }
+
+        emitPendingChunks();
+    }
+
+    private void submitChunk(final String chunk) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        pendingChunks.add(executor.submit(() -> parseChunk(chunk)));
+
+        final int maxPendingChunks = threads * PENDING_CHUNKS_PER_THREAD;
+        while (pendingChunks.size() > maxPendingChunks || !pendingChunks.isEmpty() && pendingChunks.peekFirst().isDone()) {
+            emitNextChunk();
+        }
+    }
+
+    private List<String[]> parseChunk(final String chunk) throws IOException {
+        final List<String[]> rows = new ArrayList<>();
+
+        final CsvParser parser = new CsvParser(new StringReader(chunk), separator);
+        while (parser.readRow()) {
+            rows.add(parser.copyRow());
+        }
+
+        return rows;
+    }
+
+    private void emitPendingChunks() {
+        while (!pendingChunks.isEmpty()) {
+            emitNextChunk();
+        }
+    }
+
+    private void emitNextChunk() {
+        final Future<List<String[]>> chunk = pendingChunks.removeFirst();
+
+        try {
+            for (final String[] row : chunk.get()) {
+                emitRow(row, row.length);
+            }
+        }
+        catch (final ExecutionException e) {
+            pendingChunks.forEach(f -> f.cancel(true));
+            pendingChunks.clear();
+            throw new MetafactureException(e.getCause());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+    }
+
+    private void emitRow(final String[] row, final int size) {
+        if (hasHeader && header == null) {
+            header = Arrays.copyOf(row, size);
+            return;
+        }
+
+        final String[] names = hasHeader ? header : getColumnNames(size);
+        if (size != names.length && hasHeader) {
+            throw new IllegalArgumentException(String.format(
+                        "wrong number of columns (expected %s, was %s) in record %s",
+                        header.length, size, count + 1));
+        }
+
+        getReceiver().startRecord(String.valueOf(++count));
+        for (int i = 0; i < size; ++i) {
+            getReceiver().literal(names[i], row[i]);
+        }
+        getReceiver().endRecord();
+    }
+
+    private String[] getColumnNames(final int size) {
+        if (size > columnNames.length) {
+            final int oldSize = columnNames.length;
+            columnNames = Arrays.copyOf(columnNames, size);
+            for (int i = oldSize; i < size; ++i) {
+                columnNames[i] = String.valueOf(i);
+            }
+        }
+        return columnNames;
+    }
+
+}
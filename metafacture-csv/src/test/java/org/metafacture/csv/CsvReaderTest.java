@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.csv;
+
+import org.metafacture.framework.FormatException;
+import org.metafacture.framework.StreamReceiver;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.StringReader;
+
+/**
+ * Tests for {@link CsvReader}.
+ */
+public final class CsvReaderTest {
+
+    private CsvReader reader;
+
+    @Mock
+    private StreamReceiver receiver;
+
+    public CsvReaderTest() {
+    }
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        reader = new CsvReader();
+        reader.setHasHeader(true);
+        reader.setReceiver(receiver);
+    }
+
+    @Test
+    public void testSimple() {
+        process("h1,h2,h3\na,b,c\r\nd,e,f\n");
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("h1", "a");
+        ordered.verify(receiver).literal("h2", "b");
+        ordered.verify(receiver).literal("h3", "c");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("h1", "d");
+        ordered.verify(receiver).literal("h2", "e");
+        ordered.verify(receiver).literal("h3", "f");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testQuotedFieldsSpanningLines() {
+        process("h1,h2,h3\na,\"b1,\"\"b2\"\"\nb3\",c");
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("h1", "a");
+        ordered.verify(receiver).literal("h2", "b1,\"b2\"\nb3");
+        ordered.verify(receiver).literal("h3", "c");
+        ordered.verify(receiver).endRecord();
+    }
+
+    @Test
+    public void testTabSeparatedWithoutHeader() {
+        reader.setHasHeader(false);
+        reader.setSeparator("\t");
+        process("a\t\tc\n\nd");
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("0", "a");
+        ordered.verify(receiver).literal("1", "");
+        ordered.verify(receiver).literal("2", "c");
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("0", "d");
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testParallelChunksPreserveOrder() {
+        final int records = CsvReader.CHUNK_SIZE / 4;
+        final StringBuilder csv = new StringBuilder("h1,h2\n");
+        for (int i = 1; i <= records; ++i) {
+            csv.append(i).append(",\"x\ny\"\n");
+        }
+
+        reader.setThreads(4);
+        process(csv.toString());
+        reader.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        for (int i = 1; i <= records; ++i) {
+            ordered.verify(receiver).startRecord(String.valueOf(i));
+            ordered.verify(receiver).literal("h1", String.valueOf(i));
+            ordered.verify(receiver).literal("h2", "x\ny");
+            ordered.verify(receiver).endRecord();
+        }
+        ordered.verify(receiver).closeStream();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfColumns() {
+        process("h1,h2\na,b,c");
+    }
+
+    @Test(expected = FormatException.class)
+    public void testUnterminatedQuote() {
+        process("h1\n\"a");
+    }
+
+    private void process(final String csv) {
+        reader.process(new StringReader(csv));
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.metafacture.files;
 
+import org.metafacture.framework.Checkpointable;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.ObjectReceiver;
 import org.metafacture.framework.annotations.Description;
@@ -28,7 +29,10 @@
 import java.util.Arrays;
 
 /**
- * Reads a directory and emits all filenames found.
+ * Reads a directory and emits all filenames found. The files are emitted in
+ * sorted order. The number of files passed on for the current directory can
+ * be saved in a checkpoint. After restoring a checkpoint, this number of
+ * files is skipped in the next directory.
  *
  * @author Markus Michael Geipel
  * @author Fabian Steeg (fsteeg)
@@ -37,12 +41,16 @@
 @Out(String.class)
 @Description("Reads a directory and emits all filenames found.")
 @FluxCommand("read-dir")
-public final class DirReader extends DefaultObjectPipe<String, ObjectReceiver<String>> {
+public final class DirReader extends DefaultObjectPipe<String, ObjectReceiver<String>>
+        implements Checkpointable {
 
     private boolean recursive;
 
     private String filenameFilterPattern;
 
+    private long completedFiles;
+    private long filesToSkip;
+
     /**
      * Creates an instance of {@link DirReader}.
      */
@@ -75,12 +83,23 @@ public void process(final String dir) {
             dir(file);
         }
         else {
-            getReceiver().process(dir);
+            emit(dir);
         }
+        completedFiles = 0;
+        filesToSkip = 0;
+    }
+
+    @Override
+    public String saveCheckpoint() {
+        return Long.toString(completedFiles);
+    }
+
+    @Override
+    public void restoreCheckpoint(final String checkpoint) {
+        filesToSkip = Long.parseLong(checkpoint);
     }
 
     private void dir(final File dir) {
-        final ObjectReceiver<String> receiver = getReceiver();
         final File[] files = filenameFilterPattern == null ? dir.listFiles() :
                 dir.listFiles(new FilenameFilter() {
                     @Override
@@ -96,8 +115,18 @@ public boolean accept(final File dir, final String name) {
                 }
             }
             else {
-                receiver.process(file.getAbsolutePath());
+                emit(file.getAbsolutePath());
             }
         }
     }
+
+    private void emit(final String path) {
+        if (filesToSkip > 0) {
+            --filesToSkip;
+        }
+        else {
+            getReceiver().process(path);
+        }
+        ++completedFiles;
+    }
 }
@@ -16,6 +16,8 @@
 
 package org.metafacture.flowcontrol;
 
+import org.metafacture.framework.Asynchronous;
+import org.metafacture.framework.BatchObjectReceiver;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.ObjectPipe;
 import org.metafacture.framework.ObjectReceiver;
@@ -26,11 +28,15 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
- * Creates a new thread in which subsequent flow elements run.
+ * Creates a new thread in which subsequent flow elements run. The new thread
+ * takes all objects waiting in the queue at once and passes them on as a
+ * batch if the receiver is a {@link BatchObjectReceiver}.
  *
  * @param <T> Object type
  *
@@ -41,9 +47,11 @@
 @Out(Object.class)
 @Description("creates a new thread in which subsequent flow elements run.")
 @FluxCommand("decouple")
-public final class ObjectPipeDecoupler<T> implements ObjectPipe<T, ObjectReceiver<T>> {
+public final class ObjectPipeDecoupler<T> implements ObjectPipe<T, ObjectReceiver<T>>, BatchObjectReceiver<T>,
+        Asynchronous {
 
     public static final int DEFAULT_CAPACITY = 10000;
+    public static final int MAX_BATCH_SIZE = 1000;
     private static final Logger LOG = LoggerFactory.getLogger(ObjectPipeDecoupler.class);
 
     private final BlockingQueue<Object> queue;
@@ -103,6 +111,13 @@ public void process(final T obj) {
         }
     }
 
+    @Override
+    public void processBatch(final List<T> batch) {
+        for (final T obj : batch) {
+            process(obj);
+        }
+    }
+
     private void start() {
         thread = new Thread(new Feeder<T>(receiver, queue));
         thread.start();
@@ -118,6 +133,11 @@ public <R extends ObjectReceiver<T>> R setReceiver(final R newReceiver) {
         return newReceiver;
     }
 
+    @Override
+    public boolean isAsynchronous() {
+        return true;
+    }
+
     @Override
     public void resetStream() {
         try {
@@ -161,23 +181,40 @@ public void closeStream() {
         // OK because queue is only filled with T by Decoupler<T>
         @Override
         public void run() {
+            final List<Object> objects = new ArrayList<>(MAX_BATCH_SIZE);
+            final List<T> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            boolean running = true;
             try {
-                while (true) {
-                    final Object object = queue.take();
-                    if (RED_PILL == object) {
-                        receiver.closeStream();
-                        break;
-                    }
-                    if (BLUE_PILL == object) {
-                        receiver.resetStream();
-                        continue;
+                while (running) {
+                    objects.add(queue.take());
+                    queue.drainTo(objects, MAX_BATCH_SIZE - 1);
+                    for (final Object object : objects) {
+                        if (RED_PILL == object) {
+                            deliver(batch);
+                            receiver.closeStream();
+                            running = false;
+                        }
+                        else if (BLUE_PILL == object) {
+                            deliver(batch);
+                            receiver.resetStream();
+                        }
+                        else {
+                            batch.add((T) object);
+                        }
                     }
-                    receiver.process((T) object);
+                    deliver(batch);
+                    objects.clear();
                 }
             }
             catch (final InterruptedException e) {
                 Thread.currentThread().interrupt();
-                return;
+            }
+        }
+
+        private void deliver(final List<T> batch) {
+            if (!batch.isEmpty()) {
+                BatchObjectReceiver.deliver(receiver, batch);
+                batch.clear();
             }
         }
     }
@@ -15,6 +15,7 @@
 
 package org.metafacture.flowcontrol;
 
+import org.metafacture.framework.Asynchronous;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.ObjectPipe;
 import org.metafacture.framework.ObjectReceiver;
@@ -45,7 +46,7 @@
 @Out(Object.class)
 @Description("Incoming objects are distributed to the added receivers, running in their own threads.")
 @FluxCommand("thread-object-tee")
-public class ObjectThreader<T> implements Tee<ObjectReceiver<T>>, ObjectPipe<T, ObjectReceiver<T>> {
+public class ObjectThreader<T> implements Tee<ObjectReceiver<T>>, ObjectPipe<T, ObjectReceiver<T>>, Asynchronous {
 
     private static final Logger LOG = LoggerFactory.getLogger(ObjectThreader.class);
     private final List<ObjectReceiver<T>> receivers = new ArrayList<ObjectReceiver<T>>();
@@ -92,6 +93,11 @@ public <R extends ObjectReceiver<T>> R setReceivers(final R receiver, final Obje
         return receiver;
     }
 
+    @Override
+    public boolean isAsynchronous() {
+        return true;
+    }
+
     @Override
     public void resetStream() {
         receivers.forEach(ObjectReceiver::resetStream);
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flowcontrol;
+
+import org.metafacture.framework.BatchObjectReceiver;
+import org.metafacture.framework.helpers.DefaultObjectReceiver;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for class {@link ObjectPipeDecoupler}.
+ */
+public final class ObjectPipeDecouplerTest {
+
+    public ObjectPipeDecouplerTest() {
+    }
+
+    @Test
+    public void shouldPassOnObjectsInBatchesInOrder() {
+        final BatchCollector collector = new BatchCollector();
+        final ObjectPipeDecoupler<String> decoupler = new ObjectPipeDecoupler<>();
+        decoupler.setReceiver(collector);
+
+        decoupler.processBatch(Arrays.asList("a", "b"));
+        decoupler.resetStream();
+        decoupler.process("c");
+        decoupler.closeStream();
+
+        Assert.assertEquals(Arrays.asList("a", "b", "reset", "c", "close"), collector.events);
+        Assert.assertTrue(collector.batches <= 2);
+    }
+
+    private static final class BatchCollector extends DefaultObjectReceiver<String>
+            implements BatchObjectReceiver<String> {
+
+        private final List<String> events = new ArrayList<>();
+        private int batches;
+
+        BatchCollector() {
+        }
+
+        @Override
+        public void process(final String obj) {
+            events.add(obj);
+        }
+
+        @Override
+        public void processBatch(final List<String> batch) {
+            ++batches;
+            events.addAll(batch);
+        }
+
+        @Override
+        public void resetStream() {
+            events.add("reset");
+        }
+
+        @Override
+        public void closeStream() {
+            events.add("close");
+        }
+
+    }
+
+}
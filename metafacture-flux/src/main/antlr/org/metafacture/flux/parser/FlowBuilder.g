@@ -128,11 +128,49 @@ tee
   }
   ;
 
+parallel
+@init {
+final Map<String, String> namedArgs = new HashMap<String, String>();
+final List<Object> cArgs = new ArrayList<Object>();
+}
+  :
+  ^(
+    PARALLEL
+    (
+      e=exp
+          {
+            cArgs.add($e.value);
+          }
+    )?
+    (
+      VarRef
+          {
+            cArgs.add(Collections.unmodifiableMap(vars));
+          }
+    )?
+    (
+      a=arg
+          {
+            namedArgs.put($a.key, $a.value);
+          }
+    )*
+          {
+            flux.startParallel();
+          }
+    ^(SUBFLOW flowtail)
+  )
+
+  {
+    flux.endParallel(namedArgs, cArgs);
+  }
+  ;
+
 flowtail
   :
   (
     pipe
     | tee
+    | parallel
   )+
   ;
 
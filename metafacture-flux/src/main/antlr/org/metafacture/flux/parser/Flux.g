@@ -27,6 +27,7 @@ tokens {
   DEFAULT;
   TEE;
   SUBFLOW;
+  PARALLEL;
   QualifiedName;
   StartString;
 }
@@ -120,17 +121,33 @@ catch [RecognitionException re] {
     throw re;
 }
 
+parallel
+  :
+  'parallel' ('(' pipeArgs ')')? '{' flowtail '}'
+    ->
+      ^(
+        PARALLEL
+        pipeArgs*
+        ^(SUBFLOW flowtail)
+      )
+  ;
+catch [RecognitionException re] {
+    throw re;
+}
+
 flowtail
   :
   (
     pipe
     | tee
+    | parallel
   )
   (
     '|'!
     (
       pipe
       | tee
+      | parallel
     )
   )*
   ;
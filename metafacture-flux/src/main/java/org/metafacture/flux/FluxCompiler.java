@@ -24,6 +24,7 @@
 import org.antlr.runtime.ANTLRInputStream;
 import org.antlr.runtime.CommonTokenStream;
 import org.antlr.runtime.RecognitionException;
+import org.antlr.runtime.tree.CommonTree;
 import org.antlr.runtime.tree.CommonTreeNodeStream;
 
 import java.io.IOException;
@@ -51,17 +52,37 @@ private FluxCompiler() {
      * @throws IOException          if an I/O error occurs
      */
     public static FluxProgramm compile(final InputStream flux, final Map<String, String> vars) throws RecognitionException, IOException {
-        return compileFlow(compileAst(flux), vars);
+        return compile(parse(flux), vars);
     }
 
-    private static CommonTreeNodeStream compileAst(final InputStream flowDef) throws IOException, RecognitionException {
-        final FluxParser parser = new FluxParser(new CommonTokenStream(new FluxLexer(new ANTLRInputStream(flowDef))));
-        return new CommonTreeNodeStream(parser.flux().getTree());
+    /**
+     * Parses the flux without building a flow. The returned syntax tree is
+     * not modified by {@link #compile(CommonTree, Map)}, so it can be kept
+     * and compiled into any number of independent flows, also on different
+     * threads at the same time.
+     *
+     * @param flux the flux
+     * @return the syntax tree of the flux
+     * @throws RecognitionException if an ANTLR exception occurs
+     * @throws IOException          if an I/O error occurs
+     */
+    public static CommonTree parse(final InputStream flux) throws RecognitionException, IOException {
+        final FluxParser parser = new FluxParser(new CommonTokenStream(new FluxLexer(new ANTLRInputStream(flux))));
+        return (CommonTree) parser.flux().getTree();
     }
 
-    private static FluxProgramm compileFlow(final CommonTreeNodeStream treeNodes, final Map<String, String> vars)
-            throws RecognitionException {
-        final FlowBuilder flowBuilder = new FlowBuilder(treeNodes);
+    /**
+     * Compiles a flux which was {@link #parse(InputStream) parsed} before to
+     * a flow.
+     *
+     * @see FluxProgramm
+     * @param ast  the syntax tree of the flux
+     * @param vars the variables of the flux
+     * @return the flow
+     * @throws RecognitionException if an ANTLR exception occurs
+     */
+    public static FluxProgramm compile(final CommonTree ast, final Map<String, String> vars) throws RecognitionException {
+        final FlowBuilder flowBuilder = new FlowBuilder(new CommonTreeNodeStream(ast));
         flowBuilder.addVaribleAssignements(vars);
         return flowBuilder.flux();
     }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.checkpoint;
+
+import org.metafacture.framework.Checkpointable;
+import org.metafacture.framework.MetafactureException;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the progress of a Flux program in a checkpoint file so that an
+ * interrupted run can be resumed. Checkpoints are opt-in and enabled with
+ * the system property {@value #CHECKPOINT_FILE_PROPERTY}. While the program
+ * runs, the state of all {@link Checkpointable} elements is written to this
+ * file every {@value #CHECKPOINT_INTERVAL_PROPERTY} seconds (default:
+ * {@value #DEFAULT_CHECKPOINT_INTERVAL}) and whenever a flow is finished.
+ * <p>
+ * If the file exists when the program is started, the elements are restored
+ * from it and finished flows are not run again. The file is deleted when
+ * all flows are finished.
+ */
+public final class CheckpointManager {
+
+    public static final String CHECKPOINT_FILE_PROPERTY = "org.metafacture.flux.checkpoint.file";
+    public static final String CHECKPOINT_INTERVAL_PROPERTY = "org.metafacture.flux.checkpoint.interval";
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 60;
+
+    private static final String ELEMENT_PREFIX = "element.";
+    private static final String FLOW_PREFIX = "flow.";
+    private static final String FINISHED = "finished";
+
+    private final Map<String, Checkpointable> elements = new LinkedHashMap<>();
+    private final Properties checkpoint = new Properties();
+    private final Path checkpointFile;
+    private final long intervalNanos;
+
+    private long lastCheckpoint = System.nanoTime();
+
+    /**
+     * Creates an instance of {@link CheckpointManager} using the given file.
+     * If the file exists, the checkpoint saved in it is loaded.
+     *
+     * @param checkpointFile the checkpoint file
+     * @param interval       the interval between checkpoints in seconds
+     */
+    public CheckpointManager(final Path checkpointFile, final int interval) {
+        this.checkpointFile = checkpointFile;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(interval);
+
+        if (Files.exists(checkpointFile)) {
+            try (InputStream inputStream = Files.newInputStream(checkpointFile)) {
+                checkpoint.load(inputStream);
+            }
+            catch (final IOException e) {
+                throw new MetafactureException("Could not read checkpoint " + checkpointFile, e);
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link CheckpointManager} configured by the system properties
+     * if checkpoints are enabled.
+     *
+     * @return the checkpoint manager or null if checkpoints are not enabled
+     */
+    public static CheckpointManager fromSystemProperties() {
+        final String file = System.getProperty(CHECKPOINT_FILE_PROPERTY);
+        return file == null ? null : new CheckpointManager(Paths.get(file),
+                Integer.getInteger(CHECKPOINT_INTERVAL_PROPERTY, DEFAULT_CHECKPOINT_INTERVAL));
+    }
+
+    /**
+     * Registers an element. If the loaded checkpoint contains a state for
+     * the element, the element is restored. Elements are identified by the
+     * order of their registration and their name, so a checkpoint can only
+     * be restored by the same program.
+     *
+     * @param name    the name of the element
+     * @param element the element
+     */
+    public void register(final String name, final Checkpointable element) {
+        final String key = ELEMENT_PREFIX + (elements.size() + 1) + "." + name;
+        elements.put(key, element);
+
+        final String state = checkpoint.getProperty(key);
+        if (state != null) {
+            element.restoreCheckpoint(state);
+        }
+    }
+
+    /**
+     * Checks whether a flow was finished in the loaded checkpoint.
+     *
+     * @param flow the index of the flow
+     * @return true if the flow is finished
+     */
+    public boolean isFinished(final int flow) {
+        return FINISHED.equals(checkpoint.getProperty(FLOW_PREFIX + flow));
+    }
+
+    /**
+     * Marks a flow as finished and saves a checkpoint.
+     *
+     * @param flow the index of the flow
+     */
+    public void finish(final int flow) {
+        checkpoint.setProperty(FLOW_PREFIX + flow, FINISHED);
+        save();
+    }
+
+    /**
+     * Saves a checkpoint if the checkpoint interval has passed. This method
+     * is called whenever all elements are in a consistent state.
+     */
+    public void progress() {
+        if (System.nanoTime() - lastCheckpoint >= intervalNanos) {
+            save();
+        }
+    }
+
+    /**
+     * Saves the state of all elements. The checkpoint file is replaced
+     * atomically so that it always contains a complete checkpoint.
+     */
+    public void save() {
+        for (final Map.Entry<String, Checkpointable> element : elements.entrySet()) {
+            checkpoint.setProperty(element.getKey(), element.getValue().saveCheckpoint());
+        }
+
+        final Path tempFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            try (FileOutputStream outputStream = new FileOutputStream(tempFile.toFile())) {
+                checkpoint.store(outputStream, "Flux checkpoint");
+                outputStream.getFD().sync();
+            }
+            Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (final IOException e) {
+            throw new MetafactureException("Could not write checkpoint " + checkpointFile, e);
+        }
+
+        lastCheckpoint = System.nanoTime();
+    }
+
+    /**
+     * Deletes the checkpoint file after the program has finished.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(checkpointFile);
+        }
+        catch (final IOException e) {
+            throw new MetafactureException("Could not delete checkpoint " + checkpointFile, e);
+        }
+    }
+
+}
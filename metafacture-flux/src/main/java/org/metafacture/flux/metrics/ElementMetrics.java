@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.metrics;
+
+import org.metafacture.commons.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Metrics of a single element of a Flux program. The metrics are updated by
+ * the instrumentation wrapped around the element and may be read
+ * concurrently, e.g. through JMX.
+ */
+public final class ElementMetrics implements ElementMetricsMBean {
+
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+
+    private final int index;
+    private final String name;
+
+    private final LongAdder records = new LongAdder();
+    private final LongAdder objects = new LongAdder();
+    private final LongAdder literals = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder selfTime = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private volatile IntSupplier queueDepth;
+
+    /**
+     * Creates an instance of {@link ElementMetrics}.
+     *
+     * @param index the position of the element in the program
+     * @param name  the name of the element
+     */
+    public ElementMetrics(final int index, final String name) {
+        this.index = index;
+        this.name = name;
+    }
+
+    /**
+     * Records an event received by the element.
+     *
+     * @param eventName the name of the receiver method
+     * @param nanos     the self time of processing the event
+     */
+    public void recordEvent(final String eventName, final long nanos) {
+        recordEvent(eventName, nanos, 1);
+    }
+
+    /**
+     * Records an event received by the element which carries several
+     * objects, such as {@code processBatch}. It is recorded as if each object
+     * had been received with its own event taking an equal share of the self
+     * time.
+     *
+     * @param eventName the name of the receiver method
+     * @param nanos     the self time of processing the event
+     * @param count     the number of objects carried by the event
+     */
+    public void recordEvent(final String eventName, final long nanos, final int count) {
+        switch (eventName) {
+            case "startRecord":
+                records.increment();
+                break;
+            case "process":
+            case "processBatch":
+                objects.add(count);
+                break;
+            case "literal":
+                literals.increment();
+                break;
+            default:
+                break;
+        }
+
+        if (count > 0) {
+            events.add(count);
+            latencies.record(nanos / count, count);
+        }
+        selfTime.add(nanos);
+    }
+
+    /**
+     * Sets the source of the queue depth of the element.
+     *
+     * @param queueDepth the current queue depth
+     */
+    public void setQueueDepth(final IntSupplier queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Gets the position of the element in the program.
+     *
+     * @return the index of the element
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getRecords() {
+        return records.sum();
+    }
+
+    @Override
+    public long getObjects() {
+        return objects.sum();
+    }
+
+    @Override
+    public long getLiterals() {
+        return literals.sum();
+    }
+
+    @Override
+    public long getEvents() {
+        return events.sum();
+    }
+
+    @Override
+    public long getSelfTime() {
+        return selfTime.sum();
+    }
+
+    @Override
+    public long getLatencyP50() {
+        return latencies.getPercentile(P50);
+    }
+
+    @Override
+    public long getLatencyP99() {
+        return latencies.getPercentile(P99);
+    }
+
+    @Override
+    public long getLatencyMax() {
+        return latencies.getMax();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        final IntSupplier supplier = queueDepth;
+        return supplier == null ? -1 : supplier.getAsInt();
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.metrics;
+
+/**
+ * Management interface of {@link ElementMetrics}.
+ */
+public interface ElementMetricsMBean {
+
+    /**
+     * Gets the name of the element.
+     *
+     * @return the name of the element
+     */
+    String getName();
+
+    /**
+     * Gets the number of records the element received.
+     *
+     * @return the number of records
+     */
+    long getRecords();
+
+    /**
+     * Gets the number of objects the element received.
+     *
+     * @return the number of objects
+     */
+    long getObjects();
+
+    /**
+     * Gets the number of literals the element received.
+     *
+     * @return the number of literals
+     */
+    long getLiterals();
+
+    /**
+     * Gets the number of events the element received.
+     *
+     * @return the number of events
+     */
+    long getEvents();
+
+    /**
+     * Gets the time spent in the element itself, excluding the time spent in
+     * the elements it sends events to.
+     *
+     * @return the self time in nanoseconds
+     */
+    long getSelfTime();
+
+    /**
+     * Gets the median self time of processing an event.
+     *
+     * @return the median in nanoseconds
+     */
+    long getLatencyP50();
+
+    /**
+     * Gets the 99th percentile of the self time of processing an event.
+     *
+     * @return the 99th percentile in nanoseconds
+     */
+    long getLatencyP99();
+
+    /**
+     * Gets the maximum self time of processing an event.
+     *
+     * @return the maximum in nanoseconds
+     */
+    long getLatencyMax();
+
+    /**
+     * Gets the number of items queued in the element. Only elements which
+     * queue items (such as {@code parallel}) report a queue depth.
+     *
+     * @return the queue depth or -1 if the element has no queue
+     */
+    int getQueueDepth();
+
+}
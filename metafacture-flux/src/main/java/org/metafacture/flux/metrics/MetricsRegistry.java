@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.metrics;
+
+import org.metafacture.framework.MetafactureException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the {@link ElementMetrics} of a Flux program. Metrics are opt-in
+ * and enabled with the system property {@value #METRICS_PROPERTY}. While the
+ * program runs, the metrics of each element are registered as MBeans in the
+ * domain {@value #JMX_DOMAIN}. If the system property
+ * {@value #SNAPSHOT_FILE_PROPERTY} is set, a JSON snapshot of all metrics is
+ * written to this file every {@value #SNAPSHOT_INTERVAL_PROPERTY} seconds
+ * (default: {@value #DEFAULT_SNAPSHOT_INTERVAL}) and when the program ends.
+ * If a snapshot cannot be written, the error is logged and the next snapshot
+ * is attempted as scheduled.
+ */
+public final class MetricsRegistry {
+
+    public static final String METRICS_PROPERTY = "org.metafacture.flux.metrics";
+    public static final String SNAPSHOT_FILE_PROPERTY = "org.metafacture.flux.metrics.file";
+    public static final String SNAPSHOT_INTERVAL_PROPERTY = "org.metafacture.flux.metrics.interval";
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10;
+
+    public static final String JMX_DOMAIN = "org.metafacture.flux";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static final AtomicInteger PROGRAM_COUNT = new AtomicInteger();
+
+    private final int program = PROGRAM_COUNT.incrementAndGet();
+    private final List<ElementMetrics> elements = new CopyOnWriteArrayList<>();
+    private final List<ObjectName> registeredNames = new CopyOnWriteArrayList<>();
+    private final Path snapshotFile;
+    private final int snapshotInterval;
+
+    private ScheduledExecutorService reporter;
+
+    /**
+     * Creates an instance of {@link MetricsRegistry} writing snapshots to the
+     * given file.
+     *
+     * @param snapshotFile     the file for JSON snapshots or null to not
+     *                         write snapshots
+     * @param snapshotInterval the interval between snapshots in seconds
+     */
+    public MetricsRegistry(final Path snapshotFile, final int snapshotInterval) {
+        this.snapshotFile = snapshotFile;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Creates a {@link MetricsRegistry} configured by the system properties
+     * if metrics are enabled.
+     *
+     * @return the metrics registry or null if metrics are not enabled
+     */
+    public static MetricsRegistry fromSystemProperties() {
+        if (!Boolean.getBoolean(METRICS_PROPERTY)) {
+            return null;
+        }
+
+        final String file = System.getProperty(SNAPSHOT_FILE_PROPERTY);
+        return new MetricsRegistry(file == null ? null : Paths.get(file),
+                Integer.getInteger(SNAPSHOT_INTERVAL_PROPERTY, DEFAULT_SNAPSHOT_INTERVAL));
+    }
+
+    /**
+     * Creates and registers the metrics of an element.
+     *
+     * @param name the name of the element
+     * @return the metrics of the element
+     */
+    public ElementMetrics register(final String name) {
+        final ElementMetrics metrics = new ElementMetrics(elements.size() + 1, name);
+        elements.add(metrics);
+        return metrics;
+    }
+
+    /**
+     * Gets the metrics of all elements in the order of their registration.
+     *
+     * @return the metrics of all elements
+     */
+    public List<ElementMetrics> getElements() {
+        return elements;
+    }
+
+    /**
+     * Registers the MBeans and starts writing snapshots.
+     */
+    public void start() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final ElementMetrics metrics : elements) {
+            try {
+                final ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Element,program=" + program +
+                        ",index=" + metrics.getIndex() + ",name=" + ObjectName.quote(metrics.getName()));
+                server.registerMBean(metrics, name);
+                registeredNames.add(name);
+            }
+            catch (final JMException e) {
+                throw new MetafactureException("Could not register metrics of " + metrics.getName(), e);
+            }
+        }
+
+        if (snapshotFile != null && snapshotInterval > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "flux-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(this::writeSnapshot, snapshotInterval, snapshotInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops writing snapshots, writes a final snapshot and unregisters the
+     * MBeans.
+     */
+    public void stop() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+
+        if (snapshotFile != null) {
+            writeSnapshot();
+        }
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final ObjectName name : registeredNames) {
+            try {
+                server.unregisterMBean(name);
+            }
+            catch (final JMException e) {
+                // The MBean has already been removed
+            }
+        }
+        registeredNames.clear();
+    }
+
+    /**
+     * Creates a JSON snapshot of the metrics of all elements.
+     *
+     * @return the snapshot
+     */
+    public String toJson() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("{\"timestamp\":\"").append(Instant.now()).append("\",\"elements\":[");
+
+        String separator = "";
+        for (final ElementMetrics metrics : elements) {
+            builder.append(separator);
+            builder.append("{\"index\":").append(metrics.getIndex());
+            builder.append(",\"name\":\"").append(escape(metrics.getName())).append('"');
+            builder.append(",\"records\":").append(metrics.getRecords());
+            builder.append(",\"objects\":").append(metrics.getObjects());
+            builder.append(",\"literals\":").append(metrics.getLiterals());
+            builder.append(",\"events\":").append(metrics.getEvents());
+            builder.append(",\"selfTime\":").append(metrics.getSelfTime());
+            builder.append(",\"latencyP50\":").append(metrics.getLatencyP50());
+            builder.append(",\"latencyP99\":").append(metrics.getLatencyP99());
+            builder.append(",\"latencyMax\":").append(metrics.getLatencyMax());
+            builder.append(",\"queueDepth\":").append(metrics.getQueueDepth());
+            builder.append('}');
+            separator = ",";
+        }
+
+        return builder.append("]}").toString();
+    }
+
+    private void writeSnapshot() {
+        try {
+            final Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            Files.write(tempFile, toJson().getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (final IOException e) {
+            // Throwing would cancel all further snapshots:
+            LOG.warn("Could not write metrics to {}", snapshotFile, e);
+        }
+    }
+
+    private static String escape(final String value) {
+        final StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            }
+            else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+}
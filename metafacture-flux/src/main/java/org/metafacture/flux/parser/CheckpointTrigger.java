@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.parser;
+
+import org.metafacture.flux.checkpoint.CheckpointManager;
+import org.metafacture.framework.LifeCycle;
+import org.metafacture.framework.Receiver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Notifies the {@link CheckpointManager} before the receiver of a
+ * checkpointable source receives the next object. At this point the
+ * processing of all previous objects of the source has returned, so the
+ * state of all elements of the flow is consistent.
+ */
+final class CheckpointTrigger implements InvocationHandler {
+
+    private final Receiver receiver;
+    private final CheckpointManager checkpoints;
+
+    private CheckpointTrigger(final Receiver receiver, final CheckpointManager checkpoints) {
+        this.receiver = receiver;
+        this.checkpoints = checkpoints;
+    }
+
+    /**
+     * Wraps the receiver of a checkpointable source. The returned receiver
+     * implements the same receiver interfaces as the given one.
+     *
+     * @param receiver    the receiver of the source
+     * @param checkpoints the checkpoint manager to notify
+     * @return the wrapped receiver
+     */
+    static Receiver create(final Receiver receiver, final CheckpointManager checkpoints) {
+        return (Receiver) Proxy.newProxyInstance(receiver.getClass().getClassLoader(),
+                Flow.getReceiverInterfaces(receiver.getClass()), new CheckpointTrigger(receiver, checkpoints));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (declaringClass != Object.class && declaringClass != LifeCycle.class) {
+            checkpoints.progress();
+        }
+
+        try {
+            return method.invoke(receiver, args);
+        }
+        catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -17,6 +17,11 @@
 package org.metafacture.flux.parser;
 
 import org.metafacture.flux.FluxParseException;
+import org.metafacture.flux.checkpoint.CheckpointManager;
+import org.metafacture.flux.metrics.ElementMetrics;
+import org.metafacture.flux.metrics.MetricsRegistry;
+import org.metafacture.framework.Asynchronous;
+import org.metafacture.framework.Checkpointable;
 import org.metafacture.framework.LifeCycle;
 import org.metafacture.framework.ObjectReceiver;
 import org.metafacture.framework.Receiver;
@@ -26,8 +31,10 @@
 
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author Markus Michael Geipel
@@ -37,40 +44,75 @@ final class Flow {
 
     private final Deque<Tee<?>> teeStack = new LinkedList<Tee<?>>();
     private final Deque<List<LifeCycle>> looseEndsStack = new LinkedList<List<LifeCycle>>();
+    private final MetricsRegistry metrics;
+    private final CheckpointManager checkpoints;
 
     private LifeCycle element;
     private ObjectReceiver<? extends Object> start;
     private boolean joinLooseEnds;
 
-    Flow() {
+    Flow(final MetricsRegistry metrics, final CheckpointManager checkpoints) {
+        this.metrics = metrics;
+        this.checkpoints = checkpoints;
+    }
+
+    static Class<?>[] getReceiverInterfaces(final Class<?> receiverClass) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = receiverClass; c != null; c = c.getSuperclass()) {
+            for (final Class<?> i : c.getInterfaces()) {
+                if (Receiver.class.isAssignableFrom(i)) {
+                    interfaces.add(i);
+                }
+            }
+        }
+        return interfaces.toArray(new Class<?>[0]);
     }
 
-    @SuppressWarnings("unchecked")
     public void addElement(final Receiver nextElement) {
+        addElement(nextElement, null);
+    }
+
+    /**
+     * Adds an element to the flow. If metrics are enabled and a name is
+     * given, the element is instrumented. If checkpoints are enabled and a
+     * name is given, checkpointable elements are registered. Asynchronous
+     * elements are refused if checkpoints are enabled, since a checkpoint
+     * could claim objects as done which are still being processed.
+     *
+     * @param nextElement the element to add
+     * @param name        the name of the element in the metrics or null
+     */
+    @SuppressWarnings("unchecked")
+    public void addElement(final Receiver nextElement, final String name) {
+        if (checkpoints != null) {
+            checkCheckpointable(nextElement, name);
+        }
         if (element == null) {
-            setStart((ObjectReceiver<? extends Object>) nextElement);
+            setStart((ObjectReceiver<? extends Object>) instrument(nextElement, name));
+            element = nextElement;
             return;
         }
         if (element instanceof Sender) {
             final Sender sender = (Sender) element;
+            final Receiver receiver = instrument(nextElement, name);
             if (joinLooseEnds) {
                 teeStack.pop();
                 for (final LifeCycle looseEnd : looseEndsStack.pop()) {
                     if (looseEnd instanceof Tee) {
-                        ((Tee) looseEnd).addReceiver(nextElement);
+                        ((Tee) looseEnd).addReceiver(triggerCheckpoints(looseEnd, receiver));
                     }
                     else {
-                        ((Sender) looseEnd).setReceiver(nextElement);
+                        ((Sender) looseEnd).setReceiver(triggerCheckpoints(looseEnd, receiver));
                     }
                 }
                 joinLooseEnds = false;
             }
             else {
                 if (sender instanceof Tee) {
-                    ((Tee) sender).addReceiver(nextElement);
+                    ((Tee) sender).addReceiver(triggerCheckpoints(sender, receiver));
                 }
                 else {
-                    sender.setReceiver(nextElement);
+                    sender.setReceiver(triggerCheckpoints(sender, receiver));
                 }
             }
         }
@@ -80,6 +122,36 @@ public void addElement(final Receiver nextElement) {
         element = nextElement;
     }
 
+    private void checkCheckpointable(final Receiver nextElement, final String name) {
+        if (nextElement instanceof Asynchronous && ((Asynchronous) nextElement).isAsynchronous()) {
+            throw new FluxParseException("Checkpoints are not supported for flows with asynchronous elements: " +
+                    (name == null ? nextElement.getClass().getCanonicalName() : name));
+        }
+        if (name != null && nextElement instanceof Checkpointable) {
+            checkpoints.register(name, (Checkpointable) nextElement);
+        }
+    }
+
+    private Receiver instrument(final Receiver receiver, final String name) {
+        if (metrics == null || name == null) {
+            return receiver;
+        }
+
+        final ElementMetrics elementMetrics = metrics.register(name);
+        if (receiver instanceof ParallelFlow) {
+            elementMetrics.setQueueDepth(((ParallelFlow) receiver)::getPendingObjects);
+        }
+        return MeteredReceiver.create(receiver, elementMetrics);
+    }
+
+    private Receiver triggerCheckpoints(final LifeCycle sender, final Receiver receiver) {
+        if (checkpoints == null || !(sender instanceof Checkpointable)) {
+            return receiver;
+        }
+
+        return CheckpointTrigger.create(receiver, checkpoints);
+    }
+
     public void startTee() {
         if (element instanceof Tee) {
             final Tee<?> tee = (Tee<?>) element;
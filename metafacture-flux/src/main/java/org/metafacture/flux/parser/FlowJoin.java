@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.parser;
+
+import org.metafacture.framework.LifeCycle;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.Receiver;
+import org.metafacture.framework.StreamReceiver;
+
+import org.xml.sax.ContentHandler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Joins several flows which end in the same wormhole. When all joined flows
+ * have closed the stream, the receiver is closed once for each joined flow,
+ * so that elements such as {@code wait-for-inputs} can count their inputs.
+ * <p>
+ * If the flows run concurrently, events are passed to the receiver one at a
+ * time; the events of a record (or an XML document) are not interleaved with
+ * events from other flows. If an exception escapes from the receiver, the
+ * lock is released so that the other flows do not wait forever. If the flows
+ * run one after the other, all other events are passed on without locking.
+ */
+final class FlowJoin implements InvocationHandler {
+
+    private static final Set<String> BEGIN_METHODS = Set.of("startRecord", "startDocument");
+    private static final Set<String> END_METHODS = Set.of("endRecord", "endDocument");
+    private static final String CLOSE_STREAM = "closeStream";
+
+    private final ReentrantLock lock;
+    private final Receiver receiver;
+    private final int joinedFlows;
+    private int openFlows;
+
+    private FlowJoin(final Receiver receiver, final int openFlows, final int joinedFlows, final boolean concurrent) {
+        this.receiver = receiver;
+        this.openFlows = openFlows;
+        this.joinedFlows = joinedFlows;
+        lock = concurrent ? new ReentrantLock() : null;
+    }
+
+    /**
+     * Creates a receiver which joins several flows into the given receiver.
+     * The returned receiver implements the same receiver interfaces as the
+     * given one.
+     *
+     * @param receiver    the receiver of the joined flows
+     * @param openFlows   the number of joined flows which are run
+     * @param joinedFlows the number of joined flows, including flows which
+     *                    were finished before a restart
+     * @param concurrent  whether the joined flows run concurrently
+     * @return the receiver to be used as the end of each flow
+     */
+    static Receiver create(final Receiver receiver, final int openFlows, final int joinedFlows,
+            final boolean concurrent) {
+        return (Receiver) Proxy.newProxyInstance(receiver.getClass().getClassLoader(),
+                Flow.getReceiverInterfaces(receiver.getClass()),
+                new FlowJoin(receiver, openFlows, joinedFlows, concurrent));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (lock == null) {
+            return forward(method, args);
+        }
+
+        final Object result;
+
+        acquireLock();
+        try {
+            result = forward(method, args);
+
+            if (isRecordEvent(method, BEGIN_METHODS)) {
+                // Keep the lock until the end of the record:
+                lock.lock();
+            }
+        }
+        catch (final Throwable e) { // checkstyle-disable-line IllegalCatch
+            // Do not keep the lock of an unfinished record:
+            while (lock.getHoldCount() > 1) {
+                lock.unlock();
+            }
+            throw e;
+        }
+        finally {
+            if (isRecordEvent(method, END_METHODS) && lock.getHoldCount() > 1) {
+                lock.unlock();
+            }
+            lock.unlock();
+        }
+
+        return result;
+    }
+
+    private Object forward(final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == LifeCycle.class && CLOSE_STREAM.equals(method.getName())) {
+            return closeStream(method, args);
+        }
+        return invokeReceiver(method, args);
+    }
+
+    private Object closeStream(final Method method, final Object[] args) throws Throwable {
+        --openFlows;
+
+        if (openFlows == 0) {
+            for (int i = 0; i < joinedFlows; ++i) {
+                invokeReceiver(method, args);
+            }
+        }
+
+        return null;
+    }
+
+    private Object invokeReceiver(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(receiver, args);
+        }
+        catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void acquireLock() {
+        try {
+            lock.lockInterruptibly();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException("Interrupted while waiting for joined flow", e);
+        }
+    }
+
+    private static boolean isRecordEvent(final Method method, final Set<String> names) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        return (declaringClass == StreamReceiver.class || declaringClass == ContentHandler.class) &&
+            names.contains(method.getName());
+    }
+
+}
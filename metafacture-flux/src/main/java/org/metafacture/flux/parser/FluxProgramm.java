@@ -22,26 +22,55 @@
 import org.metafacture.commons.reflection.ReflectionUtil;
 import org.metafacture.flux.FluxParseException;
 import org.metafacture.flux.HelpPrinter;
+import org.metafacture.flux.checkpoint.CheckpointManager;
+import org.metafacture.flux.metrics.MetricsRegistry;
+import org.metafacture.framework.MetafactureException;
 import org.metafacture.framework.Receiver;
 
 import java.io.IOException;
 import java.io.PrintStream;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
+ * A compiled Flux script. The flows are run one after the other in the order
+ * in which they appear in the script. If the system property
+ * {@value #CONCURRENT_FLOWS_PROPERTY} is set to {@code true} when the script
+ * is compiled, flows are run concurrently, each on its own thread. Flows ending in the same wormhole are
+ * then joined so that records from different flows are not interleaved. If
+ * one of the flows fails, the others are cancelled.
+ * <p>
+ * If metrics are enabled (see {@link MetricsRegistry}), all elements are
+ * instrumented and their metrics are published while the program runs.
+ * <p>
+ * If checkpoints are enabled (see {@link CheckpointManager}), the flows are
+ * run one after the other and the program resumes from the last checkpoint
+ * if it was interrupted. Programs using asynchronous elements (see
+ * {@link org.metafacture.framework.Asynchronous}), such as {@code parallel},
+ * cannot be checkpointed and are rejected.
+ *
  * @author Markus Michael Geipel
  *
  */
 public final class FluxProgramm {
 
+    public static final String CONCURRENT_FLOWS_PROPERTY = "org.metafacture.flux.concurrentFlows";
+
     private static final ObjectFactory<Receiver> COMMAND_FACTORY = new ObjectFactory<Receiver>();
     private static final String PROPERTIES_LOCATION = "flux-commands.properties";
 
@@ -59,10 +88,17 @@ public final class FluxProgramm {
         }
     }
 
-    private Flow currentFlow = new Flow();
+    private static final String PARALLEL_NAME = "parallel";
+    private static final String THREADS_ARG = "threads";
+    private static final String ORDERED_ARG = "ordered";
+
+    private final MetricsRegistry metrics = MetricsRegistry.fromSystemProperties();
+    private final CheckpointManager checkpoints = CheckpointManager.fromSystemProperties();
+    private final boolean concurrentFlows = Boolean.getBoolean(CONCURRENT_FLOWS_PROPERTY);
+    private Flow currentFlow = new Flow(metrics, checkpoints);
     private final List<Flow> initialFlows = new ArrayList<Flow>();
     private final Map<String, Wormhole> wormholeNameMapping = new HashMap<String, Wormhole>();
-    private final Map<Flow, Wormhole> wormholeInFlowMapping = new Hashtable<Flow, Wormhole>();
+    private final Deque<List<Consumer<Flow>>> parallelSubFlows = new ArrayDeque<List<Consumer<Flow>>>();
 
     /**
      * Creates an instance of {@link FluxProgramm}.
@@ -86,20 +122,79 @@ private static Receiver createElement(final String name, final Map<String, Strin
         return newElement;
     }
 
+    private ParallelFlow createParallelFlow(final List<Consumer<Flow>> subFlow,
+            final Map<String, String> namedArgs, final List<Object> cArgs) {
+
+        int threads = ParallelFlow.DEFAULT_THREADS;
+        boolean ordered = true;
+
+        if (!cArgs.isEmpty()) {
+            threads = parseThreads(cArgs.get(0).toString());
+        }
+        for (final Map.Entry<String, String> arg : namedArgs.entrySet()) {
+            if (THREADS_ARG.equals(arg.getKey())) {
+                threads = parseThreads(arg.getValue());
+            }
+            else if (ORDERED_ARG.equals(arg.getKey())) {
+                ordered = Boolean.parseBoolean(arg.getValue());
+            }
+            else {
+                throw new FluxParseException("Unknown argument of parallel: " + arg.getKey());
+            }
+        }
+
+        final List<Flow> flows = new ArrayList<Flow>();
+        for (int i = 0; i < threads; ++i) {
+            final Flow flow = new Flow(metrics, null);
+            subFlow.forEach(operation -> operation.accept(flow));
+            flows.add(flow);
+        }
+
+        return new ParallelFlow(flows, ordered);
+    }
+
+    private static int parseThreads(final String threads) {
+        try {
+            return Math.max(Integer.parseInt(threads), 1);
+        }
+        catch (final NumberFormatException e) {
+            throw new FluxParseException("Number of threads of parallel is not a number: " + threads, e);
+        }
+    }
+
+    private void apply(final Consumer<Flow> operation) {
+        if (parallelSubFlows.isEmpty()) {
+            operation.accept(currentFlow);
+        }
+        else {
+            // Sub-flows of parallel elements are instantiated once per thread:
+            parallelSubFlows.peek().add(operation);
+        }
+    }
+
     protected void addElement(final String name, final Map<String, String> namedArgs, final List<Object> cArgs) {
-        currentFlow.addElement(createElement(name, namedArgs, cArgs));
+        apply(flow -> flow.addElement(createElement(name, namedArgs, cArgs), name));
     }
 
     protected void startTee() {
-        currentFlow.startTee();
+        apply(Flow::startTee);
     }
 
     protected void endTee() {
-        currentFlow.endTee();
+        apply(Flow::endTee);
     }
 
     protected void endSubFlow() {
-        currentFlow.endSubFlow();
+        apply(Flow::endSubFlow);
+    }
+
+    protected void startParallel() {
+        parallelSubFlows.push(new ArrayList<Consumer<Flow>>());
+    }
+
+    protected void endParallel(final Map<String, String> namedArgs, final List<Object> cArgs) {
+        final List<Consumer<Flow>> subFlow = parallelSubFlows.pop();
+        apply(flow -> flow.addElement(createParallelFlow(subFlow, namedArgs, cArgs), PARALLEL_NAME));
     }
 
     protected void setStringStart(final String string) {
@@ -124,7 +219,6 @@ protected void setWormholeEnd(final String name) {
             wormholeNameMapping.put(name, wormhole);
         }
         wormhole.addIn(currentFlow);
-        wormholeInFlowMapping.put(currentFlow, wormhole);
 
     }
 
@@ -143,7 +237,7 @@ protected void setWormholeStart(final String name) {
     }
 
     protected void nextFlow() {
-        currentFlow = new Flow();
+        currentFlow = new Flow(metrics, checkpoints);
     }
 
     protected void compile() {
@@ -153,26 +247,108 @@ protected void compile() {
                 throw new FluxParseException("Wormhole " + wormhole.getName() + " is going nowhere");
             }
 
-            for (final Flow flow : wormhole.getIns()) {
+            final Set<Flow> ins = wormhole.getIns();
+            // Flows finished before a restart are not run again:
+            final long pendingIns = ins.stream().filter(flow -> !isFinished(flow)).count();
+            final Receiver out = ins.size() > 1 ? FlowJoin.create(wormhole.getOut().getFirst(),
+                    (int) pendingIns, ins.size(), runsFlowsConcurrently()) : wormhole.getOut().getFirst();
 
-                flow.addElement(wormhole.getOut().getFirst());
+            for (final Flow flow : ins) {
+                flow.addElement(out);
             }
         }
     }
 
     /**
-     * Starts all flows.
+     * Starts all flows and waits until they are finished.
      */
     public void start() {
-        for (final Flow flow : initialFlows) {
-            flow.start();
-            if (!wormholeInFlowMapping.containsKey(flow)) {
-                flow.close();
+        if (metrics == null) {
+            runFlows();
+            return;
+        }
+
+        metrics.start();
+        try {
+            runFlows();
+        }
+        finally {
+            metrics.stop();
+        }
+    }
+
+    private void runFlows() {
+        if (checkpoints != null) {
+            runFlowsWithCheckpoints();
+        }
+        else if (runsFlowsConcurrently()) {
+            runFlowsConcurrently();
+        }
+        else {
+            for (final Flow flow : initialFlows) {
+                runFlow(flow);
             }
-            else {
-                wormholeInFlowMapping.get(flow).finished(flow);
+        }
+    }
+
+    private boolean runsFlowsConcurrently() {
+        return concurrentFlows && checkpoints == null && initialFlows.size() > 1;
+    }
+
+    private void runFlowsConcurrently() {
+        final ExecutorService executor = Executors.newFixedThreadPool(initialFlows.size());
+        final CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        final List<Future<Void>> results = new ArrayList<>();
+        try {
+            for (final Flow flow : initialFlows) {
+                results.add(completionService.submit(() -> runFlow(flow), null));
+            }
+
+            // Wait for the flows in the order in which they finish, so
+            // that the first failure cancels the other flows:
+            for (int i = 0; i < results.size(); ++i) {
+                completionService.take().get();
             }
         }
+        catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new MetafactureException(e.getCause());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+        finally {
+            results.forEach(result -> result.cancel(true));
+            executor.shutdownNow();
+        }
+    }
+
+    private void runFlowsWithCheckpoints() {
+        for (int i = 0; i < initialFlows.size(); ++i) {
+            if (!checkpoints.isFinished(i)) {
+                runFlow(initialFlows.get(i));
+                checkpoints.finish(i);
+            }
+        }
+        checkpoints.delete();
+    }
+
+    private boolean isFinished(final Flow flow) {
+        final int index = initialFlows.indexOf(flow);
+        return checkpoints != null && index >= 0 && checkpoints.isFinished(index);
+    }
+
+    private static void runFlow(final Flow flow) {
+        flow.start();
+        // Flows ending in a wormhole are joined; the
+        // wormhole is closed when all joined flows are closed:
+        flow.close();
     }
 
     /**
@@ -186,8 +362,7 @@ public static void printHelp(final PrintStream out) throws IOException {
     }
 
     private static final class Wormhole {
-        private final Set<Flow> insReady = new HashSet<Flow>();
-        private final Set<Flow> insFinished = new HashSet<Flow>();
+        private final Set<Flow> ins = new HashSet<Flow>();
         private Flow out;
         private final String name;
 
@@ -204,7 +379,7 @@ public Flow getOut() {
         }
 
         public Set<Flow> getIns() {
-            return insReady;
+            return ins;
         }
 
         public void setOut(final Flow out) {
@@ -212,17 +387,7 @@ public void setOut(final Flow out) {
         }
 
         public void addIn(final Flow flow) {
-            insReady.add(flow);
-        }
-
-        public void finished(final Flow flow) {
-            insReady.remove(flow);
-            insFinished.add(flow);
-            if (insReady.isEmpty()) {
-                for (final Flow finished : insFinished) {
-                    finished.close();
-                }
-            }
+            ins.add(flow);
         }
     }
 
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.parser;
+
+import org.metafacture.flux.metrics.ElementMetrics;
+import org.metafacture.framework.Receiver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Records the {@link ElementMetrics} of an element of a flow. The time spent
+ * in downstream elements which are instrumented as well is not included in
+ * the self time of the element.
+ */
+final class MeteredReceiver implements InvocationHandler {
+
+    // Time spent in instrumented elements called by the current element:
+    private static final ThreadLocal<long[]> DOWNSTREAM_TIME = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Receiver receiver;
+    private final ElementMetrics metrics;
+
+    private MeteredReceiver(final Receiver receiver, final ElementMetrics metrics) {
+        this.receiver = receiver;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Wraps a receiver so that the events it receives are recorded in the
+     * given metrics. The returned receiver implements the same receiver
+     * interfaces as the given one.
+     *
+     * @param receiver the receiver to instrument
+     * @param metrics  the metrics of the receiver
+     * @return the instrumented receiver
+     */
+    static Receiver create(final Receiver receiver, final ElementMetrics metrics) {
+        return (Receiver) Proxy.newProxyInstance(receiver.getClass().getClassLoader(),
+                Flow.getReceiverInterfaces(receiver.getClass()), new MeteredReceiver(receiver, metrics));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeReceiver(method, args);
+        }
+
+        final long[] downstreamTime = DOWNSTREAM_TIME.get();
+        final long outerDownstreamTime = downstreamTime[0];
+        downstreamTime[0] = 0;
+
+        final long start = System.nanoTime();
+        try {
+            return invokeReceiver(method, args);
+        }
+        finally {
+            final long time = System.nanoTime() - start;
+            metrics.recordEvent(method.getName(), time - downstreamTime[0], getEventCount(method, args));
+            downstreamTime[0] = outerDownstreamTime + time;
+        }
+    }
+
+    private static int getEventCount(final Method method, final Object[] args) {
+        // A batch stands for one process event per object:
+        return "processBatch".equals(method.getName()) ? ((List<?>) args[0]).size() : 1;
+    }
+
+    private Object invokeReceiver(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(receiver, args);
+        }
+        catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.parser;
+
+import org.metafacture.framework.Asynchronous;
+import org.metafacture.framework.LifeCycle;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.Receiver;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.XmlReceiver;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Runs several instances of a sub-flow on a pool of threads. This is the
+ * element created by the {@code parallel} construct of Flux:
+ * <pre>
+ * | parallel(threads="8", ordered="false") { decode-marc21 | fix(...) | encode-json } |
+ * </pre>
+ * Each object received is processed by one of the instances. All events
+ * emitted by an instance while processing an object are passed on to the
+ * receiver of this element as a unit from the thread sending the objects.
+ * If {@code ordered} is set (the default), the output of the objects is
+ * passed on in the order in which the objects were received.
+ * <p>
+ * The sub-flow has to begin with an object receiver and end with a sender.
+ * Stateful elements in the sub-flow keep their state per instance.
+ */
+final class ParallelFlow extends DefaultObjectPipe<Object, Receiver> implements Asynchronous {
+
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final int PENDING_OBJECTS_PER_THREAD = 64;
+
+    private static final Class<?>[] RECEIVER_INTERFACES = {
+        ObjectReceiver.class, StreamReceiver.class, XmlReceiver.class
+    };
+
+    private final List<SubFlow> subFlows = new ArrayList<>();
+    private final BlockingQueue<SubFlow> idleSubFlows = new LinkedBlockingQueue<>();
+    private final Deque<Future<List<Event>>> pendingObjects = new ArrayDeque<>();
+    private final boolean ordered;
+
+    private ExecutorService executor;
+
+    /**
+     * Creates an instance of {@link ParallelFlow} which runs each of the
+     * given flows on its own thread.
+     *
+     * @param flows   the instances of the sub-flow
+     * @param ordered true if the output should be passed on in input order
+     */
+    ParallelFlow(final List<Flow> flows, final boolean ordered) {
+        for (final Flow flow : flows) {
+            final SubFlow subFlow = new SubFlow(flow);
+            subFlows.add(subFlow);
+            idleSubFlows.add(subFlow);
+        }
+
+        this.ordered = ordered;
+    }
+
+    /**
+     * Gets the number of objects which are processed or whose output has
+     * not been passed on yet.
+     *
+     * @return the number of pending objects
+     */
+    int getPendingObjects() {
+        return pendingObjects.size();
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return true;
+    }
+
+    @Override
+    public void process(final Object obj) {
+        assert !isClosed();
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(subFlows.size());
+        }
+
+        pendingObjects.add(executor.submit(() -> processInSubFlow(obj)));
+
+        if (!ordered) {
+            emitFinishedObjects();
+        }
+
+        final int maxPendingObjects = subFlows.size() * PENDING_OBJECTS_PER_THREAD;
+        while (pendingObjects.size() > maxPendingObjects || !pendingObjects.isEmpty() && pendingObjects.peekFirst().isDone()) {
+            emitNextObject();
+        }
+    }
+
+    @Override
+    protected void onResetStream() {
+        emitPendingObjects();
+        for (final SubFlow subFlow : subFlows) {
+            emit(subFlow.reset());
+        }
+    }
+
+    @Override
+    protected void onCloseStream() {
+        try {
+            emitPendingObjects();
+            for (final SubFlow subFlow : subFlows) {
+                emit(subFlow.close());
+            }
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    private List<Event> processInSubFlow(final Object obj) throws InterruptedException {
+        final SubFlow subFlow = idleSubFlows.take();
+        try {
+            return subFlow.process(obj);
+        }
+        finally {
+            idleSubFlows.add(subFlow);
+        }
+    }
+
+    private void emitFinishedObjects() {
+        final Iterator<Future<List<Event>>> iterator = pendingObjects.iterator();
+        while (iterator.hasNext()) {
+            final Future<List<Event>> pendingObject = iterator.next();
+            if (pendingObject.isDone()) {
+                iterator.remove();
+                emit(pendingObject);
+            }
+        }
+    }
+
+    private void emitPendingObjects() {
+        while (!pendingObjects.isEmpty()) {
+            emitNextObject();
+        }
+    }
+
+    private void emitNextObject() {
+        emit(pendingObjects.removeFirst());
+    }
+
+    private void emit(final Future<List<Event>> pendingObject) {
+        try {
+            emit(pendingObject.get());
+        }
+        catch (final ExecutionException e) {
+            pendingObjects.forEach(f -> f.cancel(true));
+            pendingObjects.clear();
+            throw new MetafactureException(e.getCause());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+    }
+
+    private void emit(final List<Event> events) {
+        for (final Event event : events) {
+            event.replay(getReceiver());
+        }
+    }
+
+    /**
+     * An instance of the sub-flow. The events emitted by the instance are
+     * recorded until they are passed on.
+     */
+    private static final class SubFlow implements InvocationHandler {
+
+        private final Flow flow;
+        private List<Event> events = new ArrayList<>();
+
+        SubFlow(final Flow flow) {
+            this.flow = flow;
+            flow.addElement((Receiver) Proxy.newProxyInstance(ParallelFlow.class.getClassLoader(),
+                    RECEIVER_INTERFACES, this));
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Event> process(final Object obj) {
+            ((ObjectReceiver<Object>) flow.getFirst()).process(obj);
+            return takeEvents();
+        }
+
+        List<Event> reset() {
+            flow.getFirst().resetStream();
+            return takeEvents();
+        }
+
+        List<Event> close() {
+            flow.close();
+            return takeEvents();
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            final Object result;
+
+            if (method.getDeclaringClass() == Object.class) {
+                result = invokeObjectMethod(proxy, method, args);
+            }
+            else {
+                // Life cycle events are sent by the parallel flow itself:
+                if (method.getDeclaringClass() != LifeCycle.class) {
+                    events.add(new Event(method, args));
+                }
+                result = null;
+            }
+
+            return result;
+        }
+
+        private List<Event> takeEvents() {
+            final List<Event> result = events;
+            events = new ArrayList<>();
+            return result;
+        }
+
+        private Object invokeObjectMethod(final Object proxy, final Method method, final Object[] args) {
+            final Object result;
+
+            switch (method.getName()) {
+                case "equals":
+                    result = proxy == args[0];
+                    break;
+                case "hashCode":
+                    result = System.identityHashCode(proxy);
+                    break;
+                default:
+                    result = "SubFlow@" + Integer.toHexString(System.identityHashCode(proxy));
+                    break;
+            }
+
+            return result;
+        }
+
+    }
+
+    /**
+     * A recorded event. Arguments which SAX parsers reuse are copied.
+     */
+    private static final class Event {
+
+        private final Method method;
+        private final Object[] args;
+
+        Event(final Method method, final Object[] args) {
+            this.method = method;
+            this.args = args == null ? null : args.clone();
+
+            if (this.args != null) {
+                for (int i = 0; i < this.args.length; ++i) {
+                    if (this.args[i] instanceof char[]) {
+                        this.args[i] = ((char[]) this.args[i]).clone();
+                    }
+                    else if (this.args[i] instanceof Attributes) {
+                        this.args[i] = new AttributesImpl((Attributes) this.args[i]);
+                    }
+                }
+            }
+        }
+
+        void replay(final Receiver receiver) {
+            try {
+                method.invoke(receiver, args);
+            }
+            catch (final InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new MetafactureException(e.getCause());
+            }
+            catch (final IllegalAccessException | IllegalArgumentException e) {
+                throw new MetafactureException("Receiver of parallel flow does not accept events of type " +
+                        method.getDeclaringClass().getSimpleName(), e);
+            }
+        }
+
+    }
+
+}
@@ -17,19 +17,27 @@
 package org.metafacture.flux;
 
 import org.metafacture.commons.reflection.ReflectionException;
+import org.metafacture.flux.checkpoint.CheckpointManager;
 import org.metafacture.flux.parser.FluxProgramm;
 
 import org.antlr.runtime.RecognitionException;
+import org.antlr.runtime.tree.CommonTree;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * Tests for the Flux grammar.
@@ -38,6 +46,9 @@
  */
 public final class FluxGrammarTest {
 
+    private static final String[] PARALLEL_INPUT = IntStream.range(0, 1000)
+            .mapToObj(i -> "line " + i).toArray(String[]::new);
+
     private ByteArrayOutputStream stdoutBuffer;
     private ByteArrayOutputStream stderrBuffer;
 
@@ -93,6 +104,97 @@ public void shouldReplaceJavaEscapeSequences()
                 stdoutBuffer.toString());
     }
 
+    @Test
+    public void shouldJoinFlowsEndingInTheSameWormhole()
+            throws IOException, RecognitionException {
+        final String script =
+                "\"a\"|object-tee|@w;" +
+                "\"b\"|object-tee|@w;" +
+                "\"c\"|object-tee|@w;" +
+                "@w|print;";
+
+        final FluxProgramm program = FluxCompiler.compile(
+                createInputStream(script), Collections.emptyMap());
+        program.start();
+
+        final String[] lines = stdoutBuffer.toString().split("\n");
+        Arrays.sort(lines);
+
+        Assert.assertEquals("", stderrBuffer.toString());
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, lines);
+    }
+
+    @Test
+    public void shouldCloseWormholeOnceForEachJoinedFlow()
+            throws IOException, RecognitionException {
+        final File out = File.createTempFile("flux", ".txt");
+        try {
+            final String script =
+                    "\"a\"|object-tee|@w;" +
+                    "\"b\"|object-tee|@w;" +
+                    "@w|wait-for-inputs(\"2\")|write(out);";
+
+            final FluxProgramm program = FluxCompiler.compile(
+                    createInputStream(script), Collections.singletonMap("out", out.getAbsolutePath()));
+            program.start();
+
+            Assert.assertEquals("", stderrBuffer.toString());
+            Assert.assertEquals("a\nb\n", new String(Files.readAllBytes(out.toPath()), StandardCharsets.UTF_8));
+        }
+        finally {
+            out.delete();
+        }
+    }
+
+    @Test
+    public void shouldKeepInputOrderInOrderedParallelSubFlows()
+            throws IOException, RecognitionException {
+        final String[] lines = runParallelSubFlows(true);
+
+        Assert.assertEquals("", stderrBuffer.toString());
+        Assert.assertArrayEquals(PARALLEL_INPUT, lines);
+    }
+
+    @Test
+    public void shouldPassOnAllObjectsInUnorderedParallelSubFlows()
+            throws IOException, RecognitionException {
+        final String[] lines = runParallelSubFlows(false);
+        Arrays.sort(lines);
+
+        final String[] expected = PARALLEL_INPUT.clone();
+        Arrays.sort(expected);
+
+        Assert.assertEquals("", stderrBuffer.toString());
+        Assert.assertArrayEquals(expected, lines);
+    }
+
+    @Test
+    public void shouldRunFlowWithCheckpoints()
+            throws IOException, RecognitionException {
+        final String[] lines = runWithCheckpoints("in|open-file|as-records|write-files(out);");
+
+        Assert.assertEquals("", stderrBuffer.toString());
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, lines);
+    }
+
+    @Test(expected = FluxParseException.class)
+    public void shouldRejectCheckpointsForParallelFlows()
+            throws IOException, RecognitionException {
+        runWithCheckpoints("in|open-file|as-records|parallel(threads=\"2\") { object-tee }|write-files(out);");
+    }
+
+    @Test
+    public void shouldCompileParsedFluxRepeatedly()
+            throws IOException, RecognitionException {
+        final CommonTree ast = FluxCompiler.parse(createInputStream("text|print;"));
+
+        FluxCompiler.compile(ast, Collections.singletonMap("text", "a")).start();
+        FluxCompiler.compile(ast, Collections.singletonMap("text", "b")).start();
+
+        Assert.assertEquals("", stderrBuffer.toString());
+        Assert.assertEquals("a\nb\n", stdoutBuffer.toString());
+    }
+
     @Test(expected = FluxParseException.class)
     public void issue421_shouldThrowFluxParseExceptionWhenSemicolonInFlowIsMissing()
         throws RecognitionException, IOException {
@@ -198,6 +300,55 @@ public void issue421_shouldInsertMissingSymbolsWhenTeeIsStructurallyInvalid()
         }
     }
 
+    private String[] runParallelSubFlows(final boolean ordered)
+            throws IOException, RecognitionException {
+        final File in = File.createTempFile("flux", ".txt");
+        try {
+            Files.write(in.toPath(), Arrays.asList(PARALLEL_INPUT), StandardCharsets.UTF_8);
+
+            final String script =
+                    "in|open-file|as-lines|parallel(threads=\"4\", ordered=\"" + ordered + "\") " +
+                    "{ object-tee|object-tee }|print;";
+
+            final FluxProgramm program = FluxCompiler.compile(
+                    createInputStream(script), Collections.singletonMap("in", in.getAbsolutePath()));
+            program.start();
+
+            return stdoutBuffer.toString().split("\n");
+        }
+        finally {
+            in.delete();
+        }
+    }
+
+    private String[] runWithCheckpoints(final String script)
+            throws IOException, RecognitionException {
+        final File in = File.createTempFile("flux", ".txt");
+        final File out = File.createTempFile("flux", ".txt");
+        final File checkpoint = File.createTempFile("flux", ".checkpoint");
+        checkpoint.delete();
+
+        System.setProperty(CheckpointManager.CHECKPOINT_FILE_PROPERTY, checkpoint.getAbsolutePath());
+        try {
+            Files.write(in.toPath(), "a\u001db\u001dc".getBytes(StandardCharsets.UTF_8));
+
+            final Map<String, String> vars = new HashMap<>();
+            vars.put("in", in.getAbsolutePath());
+            vars.put("out", out.getAbsolutePath());
+
+            FluxCompiler.compile(createInputStream(script), vars).start();
+
+            Assert.assertFalse(checkpoint.exists());
+            return new String(Files.readAllBytes(out.toPath()), StandardCharsets.UTF_8).split("\n");
+        }
+        finally {
+            System.clearProperty(CheckpointManager.CHECKPOINT_FILE_PROPERTY);
+            in.delete();
+            out.delete();
+            checkpoint.delete();
+        }
+    }
+
     private ByteArrayInputStream createInputStream(final String script) {
         return new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8));
     }
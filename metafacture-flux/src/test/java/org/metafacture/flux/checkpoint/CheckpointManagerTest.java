@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.checkpoint;
+
+import org.metafacture.framework.Checkpointable;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for class {@link CheckpointManager}.
+ */
+public final class CheckpointManagerTest {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    public CheckpointManagerTest() {
+    }
+
+    @Test
+    public void shouldRestoreSavedState() {
+        final Path file = tempFolder.getRoot().toPath().resolve("checkpoint");
+
+        final CheckpointManager checkpoints = new CheckpointManager(file, 0);
+        checkpoints.register("first", new Element("1"));
+        checkpoints.register("second", new Element("2"));
+        checkpoints.progress();
+
+        final CheckpointManager restored = new CheckpointManager(file, 0);
+        final Element first = new Element("");
+        final Element second = new Element("");
+        restored.register("first", first);
+        restored.register("second", second);
+
+        Assert.assertEquals("1", first.state);
+        Assert.assertEquals("2", second.state);
+    }
+
+    @Test
+    public void shouldRememberFinishedFlows() {
+        final Path file = tempFolder.getRoot().toPath().resolve("checkpoint");
+
+        new CheckpointManager(file, 0).finish(1);
+
+        final CheckpointManager restored = new CheckpointManager(file, 0);
+        Assert.assertFalse(restored.isFinished(0));
+        Assert.assertTrue(restored.isFinished(1));
+
+        restored.delete();
+        Assert.assertFalse(Files.exists(file));
+    }
+
+    private static final class Element implements Checkpointable {
+
+        private String state;
+
+        Element(final String state) {
+            this.state = state;
+        }
+
+        @Override
+        public String saveCheckpoint() {
+            return state;
+        }
+
+        @Override
+        public void restoreCheckpoint(final String checkpoint) {
+            state = checkpoint;
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.metrics;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Tests for class {@link MetricsRegistry}.
+ */
+public final class MetricsRegistryTest {
+
+    private static final long TIMEOUT = 5000;
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    public MetricsRegistryTest() {
+    }
+
+    @Test
+    public void shouldWriteMetricsAsJson() {
+        final MetricsRegistry registry = new MetricsRegistry(null, 0);
+        final ElementMetrics metrics = registry.register("template(\"${o}\")");
+        metrics.recordEvent("startRecord", 5);
+        metrics.recordEvent("literal", 7);
+        metrics.recordEvent("endRecord", 3);
+
+        final String json = registry.toJson();
+
+        Assert.assertTrue(json, json.contains("{\"index\":1,\"name\":\"template(\\\"${o}\\\")\"," +
+                "\"records\":1,\"objects\":0,\"literals\":1,\"events\":3,\"selfTime\":15,"));
+        Assert.assertTrue(json, json.endsWith("\"queueDepth\":-1}]}"));
+    }
+
+    @Test
+    public void shouldRegisterMBeansWhileRunning() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName pattern = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Element,*");
+
+        final MetricsRegistry registry = new MetricsRegistry(null, 0);
+        registry.register("print").recordEvent("process", 1);
+
+        registry.start();
+        try {
+            final Set<ObjectName> names = server.queryNames(pattern, null);
+            Assert.assertEquals(1, names.size());
+
+            final ObjectName name = names.iterator().next();
+            Assert.assertEquals("\"print\"", name.getKeyProperty("name"));
+            Assert.assertEquals(1L, server.getAttribute(name, "Objects"));
+        }
+        finally {
+            registry.stop();
+        }
+
+        Assert.assertTrue(server.queryNames(pattern, null).isEmpty());
+    }
+
+    @Test
+    public void shouldWriteSnapshotWhenStopped() throws Exception {
+        final Path file = tempFolder.getRoot().toPath().resolve("metrics.json");
+
+        final MetricsRegistry registry = new MetricsRegistry(file, 0);
+        registry.register("print");
+        registry.start();
+        registry.stop();
+
+        Assert.assertEquals(registry.toJson().replaceFirst("\"timestamp\":\"[^\"]*\"", ""),
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8)
+                        .replaceFirst("\"timestamp\":\"[^\"]*\"", ""));
+    }
+
+    @Test
+    public void shouldKeepWritingSnapshotsAfterWriteErrors() throws Exception {
+        final Path dir = tempFolder.getRoot().toPath().resolve("metrics");
+        final Path file = dir.resolve("metrics.json");
+
+        final MetricsRegistry registry = new MetricsRegistry(file, 1);
+        registry.start();
+        try {
+            // The first snapshots fail because the directory does not exist:
+            Thread.sleep(1500);
+            Files.createDirectory(dir);
+
+            final long deadline = System.currentTimeMillis() + TIMEOUT;
+            while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+
+            Assert.assertTrue(Files.exists(file));
+        }
+        finally {
+            registry.stop();
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.parser;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+import org.metafacture.framework.helpers.DefaultStreamReceiver;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for running the flows of a {@link FluxProgramm} concurrently.
+ */
+public final class ConcurrentFlowsTest {
+
+    private static final int RECORDS = 200;
+    private static final int LITERALS = 10;
+    private static final String[] INPUTS = {"a", "b", "c", "d"};
+
+    private static final List<String> ERRORS = Collections.synchronizedList(new ArrayList<>());
+    private static final List<String> RECORD_IDS = Collections.synchronizedList(new ArrayList<>());
+
+    private static volatile CountDownLatch endlessSourceStarted;
+    private static volatile CountDownLatch endlessSourceStopped;
+
+    public ConcurrentFlowsTest() {
+    }
+
+    @Before
+    public void setup() {
+        System.setProperty(FluxProgramm.CONCURRENT_FLOWS_PROPERTY, "true");
+        ERRORS.clear();
+        RECORD_IDS.clear();
+        endlessSourceStarted = new CountDownLatch(1);
+        endlessSourceStopped = new CountDownLatch(1);
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(FluxProgramm.CONCURRENT_FLOWS_PROPERTY);
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotInterleaveRecordsOfFlowsEndingInTheSameWormhole() {
+        final FluxProgramm program = new FluxProgramm();
+        for (final String input : INPUTS) {
+            addFlow(program, input, RecordSource.class);
+        }
+        addWormholeOut(program);
+        program.compile();
+
+        program.start();
+
+        Assert.assertEquals(Collections.emptyList(), ERRORS);
+        Assert.assertEquals(INPUTS.length * RECORDS, RECORD_IDS.size());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldCancelOtherFlowsIfOneFails() throws InterruptedException {
+        final FluxProgramm program = new FluxProgramm();
+        addFlow(program, "a", EndlessSource.class);
+        addFlow(program, "b", FailingSource.class);
+        addWormholeOut(program);
+        program.compile();
+
+        try {
+            program.start();
+            Assert.fail("Exception expected");
+        }
+        catch (final MetafactureException e) {
+            Assert.assertEquals("b", e.getMessage());
+        }
+
+        Assert.assertTrue(endlessSourceStopped.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.emptyList(), ERRORS);
+    }
+
+    private static void addFlow(final FluxProgramm program, final String input, final Class<?> source) {
+        program.setStringStart(input);
+        program.addElement(source.getName(), Collections.emptyMap(), Collections.emptyList());
+        program.setWormholeEnd("w");
+        program.nextFlow();
+    }
+
+    private static void addWormholeOut(final FluxProgramm program) {
+        program.setWormholeStart("w");
+        program.addElement(RecordChecker.class.getName(), Collections.emptyMap(), Collections.emptyList());
+        program.nextFlow();
+    }
+
+    private static void emitRecord(final StreamReceiver receiver, final String id) {
+        receiver.startRecord(id);
+        for (int i = 0; i < LITERALS; ++i) {
+            receiver.literal("id", id);
+            // Give other flows a chance to interleave their events:
+            Thread.yield();
+        }
+        receiver.endRecord();
+    }
+
+    /**
+     * Emits {@value #RECORDS} records for each input.
+     */
+    public static final class RecordSource extends DefaultObjectPipe<String, StreamReceiver> {
+
+        public RecordSource() {
+        }
+
+        @Override
+        public void process(final String obj) {
+            for (int i = 0; i < RECORDS; ++i) {
+                emitRecord(getReceiver(), obj + i);
+            }
+        }
+
+    }
+
+    /**
+     * Emits records until the flow is cancelled.
+     */
+    public static final class EndlessSource extends DefaultObjectPipe<String, StreamReceiver> {
+
+        public EndlessSource() {
+        }
+
+        @Override
+        public void process(final String obj) {
+            try {
+                endlessSourceStarted.countDown();
+                for (int i = 0; !Thread.currentThread().isInterrupted(); ++i) {
+                    emitRecord(getReceiver(), obj + i);
+                }
+            }
+            catch (final MetafactureException e) {
+                // Interrupted while waiting for the joined flow
+            }
+            finally {
+                endlessSourceStopped.countDown();
+            }
+        }
+
+    }
+
+    /**
+     * Fails once the endless source has started.
+     */
+    public static final class FailingSource extends DefaultObjectPipe<String, StreamReceiver> {
+
+        public FailingSource() {
+        }
+
+        @Override
+        public void process(final String obj) {
+            try {
+                endlessSourceStarted.await();
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new MetafactureException(obj);
+        }
+
+    }
+
+    /**
+     * Checks that the literals of a record all belong to that record.
+     */
+    public static final class RecordChecker extends DefaultStreamReceiver implements ObjectReceiver<String> {
+
+        private String currentId;
+
+        public RecordChecker() {
+        }
+
+        @Override
+        public void startRecord(final String id) {
+            if (currentId != null) {
+                ERRORS.add("record " + id + " started within record " + currentId);
+            }
+            currentId = id;
+        }
+
+        @Override
+        public void literal(final String name, final String value) {
+            if (!value.equals(currentId)) {
+                ERRORS.add("literal of record " + value + " within record " + currentId);
+            }
+        }
+
+        @Override
+        public void endRecord() {
+            RECORD_IDS.add(currentId);
+            currentId = null;
+        }
+
+        @Override
+        public void process(final String obj) {
+            // Flows starting with a wormhole receive no objects
+        }
+
+    }
+
+}
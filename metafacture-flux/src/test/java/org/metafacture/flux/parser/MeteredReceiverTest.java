@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.flux.parser;
+
+import org.metafacture.flux.metrics.ElementMetrics;
+import org.metafacture.framework.BatchObjectReceiver;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for class {@link MeteredReceiver}.
+ */
+public final class MeteredReceiverTest {
+
+    private static final long UPSTREAM_MILLIS = 20;
+    private static final long DOWNSTREAM_MILLIS = 100;
+
+    public MeteredReceiverTest() {
+    }
+
+    @Test
+    public void shouldNotIncludeDownstreamTimeInSelfTime() {
+        final ElementMetrics upstreamMetrics = new ElementMetrics(1, "upstream");
+        final ElementMetrics downstreamMetrics = new ElementMetrics(2, "downstream");
+
+        final ObjectReceiver<String> downstream = metered(new Sleeper(DOWNSTREAM_MILLIS), downstreamMetrics);
+        final Sleeper upstreamElement = new Sleeper(UPSTREAM_MILLIS);
+        upstreamElement.setReceiver(downstream);
+        final ObjectReceiver<String> upstream = metered(upstreamElement, upstreamMetrics);
+
+        upstream.process("a");
+
+        Assert.assertEquals(1, upstreamMetrics.getObjects());
+        Assert.assertEquals(1, downstreamMetrics.getObjects());
+
+        final long upstreamSelfTime = TimeUnit.NANOSECONDS.toMillis(upstreamMetrics.getSelfTime());
+        final long downstreamSelfTime = TimeUnit.NANOSECONDS.toMillis(downstreamMetrics.getSelfTime());
+
+        Assert.assertTrue("upstream: " + upstreamSelfTime, upstreamSelfTime >= UPSTREAM_MILLIS);
+        Assert.assertTrue("upstream: " + upstreamSelfTime, upstreamSelfTime < DOWNSTREAM_MILLIS);
+        Assert.assertTrue("downstream: " + downstreamSelfTime, downstreamSelfTime >= DOWNSTREAM_MILLIS);
+    }
+
+    @Test
+    public void shouldRecordEventsWhichThrowExceptions() {
+        final ElementMetrics metrics = new ElementMetrics(1, "failing");
+        final ObjectReceiver<String> receiver = metered(new DefaultObjectPipe<String, ObjectReceiver<String>>() {
+            @Override
+            public void process(final String obj) {
+                throw new MetafactureException(obj);
+            }
+        }, metrics);
+
+        try {
+            receiver.process("a");
+            Assert.fail("Exception expected");
+        }
+        catch (final MetafactureException e) {
+            Assert.assertEquals("a", e.getMessage());
+        }
+
+        Assert.assertEquals(1, metrics.getObjects());
+    }
+
+    @Test
+    public void shouldCountEachObjectOfBatch() {
+        final ElementMetrics upstreamMetrics = new ElementMetrics(1, "upstream");
+        final ElementMetrics downstreamMetrics = new ElementMetrics(2, "downstream");
+
+        final Sleeper upstreamElement = new Sleeper(0);
+        upstreamElement.setReceiver(metered(new Sleeper(0), downstreamMetrics));
+        final ObjectReceiver<String> upstream = metered(upstreamElement, upstreamMetrics);
+
+        Assert.assertTrue(upstream instanceof BatchObjectReceiver);
+        BatchObjectReceiver.deliver(upstream, Arrays.asList("a", "b", "c"));
+
+        Assert.assertEquals(3, upstreamMetrics.getObjects());
+        Assert.assertEquals(3, upstreamMetrics.getEvents());
+        Assert.assertEquals(3, downstreamMetrics.getObjects());
+        Assert.assertEquals(3, downstreamMetrics.getEvents());
+    }
+
+    @Test
+    public void shouldRecordLatencyOfBatchPerObject() {
+        final ElementMetrics metrics = new ElementMetrics(1, "batch");
+        final ObjectReceiver<String> receiver = metered(new Sleeper(UPSTREAM_MILLIS), metrics);
+
+        BatchObjectReceiver.deliver(receiver, Arrays.asList("a", "b", "c", "d"));
+
+        final long selfTime = TimeUnit.NANOSECONDS.toMillis(metrics.getSelfTime());
+        final long maxLatency = TimeUnit.NANOSECONDS.toMillis(metrics.getLatencyMax());
+
+        Assert.assertTrue("self time: " + selfTime, selfTime >= 4 * UPSTREAM_MILLIS);
+        // Buckets are accurate to 12.5%, so allow for rounding up:
+        Assert.assertTrue("max latency: " + maxLatency, maxLatency < 2 * UPSTREAM_MILLIS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectReceiver<String> metered(final ObjectReceiver<String> receiver, final ElementMetrics metrics) {
+        return (ObjectReceiver<String>) MeteredReceiver.create(receiver, metrics);
+    }
+
+    private static final class Sleeper extends DefaultObjectPipe<String, ObjectReceiver<String>> {
+
+        private final long millis;
+
+        Sleeper(final long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public void process(final String obj) {
+            try {
+                Thread.sleep(millis);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (getReceiver() != null) {
+                getReceiver().process(obj);
+            }
+        }
+
+    }
+
+}
@@ -27,7 +27,6 @@
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -48,10 +47,11 @@
 @FluxCommand("template")
 public final class ObjectTemplate<T> extends DefaultObjectPipe<T, ObjectReceiver<String>> {
 
-    //TODO: make replace more efficient
-    private static final Pattern OBJ_PATTERN = Pattern.compile("${o}", Pattern.LITERAL);
+    private static final String OBJ_VAR = "${o}";
+
     private final Map<String, String> vars = new HashMap<>();
-    private final String template;
+    private final StringUtil.Template template;
+    private final String[] objSegments;
 
     /**
      * Creates an instance of {@link ObjectTemplate} with a given template.
@@ -59,7 +59,8 @@
      * @param template the template
      */
     public ObjectTemplate(final String template) {
-        this.template = template;
+        this.template = StringUtil.compile(template);
+        objSegments = template.split(Pattern.quote(OBJ_VAR), -1);
     }
 
     @Override
@@ -69,11 +70,10 @@ public void process(final T obj) {
             vars.put("s", triple.getSubject());
             vars.put("p", triple.getPredicate());
             vars.put("o", triple.getObject());
-            getReceiver().process(StringUtil.format(template, vars));
+            getReceiver().process(template.format(vars));
         }
         else {
-            final Matcher matcher = OBJ_PATTERN.matcher(template);
-            getReceiver().process(matcher.replaceAll(obj.toString()));
+            getReceiver().process(String.join(obj.toString(), objSegments));
         }
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.framework;
+
+/**
+ * Interface for modules which may pass on the results of an event after
+ * the call which received the event has returned, e.g. because they process
+ * events on other threads. Downstream modules do not have to be finished
+ * with an object when the call which sent it returns, so such modules
+ * cannot be part of a pipeline using {@link Checkpointable} modules.
+ */
+public interface Asynchronous {
+
+    /**
+     * Checks whether the module is configured to process events
+     * asynchronously.
+     *
+     * @return true if events may be passed on after the receiving call has
+     *         returned
+     */
+    boolean isAsynchronous();
+
+}
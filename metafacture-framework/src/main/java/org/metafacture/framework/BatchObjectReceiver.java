@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.framework;
+
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import java.util.List;
+
+/**
+ * Interface for object receivers which can process several objects with a
+ * single call. Processing a batch must be equivalent to calling
+ * {@link #process(Object)} for each object of the batch in order.
+ * <p>
+ * Senders should use {@link #deliver(ObjectReceiver, List)} to pass on a
+ * batch, as it falls back to passing on the objects one by one if the
+ * receiver does not implement this interface.
+ *
+ * @param <T> object type
+ *
+ * @see DefaultObjectPipe
+ */
+public interface BatchObjectReceiver<T> extends ObjectReceiver<T> {
+
+    /**
+     * This method is called by upstream modules to trigger the
+     * processing of all objects in {@code batch}. The receiver must not
+     * keep a reference to the list after the method returns.
+     *
+     * @param batch the objects to be processed
+     */
+    void processBatch(List<T> batch);
+
+    /**
+     * Passes a batch of objects to a receiver. If the receiver is a
+     * {@link BatchObjectReceiver} the batch is passed on with a single
+     * call, otherwise the objects are passed on one by one.
+     *
+     * @param <T>      object type
+     * @param receiver the receiver of the objects
+     * @param batch    the objects to be passed on
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void deliver(final ObjectReceiver<T> receiver, final List<T> batch) {
+        if (receiver instanceof BatchObjectReceiver) {
+            ((BatchObjectReceiver<T>) receiver).processBatch(batch);
+        }
+        else {
+            for (final T obj : batch) {
+                receiver.process(obj);
+            }
+        }
+    }
+
+}
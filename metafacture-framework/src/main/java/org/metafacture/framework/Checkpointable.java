@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.framework;
+
+/**
+ * Interface for modules whose progress can be saved in a checkpoint and
+ * restored when a pipeline is restarted after a failure.
+ * <p>
+ * Sources save the number of objects which they have passed on for their
+ * current input and whose processing has returned. The count is reset when
+ * the processing of an input is finished. After restoring a checkpoint, a
+ * source skips this number of objects of the next input it receives.
+ * <p>
+ * Sinks make all data written so far durable when a checkpoint is saved.
+ * After restoring a checkpoint, they discard any data written after the
+ * checkpoint before writing new data.
+ * <p>
+ * Checkpoints are consistent only if the modules between a source and a
+ * sink process each object completely before returning, i.e. none of them
+ * is {@link Asynchronous}.
+ */
+public interface Checkpointable {
+
+    /**
+     * Saves the current progress of the module.
+     *
+     * @return the state of the module
+     */
+    String saveCheckpoint();
+
+    /**
+     * Restores the progress of the module. This method is called before the
+     * module receives any data.
+     *
+     * @param checkpoint a state returned by {@link #saveCheckpoint()}
+     */
+    void restoreCheckpoint(String checkpoint);
+
+}
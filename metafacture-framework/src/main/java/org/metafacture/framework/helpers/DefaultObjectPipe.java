@@ -16,12 +16,16 @@
 
 package org.metafacture.framework.helpers;
 
+import org.metafacture.framework.BatchObjectReceiver;
 import org.metafacture.framework.ObjectPipe;
 import org.metafacture.framework.Receiver;
 
+import java.util.List;
+
 /**
  * Default implementation for {@link ObjectPipe}s which simply
- * does nothing.
+ * does nothing. Batches of objects are passed to {@link #process(Object)}
+ * one by one unless {@link #processBatch(List)} is overridden.
  *
  * @param <T> object type that this module processes
  * @param <R> receiver type of the downstream module
@@ -29,7 +33,7 @@
  * @author Christoph Böhme
  *
  */
-public class DefaultObjectPipe<T, R extends Receiver> extends DefaultSender<R> implements ObjectPipe<T, R> {
+public class DefaultObjectPipe<T, R extends Receiver> extends DefaultSender<R> implements ObjectPipe<T, R>, BatchObjectReceiver<T> {
 
     /**
      * Creates an instance of {@link DefaultObjectPipe}.
@@ -42,4 +46,11 @@ public void process(final T obj) {
         // Default implementation does nothing
     }
 
+    @Override
+    public void processBatch(final List<T> batch) {
+        for (final T obj : batch) {
+            process(obj);
+        }
+    }
+
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.FormatException;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads stream events from files written by {@link BinaryStreamEncoder}.
+ * The decoder receives file names; {@link #decode(InputStream)} reads the
+ * events from any input stream.
+ *
+ * @see BinaryStreamFormat
+ */
+@Description("Reads stream events from a file written by encode-binary-stream.")
+@In(String.class)
+@Out(StreamReceiver.class)
+@FluxCommand("decode-binary-stream")
+public final class BinaryStreamDecoder extends DefaultObjectPipe<String, StreamReceiver> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int VAR_INT_MASK = 0x7f;
+    private static final int VAR_INT_CONTINUE = 0x80;
+    private static final int VAR_INT_SHIFT = 7;
+    private static final int MAX_VAR_INT_SHIFT = 28;
+
+    private final List<String> names = new ArrayList<>();
+
+    private byte[] block;
+    private int position;
+
+    /**
+     * Creates an instance of {@link BinaryStreamDecoder}.
+     */
+    public BinaryStreamDecoder() {
+    }
+
+    @Override
+    public void process(final String path) {
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE)) {
+            decode(inputStream);
+        }
+        catch (final IOException e) {
+            throw new MetafactureException("Error reading file '" + path + "'.", e);
+        }
+    }
+
+    /**
+     * Reads all events from an input stream and passes them to the
+     * receiver. The input stream is not closed.
+     *
+     * @param inputStream the input stream
+     * @throws IOException if reading from the input stream fails
+     */
+    public void decode(final InputStream inputStream) throws IOException {
+        final DataInputStream dataStream = new DataInputStream(inputStream);
+        final BlockCompression compression = readHeader(dataStream);
+
+        names.clear();
+        int blockLength = readVarInt(dataStream);
+        while (blockLength > 0) {
+            final byte[] storedBlock = new byte[readVarInt(dataStream)];
+            dataStream.readFully(storedBlock);
+            block = compression.decompress(storedBlock, blockLength);
+            position = 0;
+            while (position < block.length) {
+                decodeEvent();
+            }
+            blockLength = readVarInt(dataStream);
+        }
+        block = null;
+    }
+
+    private BlockCompression readHeader(final DataInputStream dataStream) throws IOException {
+        final byte[] magic = new byte[BinaryStreamFormat.MAGIC.length];
+        dataStream.readFully(magic);
+        if (!Arrays.equals(magic, BinaryStreamFormat.MAGIC)) {
+            throw new FormatException("Not a binary stream file");
+        }
+
+        final int version = dataStream.readUnsignedByte();
+        if (version != BinaryStreamFormat.VERSION) {
+            throw new FormatException("Unsupported binary stream version: " + version);
+        }
+
+        final int compression = dataStream.readUnsignedByte();
+        if (compression >= BlockCompression.values().length) {
+            throw new FormatException("Unsupported block compression: " + compression);
+        }
+        return BlockCompression.values()[compression];
+    }
+
+    private void decodeEvent() {
+        final StreamReceiver receiver = getReceiver();
+        final int event = readVarInt();
+        switch (event) {
+            case BinaryStreamFormat.START_RECORD:
+                receiver.startRecord(readString());
+                break;
+            case BinaryStreamFormat.END_RECORD:
+                receiver.endRecord();
+                break;
+            case BinaryStreamFormat.START_ENTITY:
+                receiver.startEntity(readName());
+                break;
+            case BinaryStreamFormat.END_ENTITY:
+                receiver.endEntity();
+                break;
+            case BinaryStreamFormat.LITERAL:
+                receiver.literal(readName(), readString());
+                break;
+            case BinaryStreamFormat.RESET_STREAM:
+                receiver.resetStream();
+                break;
+            default:
+                throw new FormatException("Unknown event type: " + event);
+        }
+    }
+
+    private String readName() {
+        final int reference = readVarInt();
+        final String name;
+        if (reference == BinaryStreamFormat.NEW_NAME) {
+            name = readString();
+            names.add(name);
+        }
+        else if (reference == BinaryStreamFormat.INLINE_NAME) {
+            name = readString();
+        }
+        else {
+            final int index = reference - BinaryStreamFormat.FIRST_NAME_INDEX;
+            if (index >= names.size()) {
+                throw new FormatException("Unknown name reference: " + reference);
+            }
+            name = names.get(index);
+        }
+        return name;
+    }
+
+    private String readString() {
+        final int lengthPlusOne = readVarInt();
+        final String string;
+        if (lengthPlusOne == 0) {
+            string = null;
+        }
+        else {
+            final int length = lengthPlusOne - 1;
+            if (length > block.length - position) {
+                throw new FormatException("String exceeds block");
+            }
+            string = new String(block, position, length, StandardCharsets.UTF_8);
+            position += length;
+        }
+        return string;
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (position >= block.length || shift > MAX_VAR_INT_SHIFT) {
+                throw new FormatException("Malformed number in block");
+            }
+            b = block[position++];
+            value |= (b & VAR_INT_MASK) << shift;
+            shift += VAR_INT_SHIFT;
+        } while ((b & VAR_INT_CONTINUE) != 0);
+        return value;
+    }
+
+    private static int readVarInt(final DataInputStream dataStream) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > MAX_VAR_INT_SHIFT) {
+                throw new FormatException("Malformed block header");
+            }
+            b = dataStream.read();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of binary stream");
+            }
+            value |= (b & VAR_INT_MASK) << shift;
+            shift += VAR_INT_SHIFT;
+        } while ((b & VAR_INT_CONTINUE) != 0);
+        return value;
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultStreamReceiver;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes stream events to a file (or an output stream) in a compact binary
+ * format. Names of entities and literals are stored once per file in a
+ * dictionary. The events are written in blocks which can be compressed
+ * individually. Use {@link BinaryStreamDecoder} to read the events back.
+ *
+ * @see BinaryStreamFormat
+ */
+@Description("Writes the stream events to a file in a compact binary format which can be read with decode-binary-stream. " +
+        "Options: `compression` (NONE or DEFLATE; default: NONE), `blocksize` (default: 65536 bytes)")
+@In(StreamReceiver.class)
+@Out(Void.class)
+@FluxCommand("encode-binary-stream")
+public final class BinaryStreamEncoder extends DefaultStreamReceiver {
+
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private static final int MAX_VAR_INT_LENGTH = 5;
+    private static final int VAR_INT_MASK = 0x7f;
+    private static final int VAR_INT_CONTINUE = 0x80;
+    private static final int VAR_INT_SHIFT = 7;
+
+    private final Map<String, Integer> names = new HashMap<>();
+    private final String path;
+
+    private OutputStream outputStream;
+    private BlockCompression compression = BlockCompression.NONE;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private byte[] buffer = new byte[DEFAULT_BLOCK_SIZE];
+    private int length;
+    private boolean headerWritten;
+
+    /**
+     * Creates an instance of {@link BinaryStreamEncoder} which writes to a
+     * file. The file is created when the first event is received.
+     *
+     * @param path the path of the file
+     */
+    public BinaryStreamEncoder(final String path) {
+        this.path = path;
+    }
+
+    /**
+     * Creates an instance of {@link BinaryStreamEncoder} which writes to an
+     * output stream. The output stream is closed when the stream is closed.
+     *
+     * @param outputStream the output stream
+     */
+    public BinaryStreamEncoder(final OutputStream outputStream) {
+        this.path = null;
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Sets the compression of the blocks.
+     * <p>
+     * The default value is {@link BlockCompression#NONE}.
+     * <p>
+     * This property must not be changed after the first event was received.
+     *
+     * @param compression the {@link BlockCompression}
+     */
+    public void setCompression(final BlockCompression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the compression of the blocks.
+     *
+     * @param compression the name of the compression
+     */
+    public void setCompression(final String compression) {
+        setCompression(BlockCompression.valueOf(compression.toUpperCase()));
+    }
+
+    /**
+     * Gets the compression of the blocks.
+     *
+     * @return the {@link BlockCompression}
+     */
+    public BlockCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Sets the number of bytes after which a block is written. Larger blocks
+     * compress better but need more memory when reading and writing.
+     * <p>
+     * The default value is {@value #DEFAULT_BLOCK_SIZE}.
+     *
+     * @param blockSize the size of a block in bytes
+     */
+    public void setBlockSize(final int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("block size must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Gets the number of bytes after which a block is written.
+     *
+     * @return the size of a block in bytes
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public void startRecord(final String identifier) {
+        writeVarInt(BinaryStreamFormat.START_RECORD);
+        writeString(identifier);
+    }
+
+    @Override
+    public void endRecord() {
+        writeVarInt(BinaryStreamFormat.END_RECORD);
+        if (length >= blockSize) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void startEntity(final String name) {
+        writeVarInt(BinaryStreamFormat.START_ENTITY);
+        writeName(name);
+    }
+
+    @Override
+    public void endEntity() {
+        writeVarInt(BinaryStreamFormat.END_ENTITY);
+    }
+
+    @Override
+    public void literal(final String name, final String value) {
+        writeVarInt(BinaryStreamFormat.LITERAL);
+        writeName(name);
+        writeString(value);
+    }
+
+    @Override
+    public void resetStream() {
+        writeVarInt(BinaryStreamFormat.RESET_STREAM);
+    }
+
+    @Override
+    public void closeStream() {
+        writeBlock();
+        try {
+            final OutputStream stream = getOutputStream();
+            writeVarInt(stream, 0);
+            stream.close();
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+        finally {
+            outputStream = null;
+            headerWritten = false;
+            names.clear();
+        }
+    }
+
+    private void writeName(final String name) {
+        final Integer index = names.get(name);
+        if (index != null) {
+            writeVarInt(index + BinaryStreamFormat.FIRST_NAME_INDEX);
+        }
+        else if (names.size() < BinaryStreamFormat.MAX_NAMES) {
+            names.put(name, names.size());
+            writeVarInt(BinaryStreamFormat.NEW_NAME);
+            writeString(name);
+        }
+        else {
+            writeVarInt(BinaryStreamFormat.INLINE_NAME);
+            writeString(name);
+        }
+    }
+
+    private void writeString(final String string) {
+        if (string == null) {
+            writeVarInt(0);
+        }
+        else {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+    }
+
+    private void writeVarInt(final int value) {
+        ensureCapacity(MAX_VAR_INT_LENGTH);
+        int remaining = value;
+        while ((remaining & ~VAR_INT_MASK) != 0) {
+            buffer[length++] = (byte) (remaining & VAR_INT_MASK | VAR_INT_CONTINUE);
+            remaining >>>= VAR_INT_SHIFT;
+        }
+        buffer[length++] = (byte) remaining;
+    }
+
+    private void ensureCapacity(final int additionalBytes) {
+        if (length + additionalBytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additionalBytes));
+        }
+    }
+
+    private void writeBlock() {
+        if (length > 0) {
+            try {
+                final OutputStream stream = getOutputStream();
+                final byte[] block = compression.compress(buffer, length);
+                writeVarInt(stream, length);
+                writeVarInt(stream, block.length);
+                stream.write(block);
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+            length = 0;
+        }
+    }
+
+    private OutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            if (path == null) {
+                throw new IllegalStateException("Output stream has already been closed");
+            }
+            outputStream = new BufferedOutputStream(new FileOutputStream(path));
+        }
+        if (!headerWritten) {
+            outputStream.write(BinaryStreamFormat.MAGIC);
+            outputStream.write(BinaryStreamFormat.VERSION);
+            outputStream.write(compression.ordinal());
+            headerWritten = true;
+        }
+        return outputStream;
+    }
+
+    private static void writeVarInt(final OutputStream stream, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~VAR_INT_MASK) != 0) {
+            stream.write(remaining & VAR_INT_MASK | VAR_INT_CONTINUE);
+            remaining >>>= VAR_INT_SHIFT;
+        }
+        stream.write(remaining);
+    }
+
+}
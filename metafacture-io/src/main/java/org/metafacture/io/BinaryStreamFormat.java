@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+/**
+ * Constants of the binary stream format written by
+ * {@link BinaryStreamEncoder} and read by {@link BinaryStreamDecoder}.
+ * <p>
+ * A file starts with {@link #MAGIC}, the format {@link #VERSION} and the
+ * ordinal of the {@link BlockCompression}. It is followed by blocks, each
+ * consisting of the decompressed length, the stored length and the stored
+ * bytes of the block. A block with a decompressed length of zero ends the
+ * file.
+ * <p>
+ * A block contains a sequence of events. Each event starts with its type
+ * followed by its arguments. Numbers are written as unsigned variable
+ * length integers (seven bits per byte, least significant group first).
+ * Strings are written as length plus one (zero denotes {@code null})
+ * followed by their UTF-8 bytes. Names are written as a reference into the
+ * name dictionary of the file: {@link #NEW_NAME} adds the following string
+ * to the dictionary, {@link #INLINE_NAME} is used once the dictionary is
+ * full, and all other values refer to a dictionary entry (offset by
+ * {@link #FIRST_NAME_INDEX}).
+ */
+final class BinaryStreamFormat {
+
+    static final byte[] MAGIC = {'M', 'F', 'B', 'S'};
+    static final int VERSION = 1;
+
+    static final int START_RECORD = 1;
+    static final int END_RECORD = 2;
+    static final int START_ENTITY = 3;
+    static final int END_ENTITY = 4;
+    static final int LITERAL = 5;
+    static final int RESET_STREAM = 6;
+
+    static final int NEW_NAME = 0;
+    static final int INLINE_NAME = 1;
+    static final int FIRST_NAME_INDEX = 2;
+
+    static final int MAX_NAMES = 1 << 16;
+
+    private BinaryStreamFormat() {
+        throw new AssertionError("No instances allowed");
+    }
+
+}
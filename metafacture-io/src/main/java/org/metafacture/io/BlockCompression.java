@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.metafacture.framework.MetafactureException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of the blocks of a binary stream file. Unlike
+ * {@link FileCompression}, each block is compressed on its own.
+ *
+ * @see BinaryStreamEncoder
+ * @see BinaryStreamDecoder
+ */
+public enum BlockCompression {
+
+    NONE {
+        @Override
+        public byte[] compress(final byte[] data, final int length) {
+            return Arrays.copyOf(data, length);
+        }
+
+        @Override
+        public byte[] decompress(final byte[] data, final int length) {
+            return data;
+        }
+    },
+
+    DEFLATE {
+        @Override
+        public byte[] compress(final byte[] data, final int length) {
+            final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+            try {
+                deflater.setInput(data, 0, length);
+                deflater.finish();
+
+                final ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 1);
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+
+                return compressed.toByteArray();
+            }
+            finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public byte[] decompress(final byte[] data, final int length) {
+            final Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(data);
+
+                final byte[] decompressed = new byte[length];
+                int offset = 0;
+                while (offset < length && !inflater.finished()) {
+                    final int inflated = inflater.inflate(decompressed, offset, length - offset);
+                    if (inflated == 0 && inflater.needsInput()) {
+                        throw new MetafactureException("Truncated compressed block");
+                    }
+                    offset += inflated;
+                }
+
+                return decompressed;
+            }
+            catch (final DataFormatException e) {
+                throw new MetafactureException(e);
+            }
+            finally {
+                inflater.end();
+            }
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Compresses a block.
+     *
+     * @param data   the buffer containing the block
+     * @param length the length of the block
+     * @return the compressed block
+     */
+    public abstract byte[] compress(byte[] data, int length);
+
+    /**
+     * Decompresses a block.
+     *
+     * @param data   the compressed block
+     * @param length the length of the decompressed block
+     * @return the decompressed block
+     */
+    public abstract byte[] decompress(byte[] data, int length);
+
+}
@@ -59,28 +59,7 @@ public OutputStream createCompressor(final OutputStream writeTo, final String fi
                 throw new IllegalArgumentException("fileName is required for auto-selecting compressor");
             }
 
-            final String extension = FilenameUtils.getExtension(fileName);
-            final FileCompression compressor;
-            if ("gz".equalsIgnoreCase(extension)) {
-                compressor = GZIP;
-            }
-            else if ("gzip".equalsIgnoreCase(extension)) {
-                compressor = GZIP;
-            }
-            else if ("bz2".equalsIgnoreCase(extension)) {
-                compressor = BZIP2;
-            }
-            else if ("bzip2".equalsIgnoreCase(extension)) {
-                compressor = BZIP2;
-            }
-            else if ("xz".equalsIgnoreCase(extension)) {
-                compressor = XZ;
-            }
-            else {
-                compressor = NONE;
-            }
-
-            return compressor.createCompressor(writeTo, fileName);
+            return forFileName(fileName).createCompressor(writeTo, fileName);
         }
 
         @Override
@@ -202,6 +181,36 @@ public InputStream createDecompressor(final InputStream readFrom, final boolean
 
     private static final int BUFFER_SIZE = 8 * 1024 * 1024;
 
+    /**
+     * Selects the compressor for a file name based on its extension.
+     *
+     * @param fileName the file name
+     * @return the compression matching the extension or {@link #NONE}
+     */
+    static FileCompression forFileName(final String fileName) {
+        final String extension = FilenameUtils.getExtension(fileName);
+        final FileCompression compressor;
+        if ("gz".equalsIgnoreCase(extension)) {
+            compressor = GZIP;
+        }
+        else if ("gzip".equalsIgnoreCase(extension)) {
+            compressor = GZIP;
+        }
+        else if ("bz2".equalsIgnoreCase(extension)) {
+            compressor = BZIP2;
+        }
+        else if ("bzip2".equalsIgnoreCase(extension)) {
+            compressor = BZIP2;
+        }
+        else if ("xz".equalsIgnoreCase(extension)) {
+            compressor = XZ;
+        }
+        else {
+            compressor = NONE;
+        }
+        return compressor;
+    }
+
     /**
      * Creates a compressor.
      *
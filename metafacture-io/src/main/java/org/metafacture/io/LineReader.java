@@ -16,6 +16,7 @@
 
 package org.metafacture.io;
 
+import org.metafacture.framework.BatchObjectReceiver;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.MetafactureException;
 import org.metafacture.framework.ObjectReceiver;
@@ -27,9 +28,14 @@
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Processes input from a reader line by line.
+ * Processes input from a reader line by line. If the receiver is a
+ * {@link BatchObjectReceiver}, the lines are passed on in batches of up to
+ * {@link #setBatchSize(int) batchSize} lines. A batch is passed on early if
+ * no more input is available without blocking.
  *
  * @author Christoph Böhme
  *
@@ -40,34 +46,73 @@
 @FluxCommand("as-lines")
 public final class LineReader extends DefaultObjectPipe<Reader, ObjectReceiver<String>> {
 
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     private static final int BUFFER_SIZE = 1024 * 1024 * 16;
 
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
     /**
      * Creates an instance of {@link LineReader}.
      */
     public LineReader() {
     }
 
+    /**
+     * Sets the maximum number of lines passed on with a single call to a
+     * {@link BatchObjectReceiver}. A batch size of 1 disables batching.
+     * <p>
+     * The default value is {@value #DEFAULT_BATCH_SIZE}.
+     *
+     * @param batchSize the maximum number of lines in a batch
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maximum number of lines in a batch.
+     *
+     * @return the maximum number of lines in a batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     @Override
     public void process(final Reader reader) {
         assert !isClosed();
         assert null != reader;
-        process(reader, getReceiver());
+        process(reader, getReceiver(), batchSize);
     }
 
     /**
      * Processes input from a reader and passes it line by line to a receiver.
+     * Lines are passed on in batches of up to {@value #DEFAULT_BATCH_SIZE}
+     * lines if the receiver is a {@link BatchObjectReceiver}.
      *
      * @param reader   the Reader
      * @param receiver the ObjectReceiver
      */
     public static void process(final Reader reader, final ObjectReceiver<String> receiver) {
+        process(reader, receiver, DEFAULT_BATCH_SIZE);
+    }
+
+    private static void process(final Reader reader, final ObjectReceiver<String> receiver, final int batchSize) {
         final BufferedReader lineReader = new BufferedReader(reader, BUFFER_SIZE);
         try {
-            String line = lineReader.readLine();
-            while (line != null) {
-                receiver.process(line);
-                line = lineReader.readLine();
+            if (batchSize > 1 && receiver instanceof BatchObjectReceiver) {
+                processBatches(lineReader, (BatchObjectReceiver<String>) receiver, batchSize);
+            }
+            else {
+                String line = lineReader.readLine();
+                while (line != null) {
+                    receiver.process(line);
+                    line = lineReader.readLine();
+                }
             }
         }
         catch (final IOException e) {
@@ -75,4 +120,22 @@ public static void process(final Reader reader, final ObjectReceiver<String> rec
         }
     }
 
+    private static void processBatches(final BufferedReader lineReader,
+            final BatchObjectReceiver<String> receiver, final int batchSize) throws IOException {
+        final List<String> batch = new ArrayList<>(batchSize);
+        String line = lineReader.readLine();
+        while (line != null) {
+            batch.add(line);
+            // Do not hold back lines while waiting for further input:
+            if (batch.size() == batchSize || !lineReader.ready()) {
+                receiver.processBatch(batch);
+                batch.clear();
+            }
+            line = lineReader.readLine();
+        }
+        if (!batch.isEmpty()) {
+            receiver.processBatch(batch);
+        }
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package org.metafacture.io;
 
+import org.metafacture.framework.BatchObjectReceiver;
+import org.metafacture.framework.Checkpointable;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.MetafactureException;
 import org.metafacture.framework.annotations.Description;
@@ -27,10 +29,18 @@
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
+ * Writes objects to one (or more) file(s). Batches of objects are written
+ * with a single write to the file.
+ * <p>
+ * Uncompressed output can be saved in a checkpoint: the data written so far
+ * is synced to disk and its length is saved. After restoring a checkpoint,
+ * the file is truncated to this length and new data is appended.
+ *
  * @param <T>
  *            object type
  *
@@ -42,14 +52,18 @@
 @In(Object.class)
 @Out(Void.class)
 @FluxCommand("write-files")
-public final class ObjectFileWriter<T> extends AbstractObjectWriter<T>  {
+public final class ObjectFileWriter<T> extends AbstractObjectWriter<T> implements BatchObjectReceiver<T>, Checkpointable {
 
     private static final String VAR = "${i}";
     private static final Pattern VAR_PATTERN = Pattern.compile(VAR, Pattern.LITERAL);
+    private static final String CHECKPOINT_SEPARATOR = ":";
 
     private String path;
     private int count;
     private Writer writer;
+    private FileOutputStream fileStream;
+    private boolean compressed;
+    private long resumeOffset = -1;
     private boolean appendIfFileExists;
     private boolean firstObject = true;
     private boolean closed;
@@ -112,6 +126,68 @@ public void process(final T obj) {
         }
     }
 
+    @Override
+    public void processBatch(final List<T> batch) {
+        assert !closed;
+        Writer batchWriter = null;
+        final StringBuilder builder = new StringBuilder();
+        for (final T obj : batch) {
+            final String objStr = obj.toString();
+            if (!objStr.isEmpty()) {
+                if (batchWriter == null) {
+                    // Opening the file resets firstObject:
+                    batchWriter = getWriter();
+                }
+                if (firstObject) {
+                    builder.append(getHeader());
+                    firstObject = false;
+                }
+                else {
+                    builder.append(getSeparator());
+                }
+                builder.append(objStr);
+            }
+        }
+        if (batchWriter != null) {
+            try {
+                batchWriter.write(builder.toString());
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        }
+    }
+
+    @Override
+    public String saveCheckpoint() {
+        long offset = -1;
+        if (writer != null && !closed) {
+            if (compressed) {
+                throw new MetafactureException("Checkpoints are not supported for compressed output");
+            }
+            try {
+                writer.flush();
+                fileStream.getFD().sync();
+                offset = fileStream.getChannel().position();
+            }
+            catch (final IOException e) {
+                throw new MetafactureException(e);
+            }
+        }
+        return count + CHECKPOINT_SEPARATOR + offset + CHECKPOINT_SEPARATOR + firstObject;
+    }
+
+    @Override
+    public void restoreCheckpoint(final String checkpoint) {
+        final String[] parts = checkpoint.split(CHECKPOINT_SEPARATOR);
+        count = Integer.parseInt(parts[0]);
+        resumeOffset = Long.parseLong(parts[1]);
+        firstObject = Boolean.parseBoolean(parts[2]);
+        if (count > 0 && !VAR_PATTERN.matcher(path).find()) {
+            path = path + VAR;
+        }
+    }
+
     @Override
     public void resetStream() {
         closeStream();
@@ -156,12 +232,20 @@ private void startNewFile() {
         final Matcher matcher = VAR_PATTERN.matcher(this.path);
         final String currentPath = matcher.replaceAll(String.valueOf(count));
         try {
-            final OutputStream file = new FileOutputStream(currentPath, appendIfFileExists);
+            final FileOutputStream file = new FileOutputStream(currentPath, appendIfFileExists || resumeOffset >= 0);
             try {
+                if (resumeOffset >= 0) {
+                    // Discard data written after the restored checkpoint:
+                    file.getChannel().truncate(resumeOffset);
+                }
                 final OutputStream compressor = compression.createCompressor(file, currentPath);
                 try {
                     writer = new OutputStreamWriter(compressor, encoding);
-                    firstObject = true;
+                    fileStream = file;
+                    compressed = (compression == FileCompression.AUTO ?
+                            FileCompression.forFileName(currentPath) : compression) != FileCompression.NONE;
+                    firstObject = resumeOffset < 0 || firstObject;
+                    resumeOffset = -1;
                     closed = false;
                 }
                 catch (final IOException e) {
@@ -16,6 +16,7 @@
 
 package org.metafacture.io;
 
+import org.metafacture.framework.Checkpointable;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.MetafactureException;
 import org.metafacture.framework.ObjectReceiver;
@@ -34,6 +35,10 @@
  * <p>The default separator is the global separator character (0x001d).
  * Empty records are skipped by default.</p>
  *
+ * <p>The number of records passed on for the current reader can be saved
+ * in a checkpoint. After restoring a checkpoint, this number of records is
+ * skipped in the next reader.</p>
+ *
  * @author Christoph Böhme
  *
  */
@@ -41,7 +46,8 @@
 @In(Reader.class)
 @Out(String.class)
 @FluxCommand("as-records")
-public final class RecordReader extends DefaultObjectPipe<Reader, ObjectReceiver<String>> {
+public final class RecordReader extends DefaultObjectPipe<Reader, ObjectReceiver<String>>
+        implements Checkpointable {
 
     public static final char DEFAULT_SEPARATOR = '\u001d';
 
@@ -52,6 +58,8 @@ public final class RecordReader extends DefaultObjectPipe<Reader, ObjectReceiver
 
     private char separator = DEFAULT_SEPARATOR;
     private boolean skipEmptyRecords = true;
+    private long completedRecords;
+    private long recordsToSkip;
 
     /**
      * Creates an instance of {@link RecordReader}.
@@ -132,16 +140,34 @@ public void process(final Reader reader) {
                 emitRecord();
             }
 
+            completedRecords = 0;
+            recordsToSkip = 0;
         }
         catch (final IOException e) {
             throw new MetafactureException(e);
         }
     }
 
+    @Override
+    public String saveCheckpoint() {
+        return Long.toString(completedRecords);
+    }
+
+    @Override
+    public void restoreCheckpoint(final String checkpoint) {
+        recordsToSkip = Long.parseLong(checkpoint);
+    }
+
     private void emitRecord() {
         final String record = builder.toString();
         if (!skipEmptyRecords || !record.isEmpty()) {
-            getReceiver().process(record);
+            if (recordsToSkip > 0) {
+                --recordsToSkip;
+            }
+            else {
+                getReceiver().process(record);
+            }
+            ++completedRecords;
             builder.delete(0, builder.length());
         }
     }
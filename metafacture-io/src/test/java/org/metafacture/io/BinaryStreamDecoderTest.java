@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.io;
+
+import org.metafacture.framework.FormatException;
+import org.metafacture.framework.StreamReceiver;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests for classes {@link BinaryStreamEncoder} and
+ * {@link BinaryStreamDecoder}.
+ */
+public final class BinaryStreamDecoderTest {
+
+    @Mock
+    private StreamReceiver receiver;
+
+    private BinaryStreamDecoder decoder;
+
+    public BinaryStreamDecoderTest() {
+    }
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        decoder = new BinaryStreamDecoder();
+        decoder.setReceiver(receiver);
+    }
+
+    @Test
+    public void shouldReadEventsWrittenByEncoder() throws IOException {
+        assertRoundTrip(BlockCompression.NONE);
+    }
+
+    @Test
+    public void shouldReadDeflateCompressedBlocks() throws IOException {
+        assertRoundTrip(BlockCompression.DEFLATE);
+    }
+
+    @Test(expected = FormatException.class)
+    public void shouldRejectOtherFiles() throws IOException {
+        decoder.decode(new ByteArrayInputStream("formeta".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void assertRoundTrip(final BlockCompression compression) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final BinaryStreamEncoder encoder = new BinaryStreamEncoder(outputStream);
+        encoder.setCompression(compression);
+        encoder.setBlockSize(1);
+
+        encoder.startRecord("1");
+        encoder.startEntity("entity");
+        encoder.literal("literal", "Überfacture");
+        encoder.endEntity();
+        encoder.literal("literal", null);
+        encoder.endRecord();
+        encoder.resetStream();
+        encoder.startRecord("2");
+        encoder.literal("entity", "value");
+        encoder.endRecord();
+        encoder.closeStream();
+
+        decoder.decode(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).startEntity("entity");
+        ordered.verify(receiver).literal("literal", "Überfacture");
+        ordered.verify(receiver).endEntity();
+        ordered.verify(receiver).literal("literal", null);
+        ordered.verify(receiver).endRecord();
+        ordered.verify(receiver).resetStream();
+        ordered.verify(receiver).startRecord("2");
+        ordered.verify(receiver).literal("entity", "value");
+        ordered.verify(receiver).endRecord();
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+}
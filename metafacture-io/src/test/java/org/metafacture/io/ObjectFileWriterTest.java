@@ -32,6 +32,7 @@
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Arrays;
 
 /**
  * Tests for class {@link ObjectFileWriter}.
@@ -107,6 +108,31 @@ public void shouldIncrementCountOnResetBeforeStartingNewFile() throws IOExceptio
         Assert.assertTrue(new File(tempFolder.getRoot(), "test-1").exists());
     }
 
+    @Test
+    public void shouldWriteBatchesLikeSingleObjects() throws IOException {
+        writer.processBatch(Arrays.asList(DATA, "", DATA));
+        writer.process(DATA);
+        writer.processBatch(Arrays.asList(DATA));
+        writer.closeStream();
+
+        assertOutput(DATA + "\n" + DATA + "\n" + DATA + "\n" + DATA + "\n");
+    }
+
+    @Test
+    public void shouldDiscardDataWrittenAfterCheckpoint() throws IOException {
+        writer.process(DATA);
+        final String checkpoint = writer.saveCheckpoint();
+        writer.process(DATA);
+        writer.closeStream();
+
+        setWriter();
+        writer.restoreCheckpoint(checkpoint);
+        writer.process(DATA);
+        writer.closeStream();
+
+        assertOutput(DATA + "\n" + DATA + "\n");
+    }
+
     @Test
     public void issue543_shouldResultEmptyWhenNothingIsProcessed() throws IOException {
         writer.process("");
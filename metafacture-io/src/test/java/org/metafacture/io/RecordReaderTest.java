@@ -226,4 +226,21 @@ public void testShouldProcessMultipleReaders() {
 
     }
 
+    @Test
+    public void testShouldSkipRecordsOfNextReaderAfterRestoringCheckpoint() {
+        recordReader.setSeparator(SEPARATOR);
+        recordReader.restoreCheckpoint("1");
+
+        recordReader.process(new StringReader(
+                RECORD1 + SEPARATOR + RECORD2));
+        recordReader.process(new StringReader(
+                RECORD1 + SEPARATOR + RECORD2));
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).process(RECORD2);
+        ordered.verify(receiver).process(RECORD1);
+        ordered.verify(receiver).process(RECORD2);
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
 }
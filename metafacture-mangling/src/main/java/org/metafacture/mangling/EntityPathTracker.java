@@ -20,6 +20,8 @@
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Tracks the <i>path</i> of the current entity. The entity path consists of the
@@ -35,6 +37,13 @@
  *
  * <p>The current path is returned from {@link #getCurrentPath()}.
  *
+ * <p>Paths are cached, so that recurring entity and literal names do not
+ * create new strings for each record. The same path is always returned as the
+ * same {@link String} instance, whose hash code is only computed once by
+ * receivers which look up the path (e.g. {@code Metamorph}). The number of
+ * cached paths is limited to {@value #MAX_CACHED_PATHS}; further paths are
+ * built anew for each request.
+ *
  * @author Christoph Böhme
  * @see StreamFlattener
  */
@@ -42,10 +51,13 @@ public class EntityPathTracker extends DefaultStreamReceiver {
 
     public static final String DEFAULT_ENTITY_SEPARATOR = ".";
 
-    private final Deque<String> entityStack = new ArrayDeque<String>();
-    private final StringBuilder currentPath = new StringBuilder();
+    public static final int MAX_CACHED_PATHS = 100000;
+
+    private final Deque<PathNode> entityStack = new ArrayDeque<PathNode>();
 
     private String entitySeparator = DEFAULT_ENTITY_SEPARATOR;
+    private PathNode root = new PathNode(null, "");
+    private int cachedPaths;
 
     /**
      * Creates an instance of {@link EntityPathTracker}.
@@ -59,7 +71,8 @@ public EntityPathTracker() {
      * @return the current entity path or an empty string if not within a record.
      */
     public String getCurrentPath() {
-        return currentPath.toString();
+        final PathNode current = entityStack.peek();
+        return current != null ? current.path : root.path;
     }
 
     /**
@@ -72,10 +85,20 @@ public String getCurrentPath() {
      * received yet in which case only the literal name is returned.
      */
     public String getCurrentPathWith(final String literalName) {
-        if (entityStack.size() == 0) {
+        final PathNode current = entityStack.peek();
+        if (current == null) {
             return literalName;
         }
-        return getCurrentPath() + entitySeparator + literalName;
+
+        String path = current.literalPaths.get(literalName);
+        if (path == null) {
+            path = current.path + entitySeparator + literalName;
+            if (cachedPaths < MAX_CACHED_PATHS) {
+                current.literalPaths.put(literalName, path);
+                ++cachedPaths;
+            }
+        }
+        return path;
     }
 
     /**
@@ -84,7 +107,8 @@ public String getCurrentPathWith(final String literalName) {
      * @return the name of the current entity or null if not in an entity.
      */
     public String getCurrentEntityName() {
-        return entityStack.peek();
+        final PathNode current = entityStack.peek();
+        return current != null ? current.name : null;
     }
 
     /**
@@ -108,6 +132,8 @@ public String getEntitySeparator() {
      */
     public void setEntitySeparator(final String entitySeparator) {
         this.entitySeparator = entitySeparator;
+        root = new PathNode(null, "");
+        cachedPaths = 0;
     }
 
     @Override
@@ -122,13 +148,22 @@ public void endRecord() {
 
     @Override
     public void startEntity(final String name) {
-        entityStack.push(name);
-        appendEntityToPath();
+        final PathNode parent = entityStack.isEmpty() ? root : entityStack.peek();
+
+        PathNode node = parent.children.get(name);
+        if (node == null) {
+            node = new PathNode(name, parent == root ? name : parent.path + entitySeparator + name);
+            if (cachedPaths < MAX_CACHED_PATHS) {
+                parent.children.put(name, node);
+                ++cachedPaths;
+            }
+        }
+
+        entityStack.push(node);
     }
 
     @Override
     public void endEntity() {
-        removeEntityFromPath();
         entityStack.pop();
     }
 
@@ -144,24 +179,20 @@ public void resetStream() {
 
     private void clearStackAndPath() {
         entityStack.clear();
-        currentPath.setLength(0);
     }
 
-    private void appendEntityToPath() {
-        if (entityStack.size() > 1) {
-            currentPath.append(entitySeparator);
-        }
-        currentPath.append(entityStack.peek());
-    }
+    private static final class PathNode {
 
-    private void removeEntityFromPath() {
-        final String entityName = entityStack.peek();
-        final int oldPathLength = currentPath.length();
-        int lastEntityLength = entityName.length();
-        if (entityStack.size() > 1) {
-            lastEntityLength += entitySeparator.length();
+        private final String name;
+        private final String path;
+        private final Map<String, PathNode> children = new HashMap<>();
+        private final Map<String, String> literalPaths = new HashMap<>();
+
+        PathNode(final String name, final String path) {
+            this.name = name;
+            this.path = path;
         }
-        currentPath.setLength(oldPathLength - lastEntityLength);
+
     }
 
 }
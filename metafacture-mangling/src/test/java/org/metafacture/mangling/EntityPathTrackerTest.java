@@ -117,6 +117,31 @@ public void getCurrentPathWithShouldReturnOnlyLiteralNameIfNotInEntity() {
         Assert.assertEquals("literal", pathTracker.getCurrentPathWith("literal"));
     }
 
+    @Test
+    public void getCurrentPathWithShouldReturnSameInstanceForRecurringPaths() {
+        pathTracker.startRecord("1");
+        pathTracker.startEntity("entity");
+        final String path = pathTracker.getCurrentPathWith("literal");
+        pathTracker.endRecord();
+
+        pathTracker.startRecord("2");
+        pathTracker.startEntity("entity");
+        Assert.assertSame(path, pathTracker.getCurrentPathWith("literal"));
+    }
+
+    @Test
+    public void setEntitySeparatorShouldNotReturnPathsWithOldSeparator() {
+        pathTracker.startRecord("1");
+        pathTracker.startEntity("entity");
+        pathTracker.getCurrentPathWith("literal");
+        pathTracker.endRecord();
+
+        pathTracker.setEntitySeparator("/");
+        pathTracker.startRecord("2");
+        pathTracker.startEntity("entity");
+        Assert.assertEquals("entity/literal", pathTracker.getCurrentPathWith("literal"));
+    }
+
     @Test
     public void getCurrentEntityNameShouldReturnNullIfProcessingNotStarted() {
         Assert.assertNull(pathTracker.getCurrentEntityName());
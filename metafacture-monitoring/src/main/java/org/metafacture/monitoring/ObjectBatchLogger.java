@@ -55,7 +55,7 @@
     private static final Logger LOG = LoggerFactory.getLogger(ObjectBatchLogger.class);
 
     private final Map<String, String> vars = new HashMap<String, String>();
-    private final String format;
+    private final StringUtil.Template format;
 
     private long batchSize = DEFAULT_BATCH_SIZE;
     private long recordCount;
@@ -66,7 +66,7 @@
      * {@value #DEFAULT_FORMAT}.
      */
     public ObjectBatchLogger() {
-        this.format = DEFAULT_FORMAT;
+        this.format = StringUtil.compile(DEFAULT_FORMAT);
     }
 
     /**
@@ -75,7 +75,7 @@ public ObjectBatchLogger() {
      * @param format the format
      */
     public ObjectBatchLogger(final String format) {
-        this.format = format;
+        this.format = StringUtil.compile(format);
     }
 
     /**
@@ -85,7 +85,7 @@ public ObjectBatchLogger(final String format) {
      * @param vars   a map of variables
      */
     ObjectBatchLogger(final String format, final Map<String, String> vars) {
-        this.format = format;
+        this.format = StringUtil.compile(format);
         this.vars.putAll(vars);
     }
 
@@ -103,7 +103,7 @@ private void writeLog() {
         vars.put(BATCH_COUNT_VAR, Long.toString(batchCount));
         vars.put(BATCH_SIZE_VAR, Long.toString(batchSize));
         vars.put(TOTAL_RECORD_COUNT_VAR, Long.toString((batchSize * batchCount) + recordCount));
-        LOG.info(StringUtil.format(format, vars));
+        LOG.info(format.format(vars));
     }
 
     @Override
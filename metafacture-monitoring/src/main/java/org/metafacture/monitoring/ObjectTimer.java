@@ -33,7 +33,7 @@
  */
 @In(Object.class)
 @Out(Object.class)
-@Description("Benchmarks the execution time of the downstream modules.")
+@Description("Benchmarks the execution time of the downstream modules. Set `sampleRate` to n to measure only every n-th execution.")
 @FluxCommand("log-time")
 public final class ObjectTimer<T> extends TimerBase<ObjectReceiver<T>>
         implements ObjectPipe<T, ObjectReceiver<T>> {
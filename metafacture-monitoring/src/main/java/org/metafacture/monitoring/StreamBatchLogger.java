@@ -54,7 +54,7 @@ public final class StreamBatchLogger extends ForwardingStreamPipe {
             LoggerFactory.getLogger(StreamBatchLogger.class);
 
     private final Map<String, String> vars = new HashMap<>();
-    private final String format;
+    private final StringUtil.Template format;
 
     private long batchSize = DEFAULT_BATCH_SIZE;
     private long recordCount;
@@ -65,7 +65,7 @@ public final class StreamBatchLogger extends ForwardingStreamPipe {
      * default format: {@value #DEFAULT_FORMAT}
      */
     public StreamBatchLogger() {
-        this.format = DEFAULT_FORMAT;
+        this.format = StringUtil.compile(DEFAULT_FORMAT);
     }
 
     /**
@@ -74,7 +74,7 @@ public StreamBatchLogger() {
      * @param format the format
      */
     public StreamBatchLogger(final String format) {
-        this.format = format;
+        this.format = StringUtil.compile(format);
     }
 
     /**
@@ -84,7 +84,7 @@ public StreamBatchLogger(final String format) {
      * @param vars   a map of variables
      */
     public StreamBatchLogger(final String format, final Map<String, String> vars) {
-        this.format = format;
+        this.format = StringUtil.compile(format);
         this.vars.putAll(vars);
     }
 
@@ -152,7 +152,7 @@ private void writeLog() {
         vars.put(BATCH_SIZE_VAR, Long.toString(batchSize));
         vars.put(TOTAL_RECORD_COUNT_VAR,
                 Long.toString(batchSize * batchCount + recordCount));
-        LOG.info(StringUtil.format(format, vars));
+        LOG.info(format.format(vars));
     }
 
 }
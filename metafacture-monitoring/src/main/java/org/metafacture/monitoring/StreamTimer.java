@@ -30,7 +30,7 @@
  */
 @In(StreamReceiver.class)
 @Out(StreamReceiver.class)
-@Description("Benchmarks the execution time of the downstream modules.")
+@Description("Benchmarks the execution time of the downstream modules. Set `sampleRate` to n to measure only every n-th execution.")
 @FluxCommand("log-stream-time")
 public final class StreamTimer extends TimerBase<StreamReceiver> implements
         StreamPipe<StreamReceiver> {
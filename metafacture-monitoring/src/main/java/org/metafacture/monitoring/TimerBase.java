@@ -16,6 +16,7 @@
 
 package org.metafacture.monitoring;
 
+import org.metafacture.commons.LatencyHistogram;
 import org.metafacture.commons.TimeUtil;
 import org.metafacture.framework.Receiver;
 import org.metafacture.framework.Sender;
@@ -23,7 +24,15 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
+ * Base class of timers which benchmark the execution time of the downstream
+ * modules. By default, every execution is measured and logged. If a sample
+ * rate of N is set, only every N-th execution is measured and no execution
+ * is logged individually. The measurements are aggregated in counters and a
+ * histogram which can be read while the stream is processed.
+ *
  * @author Christoph Böhme
  *
  * @param <R>
@@ -33,10 +42,19 @@
 
     private static final Logger LOG = LoggerFactory.getLogger(TimerBase.class);
 
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+
     private final String logPrefix;
 
-    private long count;
-    private long cumulativeDuration;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder sampledExecutions = new LongAdder();
+    private final LongAdder sampledDuration = new LongAdder();
+    private final LatencyHistogram durations = new LatencyHistogram();
+
+    private int sampleRate = 1;
+    private int executionsSinceSample;
+    private boolean sampling;
     private long startTime;
 
     private R receiver;
@@ -45,6 +63,75 @@ protected TimerBase(final String logPrefix) {
         this.logPrefix = logPrefix;
     }
 
+    /**
+     * Sets the sample rate. If set to N, only every N-th execution is
+     * measured and executions are not logged individually. The default
+     * value is 1, i.e. every execution is measured and logged.
+     *
+     * @param sampleRate the sample rate
+     */
+    public final void setSampleRate(final int sampleRate) {
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    /**
+     * Gets the sample rate.
+     *
+     * @return the sample rate
+     */
+    public final int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Gets the number of executions.
+     *
+     * @return the number of executions
+     */
+    public final long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Gets the number of measured executions.
+     *
+     * @return the number of measured executions
+     */
+    public final long getSampledExecutions() {
+        return sampledExecutions.sum();
+    }
+
+    /**
+     * Gets the average duration of the measured executions.
+     *
+     * @return the average duration in nanoseconds
+     */
+    public final long getAverageDuration() {
+        final long count = sampledExecutions.sum();
+        return count > 0 ? sampledDuration.sum() / count : 0;
+    }
+
+    /**
+     * Gets the cumulative duration of all executions. If executions are
+     * sampled, the cumulative duration is estimated from the average
+     * duration of the measured executions.
+     *
+     * @return the cumulative duration in nanoseconds
+     */
+    public final long getCumulativeDuration() {
+        return sampleRate == 1 ? sampledDuration.sum() : getAverageDuration() * executions.sum();
+    }
+
+    /**
+     * Gets a percentile of the durations of the measured executions.
+     *
+     * @param percentile the fraction between 0 and 1
+     * @return the percentile in nanoseconds (accurate to 12.5%)
+     */
+    public final long getDurationPercentile(final double percentile) {
+        return durations.getPercentile(percentile);
+    }
+
     @Override
     public final <S extends R> S setReceiver(final S newReceiver) {
         receiver = newReceiver;
@@ -62,8 +149,11 @@ public final R getReceiver() {
 
     @Override
     public final void resetStream() {
-        count = 0;
-        cumulativeDuration = 0;
+        executions.reset();
+        sampledExecutions.reset();
+        sampledDuration.reset();
+        durations.reset();
+        executionsSinceSample = 0;
         if (receiver != null) {
             receiver.resetStream();
         }
@@ -71,24 +161,33 @@ public final void resetStream() {
 
     @Override
     public final void closeStream() {
-        final long averageDuration;
-        if (count > 0) {
-            averageDuration = cumulativeDuration / count;
+        if (sampleRate == 1) {
+            LOG.info(logPrefix + String.format("Executions: %d; Cumulative duration: %s; Average duration: %s", Long.valueOf(getExecutions()),
+                        TimeUtil.formatDuration(getCumulativeDuration()), TimeUtil.formatDuration(getAverageDuration())));
         }
         else {
-            averageDuration = 0;
+            LOG.info(logPrefix + String.format("Executions: %d; Sampled: %d; Estimated cumulative duration: %s; Average duration: %s; " +
+                        "Median: %s; 99th percentile: %s", Long.valueOf(getExecutions()), Long.valueOf(getSampledExecutions()),
+                        TimeUtil.formatDuration(getCumulativeDuration()), TimeUtil.formatDuration(getAverageDuration()),
+                        TimeUtil.formatDuration(getDurationPercentile(P50)), TimeUtil.formatDuration(getDurationPercentile(P99))));
         }
-        LOG.info(logPrefix + String.format("Executions: %d; Cumulative duration: %s; Average duration: %s", Long.valueOf(count),
-                    TimeUtil.formatDuration(cumulativeDuration), TimeUtil.formatDuration(averageDuration)));
-        startMeasurement();
+
+        final long closeStartTime = System.nanoTime();
         if (receiver != null) {
             receiver.closeStream();
         }
-        stopMeasurement("Time to close stream: ");
+        LOG.info(logPrefix + "Time to close stream: " + TimeUtil.formatDuration(System.nanoTime() - closeStartTime));
     }
 
     protected final void startMeasurement() {
-        startTime = System.nanoTime();
+        executions.increment();
+
+        ++executionsSinceSample;
+        sampling = executionsSinceSample >= sampleRate;
+        if (sampling) {
+            executionsSinceSample = 0;
+            startTime = System.nanoTime();
+        }
     }
 
     protected final void stopMeasurement() {
@@ -96,12 +195,17 @@ protected final void stopMeasurement() {
     }
 
     protected final void stopMeasurement(final String prefix) {
-        final long duration = System.nanoTime() - startTime;
+        if (sampling) {
+            final long duration = System.nanoTime() - startTime;
 
-        count += 1;
-        cumulativeDuration += duration;
+            sampledExecutions.increment();
+            sampledDuration.add(duration);
+            durations.record(duration);
 
-        LOG.info(logPrefix + String.format(prefix + " %2$s", Long.valueOf(count), TimeUtil.formatDuration(duration)));
+            if (sampleRate == 1 && LOG.isInfoEnabled()) {
+                LOG.info(logPrefix + String.format(prefix + " %2$s", Long.valueOf(getExecutions()), TimeUtil.formatDuration(duration)));
+            }
+        }
     }
 
 }
@@ -18,6 +18,7 @@
 
 import org.metafacture.framework.helpers.DefaultObjectReceiver;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -52,6 +53,22 @@ public void testShouldMeasureExecutionTime() {
         objectTimer.closeStream();
     }
 
+    @Test
+    public void testShouldSampleExecutions() {
+        final ObjectTimer<String> sampledTimer = new ObjectTimer<String>();
+        sampledTimer.setReceiver(new DefaultObjectReceiver<String>());
+        sampledTimer.setSampleRate(3);
+
+        for (int i = 0; i < 10; ++i) {
+            sampledTimer.process("");
+        }
+
+        Assert.assertEquals(10, sampledTimer.getExecutions());
+        Assert.assertEquals(3, sampledTimer.getSampledExecutions());
+
+        sampledTimer.closeStream();
+    }
+
     @Test
     public void testShouldHandleImmediateCloseStreamWithNoProcessing() {
 
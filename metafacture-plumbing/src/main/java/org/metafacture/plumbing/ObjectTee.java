@@ -16,6 +16,7 @@
 
 package org.metafacture.plumbing;
 
+import org.metafacture.framework.Asynchronous;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.ObjectPipe;
 import org.metafacture.framework.ObjectReceiver;
@@ -26,17 +27,29 @@
 
 /**
  * Sends an object to more than one receiver.
+ * <p>
+ * In parallel mode each receiver runs on its own thread with a bounded queue
+ * of objects. The sender blocks while the queue of a receiver is full.
+ * Closing or resetting the stream waits until all receivers have processed
+ * their queues.
  *
  * @param <T> Object type
  *
  * @author Christoph Böhme
  *
  */
-@Description("Sends an object to more than one receiver.")
+@Description("Sends an object to more than one receiver. " +
+        "Set `parallel` to run each receiver on its own thread and `queueSize` to the number of objects queued per receiver.")
 @In(Object.class)
 @Out(Object.class)
 @FluxCommand("object-tee")
-public final class ObjectTee<T> extends DefaultTee<ObjectReceiver<T>> implements ObjectPipe<T, ObjectReceiver<T>> {
+public final class ObjectTee<T> extends DefaultTee<ObjectReceiver<T>>
+        implements ObjectPipe<T, ObjectReceiver<T>>, Asynchronous {
+
+    private boolean parallel;
+    private int queueSize = ParallelBranches.DEFAULT_QUEUE_SIZE;
+
+    private ParallelBranches<ObjectReceiver<T>> branches;
 
     /**
      * Creates an instance of {@link ObjectTee}.
@@ -44,11 +57,73 @@
     public ObjectTee() {
     }
 
+    /**
+     * Flags whether each receiver runs on its own thread.
+     *
+     * @param parallel true if the receivers should run in parallel
+     */
+    public void setParallel(final boolean parallel) {
+        checkNotRunning();
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the number of objects queued per receiver in parallel mode.
+     *
+     * @param queueSize the queue size
+     */
+    public void setQueueSize(final int queueSize) {
+        checkNotRunning();
+        this.queueSize = Math.max(queueSize, 1);
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return parallel;
+    }
+
     @Override
     public void process(final T obj) {
+        if (parallel) {
+            if (branches == null) {
+                branches = new ParallelBranches<>("object-tee", getReceivers(), queueSize);
+            }
+            branches.send(receiver -> receiver.process(obj));
+            return;
+        }
+
         for (final ObjectReceiver<T> receiver : getReceivers()) {
             receiver.process(obj);
         }
     }
 
+    @Override
+    protected void onChangeReceivers() {
+        checkNotRunning();
+    }
+
+    @Override
+    protected void onResetStream() {
+        stopBranches();
+    }
+
+    @Override
+    protected void onCloseStream() {
+        stopBranches();
+    }
+
+    private void stopBranches() {
+        if (branches != null) {
+            final ParallelBranches<ObjectReceiver<T>> stoppedBranches = branches;
+            branches = null;
+            stoppedBranches.stop();
+        }
+    }
+
+    private void checkNotRunning() {
+        if (branches != null) {
+            throw new IllegalStateException("Tee cannot be changed while receivers are running.");
+        }
+    }
+
 }
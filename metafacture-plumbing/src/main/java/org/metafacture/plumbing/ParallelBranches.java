@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.plumbing;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.Receiver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Runs the branches of a tee on their own threads. Each branch has a bounded
+ * queue of batches of events. Sending a batch blocks while the queue of a
+ * branch is full.
+ *
+ * @param <T> receiver type
+ */
+final class ParallelBranches<T extends Receiver> {
+
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    private final List<Branch<T>> branches = new ArrayList<>();
+
+    /**
+     * Starts a thread for each receiver.
+     *
+     * @param name      the name of the tee used to name the threads
+     * @param receivers the receivers of the branches
+     * @param queueSize the maximum number of batches queued per branch
+     */
+    ParallelBranches(final String name, final List<T> receivers, final int queueSize) {
+        for (final T receiver : receivers) {
+            final Branch<T> branch = new Branch<>(receiver, queueSize);
+            final Thread thread = new Thread(branch, name + "-branch-" + (branches.size() + 1));
+            // Do not keep the JVM alive if the stream is not closed after an error:
+            thread.setDaemon(true);
+            branch.thread = thread;
+            branches.add(branch);
+            thread.start();
+        }
+    }
+
+    /**
+     * Sends a batch of events to all branches.
+     *
+     * @param batch the batch. It is passed to all branches and must not be
+     *              modified afterwards.
+     */
+    void send(final Consumer<T> batch) {
+        for (final Branch<T> branch : branches) {
+            branch.put(batch);
+        }
+    }
+
+    /**
+     * Waits until all branches have processed their queued batches and stops
+     * the threads.
+     */
+    void stop() {
+        for (final Branch<T> branch : branches) {
+            branch.enqueue(branch.stop);
+        }
+
+        try {
+            for (final Branch<T> branch : branches) {
+                branch.thread.join();
+            }
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+
+        for (final Branch<T> branch : branches) {
+            branch.checkFailure();
+        }
+    }
+
+    /**
+     * A branch of the tee.
+     *
+     * @param <T> receiver type
+     */
+    private static final class Branch<T> implements Runnable {
+
+        private final Consumer<T> stop = r -> { };
+
+        private final T receiver;
+        private final BlockingQueue<Consumer<T>> queue;
+
+        private volatile RuntimeException failure;
+        private Thread thread;
+
+        Branch(final T receiver, final int queueSize) {
+            this.receiver = receiver;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Consumer<T> batch = queue.take();
+                while (batch != stop) {
+                    // After a failure, batches are discarded so that the sender does not block:
+                    if (failure == null) {
+                        process(batch);
+                    }
+                    batch = queue.take();
+                }
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void process(final Consumer<T> batch) {
+            try {
+                batch.accept(receiver);
+            }
+            catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
+                failure = e;
+            }
+        }
+
+        void put(final Consumer<T> batch) {
+            checkFailure();
+            enqueue(batch);
+        }
+
+        void enqueue(final Consumer<T> batch) {
+            try {
+                queue.put(batch);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MetafactureException(e);
+            }
+        }
+
+        void checkFailure() {
+            if (failure != null) {
+                throw new MetafactureException("Branch of tee failed: " + failure.getMessage(), failure);
+            }
+        }
+
+    }
+
+}
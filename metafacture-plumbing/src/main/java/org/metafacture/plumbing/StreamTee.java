@@ -16,6 +16,7 @@
 
 package org.metafacture.plumbing;
 
+import org.metafacture.framework.Asynchronous;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.StreamPipe;
 import org.metafacture.framework.StreamReceiver;
@@ -24,17 +25,33 @@
 import org.metafacture.framework.annotations.Out;
 import org.metafacture.framework.helpers.DefaultTee;
 
+import java.util.Arrays;
+import java.util.function.Consumer;
+
 /**
  * Replicates an event stream to an arbitrary number of {@link StreamReceiver}s.
+ * <p>
+ * In parallel mode each receiver runs on its own thread. The events of a
+ * record are collected in a batch which is queued for all receivers at the
+ * end of the record. The sender blocks while the queue of a receiver is
+ * full. Closing or resetting the stream waits until all receivers have
+ * processed their queues.
  *
  * @author Christoph Böhme, Markus Michael Geipel
  *
  */
-@Description("Replicates an event stream to an arbitrary number of stream receivers.")
+@Description("Replicates an event stream to an arbitrary number of stream receivers. " +
+        "Set `parallel` to run each receiver on its own thread and `queueSize` to the number of records queued per receiver.")
 @In(StreamReceiver.class)
 @Out(StreamReceiver.class)
 @FluxCommand("stream-tee")
-public final class StreamTee extends DefaultTee<StreamReceiver> implements StreamPipe<StreamReceiver> {
+public final class StreamTee extends DefaultTee<StreamReceiver> implements StreamPipe<StreamReceiver>, Asynchronous {
+
+    private boolean parallel;
+    private int queueSize = ParallelBranches.DEFAULT_QUEUE_SIZE;
+
+    private ParallelBranches<StreamReceiver> branches;
+    private RecordBatch batch;
 
     /**
      * Creates an instance of {@link StreamTee}.
@@ -42,8 +59,38 @@ public final class StreamTee extends DefaultTee<StreamReceiver> implements Strea
     public StreamTee() {
     }
 
+    /**
+     * Flags whether each receiver runs on its own thread.
+     *
+     * @param parallel true if the receivers should run in parallel
+     */
+    public void setParallel(final boolean parallel) {
+        checkNotRunning();
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the number of records queued per receiver in parallel mode.
+     *
+     * @param queueSize the queue size
+     */
+    public void setQueueSize(final int queueSize) {
+        checkNotRunning();
+        this.queueSize = Math.max(queueSize, 1);
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return parallel;
+    }
+
     @Override
     public void startRecord(final String identifier) {
+        if (parallel) {
+            getBatch().add(RecordBatch.START_RECORD, identifier, null);
+            return;
+        }
+
         for (final StreamReceiver receiver : getReceivers()) {
             receiver.startRecord(identifier);
         }
@@ -51,6 +98,12 @@ public void startRecord(final String identifier) {
 
     @Override
     public void endRecord() {
+        if (parallel) {
+            getBatch().add(RecordBatch.END_RECORD, null, null);
+            sendBatch();
+            return;
+        }
+
         for (final StreamReceiver receiver : getReceivers()) {
             receiver.endRecord();
         }
@@ -58,6 +111,11 @@ public void endRecord() {
 
     @Override
     public void startEntity(final String name) {
+        if (parallel) {
+            getBatch().add(RecordBatch.START_ENTITY, name, null);
+            return;
+        }
+
         for (final StreamReceiver receiver : getReceivers()) {
             receiver.startEntity(name);
         }
@@ -65,6 +123,11 @@ public void startEntity(final String name) {
 
     @Override
     public void endEntity() {
+        if (parallel) {
+            getBatch().add(RecordBatch.END_ENTITY, null, null);
+            return;
+        }
+
         for (final StreamReceiver receiver : getReceivers()) {
             receiver.endEntity();
         }
@@ -72,9 +135,122 @@ public void endEntity() {
 
     @Override
     public void literal(final String name, final String value) {
+        if (parallel) {
+            getBatch().add(RecordBatch.LITERAL, name, value);
+            return;
+        }
+
         for (final StreamReceiver receiver : getReceivers()) {
             receiver.literal(name, value);
         }
     }
 
+    @Override
+    protected void onChangeReceivers() {
+        checkNotRunning();
+    }
+
+    @Override
+    protected void onResetStream() {
+        stopBranches();
+    }
+
+    @Override
+    protected void onCloseStream() {
+        stopBranches();
+    }
+
+    private RecordBatch getBatch() {
+        if (batch == null) {
+            batch = new RecordBatch();
+        }
+        return batch;
+    }
+
+    private void sendBatch() {
+        if (branches == null) {
+            branches = new ParallelBranches<>("stream-tee", getReceivers(), queueSize);
+        }
+
+        branches.send(batch);
+        batch = null;
+    }
+
+    private void stopBranches() {
+        if (batch != null) {
+            sendBatch();
+        }
+
+        if (branches != null) {
+            final ParallelBranches<StreamReceiver> stoppedBranches = branches;
+            branches = null;
+            stoppedBranches.stop();
+        }
+    }
+
+    private void checkNotRunning() {
+        if (branches != null) {
+            throw new IllegalStateException("Tee cannot be changed while receivers are running.");
+        }
+    }
+
+    /**
+     * The events of a record in a compact form.
+     */
+    private static final class RecordBatch implements Consumer<StreamReceiver> {
+
+        static final byte START_RECORD = 0;
+        static final byte END_RECORD = 1;
+        static final byte START_ENTITY = 2;
+        static final byte END_ENTITY = 3;
+        static final byte LITERAL = 4;
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private byte[] types = new byte[INITIAL_CAPACITY];
+        private String[] names = new String[INITIAL_CAPACITY];
+        private String[] values = new String[INITIAL_CAPACITY];
+        private int size;
+
+        RecordBatch() {
+        }
+
+        void add(final byte type, final String name, final String value) {
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            types[size] = type;
+            names[size] = name;
+            values[size] = value;
+            ++size;
+        }
+
+        @Override
+        public void accept(final StreamReceiver receiver) {
+            for (int i = 0; i < size; ++i) {
+                switch (types[i]) {
+                    case START_RECORD:
+                        receiver.startRecord(names[i]);
+                        break;
+                    case END_RECORD:
+                        receiver.endRecord();
+                        break;
+                    case START_ENTITY:
+                        receiver.startEntity(names[i]);
+                        break;
+                    case END_ENTITY:
+                        receiver.endEntity();
+                        break;
+                    default:
+                        receiver.literal(names[i], values[i]);
+                        break;
+                }
+            }
+        }
+
+    }
+
 }
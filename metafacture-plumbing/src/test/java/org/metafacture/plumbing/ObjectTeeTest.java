@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.plumbing;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+
+/**
+ * Tests for class {@link ObjectTee}.
+ */
+public final class ObjectTeeTest {
+
+    @Mock
+    private ObjectReceiver<String> receiver1;
+
+    @Mock
+    private ObjectReceiver<String> receiver2;
+
+    private ObjectTee<String> objectTee;
+
+    public ObjectTeeTest() {
+    }
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        objectTee = new ObjectTee<>();
+        objectTee
+                .addReceiver(receiver1)
+                .addReceiver(receiver2);
+    }
+
+    @Test
+    public void shouldForwardAllObjectsToAllDownStreamReceivers() {
+        objectTee.process("a");
+        objectTee.process("b");
+        objectTee.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver1, receiver2);
+        ordered.verify(receiver1).process("a");
+        ordered.verify(receiver2).process("a");
+        ordered.verify(receiver1).process("b");
+        ordered.verify(receiver2).process("b");
+        ordered.verify(receiver1).closeStream();
+        ordered.verify(receiver2).closeStream();
+    }
+
+    @Test
+    public void shouldForwardAllObjectsToAllDownStreamReceiversInParallelMode() {
+        objectTee.setParallel(true);
+
+        objectTee.process("a");
+        objectTee.process("b");
+        objectTee.resetStream();
+        objectTee.process("c");
+        objectTee.closeStream();
+
+        for (final ObjectReceiver<String> receiver : Arrays.asList(receiver1, receiver2)) {
+            final InOrder ordered = Mockito.inOrder(receiver);
+            ordered.verify(receiver).process("a");
+            ordered.verify(receiver).process("b");
+            ordered.verify(receiver).resetStream();
+            ordered.verify(receiver).process("c");
+            ordered.verify(receiver).closeStream();
+            ordered.verifyNoMoreInteractions();
+        }
+    }
+
+    @Test
+    public void shouldRethrowFailureOfBranchOnCloseStreamInParallelMode() {
+        Mockito.doThrow(new MetafactureException("failed")).when(receiver1).process("a");
+        objectTee.setParallel(true);
+
+        objectTee.process("a");
+
+        try {
+            objectTee.closeStream();
+            Assert.fail("Exception expected");
+        }
+        catch (final MetafactureException e) {
+            Assert.assertEquals("Branch of tee failed: failed", e.getMessage());
+        }
+
+        Mockito.verify(receiver2).process("a");
+    }
+
+    @Test(timeout = 10000)
+    public void shouldRethrowFailureOfBranchToSenderInParallelMode() {
+        Mockito.doThrow(new MetafactureException("failed")).when(receiver1).process("a");
+        objectTee.setParallel(true);
+        objectTee.setQueueSize(1);
+
+        objectTee.process("a");
+
+        // The failure is reported with one of the next objects:
+        try {
+            while (true) {
+                objectTee.process("b");
+            }
+        }
+        catch (final MetafactureException e) {
+            Assert.assertEquals("Branch of tee failed: failed", e.getMessage());
+        }
+    }
+
+}
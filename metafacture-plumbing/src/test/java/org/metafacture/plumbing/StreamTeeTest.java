@@ -16,8 +16,10 @@
 
 package org.metafacture.plumbing;
 
+import org.metafacture.framework.MetafactureException;
 import org.metafacture.framework.StreamReceiver;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -81,4 +83,73 @@ public void shouldForwardAllEventsToAllDownStreamReceivers() {
         ordered.verify(receiver2).closeStream();
     }
 
+    @Test
+    public void shouldForwardAllEventsToAllDownStreamReceiversInParallelMode() {
+        streamTee.setParallel(true);
+
+        streamTee.startRecord("1");
+        streamTee.literal("literal", "value");
+        streamTee.startEntity("entity");
+        streamTee.endEntity();
+        streamTee.endRecord();
+        streamTee.startRecord("2");
+        streamTee.endRecord();
+        streamTee.closeStream();
+
+        for (final StreamReceiver receiver : new StreamReceiver[]{receiver1, receiver2}) {
+            final InOrder ordered = Mockito.inOrder(receiver);
+            ordered.verify(receiver).startRecord("1");
+            ordered.verify(receiver).literal("literal", "value");
+            ordered.verify(receiver).startEntity("entity");
+            ordered.verify(receiver).endEntity();
+            ordered.verify(receiver).endRecord();
+            ordered.verify(receiver).startRecord("2");
+            ordered.verify(receiver).endRecord();
+            ordered.verify(receiver).closeStream();
+            ordered.verifyNoMoreInteractions();
+        }
+    }
+
+    @Test
+    public void shouldRethrowFailureOfBranchOnCloseStreamInParallelMode() {
+        Mockito.doThrow(new MetafactureException("failed")).when(receiver1).literal("literal", "value");
+        streamTee.setParallel(true);
+
+        streamTee.startRecord("1");
+        streamTee.literal("literal", "value");
+        streamTee.endRecord();
+
+        try {
+            streamTee.closeStream();
+            Assert.fail("Exception expected");
+        }
+        catch (final MetafactureException e) {
+            Assert.assertEquals("Branch of tee failed: failed", e.getMessage());
+        }
+
+        Mockito.verify(receiver2).literal("literal", "value");
+        Mockito.verify(receiver2).endRecord();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldRethrowFailureOfBranchToSenderInParallelMode() {
+        Mockito.doThrow(new MetafactureException("failed")).when(receiver1).startRecord("1");
+        streamTee.setParallel(true);
+        streamTee.setQueueSize(1);
+
+        streamTee.startRecord("1");
+        streamTee.endRecord();
+
+        // The failure is reported with one of the next records:
+        try {
+            while (true) {
+                streamTee.startRecord("2");
+                streamTee.endRecord();
+            }
+        }
+        catch (final MetafactureException e) {
+            Assert.assertEquals("Branch of tee failed: failed", e.getMessage());
+        }
+    }
+
 }
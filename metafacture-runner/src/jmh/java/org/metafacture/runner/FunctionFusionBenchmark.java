@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.runner;
+
+import org.metafacture.biblio.marc21.Marc21Decoder;
+import org.metafacture.commons.ResourceUtil;
+import org.metafacture.framework.helpers.DefaultObjectReceiver;
+import org.metafacture.json.JsonEncoder;
+import org.metafacture.metamorph.Metamorph;
+import org.metafacture.metamorph.MorphBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the throughput of the MARC 21 example morphs with and without
+ * fusing chains of simple stateless functions (see
+ * {@link MorphBuilder#FUSE_FUNCTIONS_PROPERTY}). The records are decoded,
+ * morphed and encoded as JSON, just like {@code decode-marc21|morph|encode-json}
+ * does in a flux.
+ */
+@Fork(3) // checkstyle-disable-line MagicNumber
+@Warmup(iterations = 5, time = 2) // checkstyle-disable-line MagicNumber
+@Measurement(iterations = 5, time = 2) // checkstyle-disable-line MagicNumber
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class FunctionFusionBenchmark {
+
+    private static final String RECORDS = "transform/marc21/10.marc21";
+    private static final String EDM_DIR = "marc21-to-edm/";
+
+    @Param({"transform/marc21/marc21.xml", EDM_DIR + "MARC21-EDM.xml"})
+    private String morph;
+
+    @Param({"false", "true"})
+    private String fuseFunctions;
+
+    private List<String> records;
+    private Marc21Decoder decoder;
+    private long length;
+
+    /**
+     * Creates an instance of {@link FunctionFusionBenchmark}.
+     */
+    public FunctionFusionBenchmark() {
+    }
+
+    /**
+     * Loads the records and builds the pipeline.
+     *
+     * @throws IOException if the records cannot be read
+     */
+    @Setup
+    public void setup() throws IOException {
+        try (BufferedReader reader = new BufferedReader(ResourceUtil.getReader(RECORDS, StandardCharsets.UTF_8.name()))) {
+            records = reader.lines().collect(Collectors.toList());
+        }
+
+        final Map<String, String> vars = new HashMap<>();
+        vars.put("FLUX_DIR", EDM_DIR);
+        vars.put("sector", "sec_002");
+        vars.put("media_type", "mediatype_003");
+
+        System.setProperty(MorphBuilder.FUSE_FUNCTIONS_PROPERTY, fuseFunctions);
+        final Metamorph metamorph;
+        try {
+            metamorph = new Metamorph(morph, vars);
+        }
+        finally {
+            System.clearProperty(MorphBuilder.FUSE_FUNCTIONS_PROPERTY);
+        }
+
+        decoder = new Marc21Decoder();
+        decoder
+                .setReceiver(metamorph)
+                .setReceiver(new JsonEncoder())
+                .setReceiver(new DefaultObjectReceiver<String>() {
+                    @Override
+                    public void process(final String json) {
+                        length += json.length();
+                    }
+                });
+    }
+
+    /**
+     * Converts the records to JSON.
+     *
+     * @return the accumulated length of the JSON output
+     */
+    @Benchmark
+    public long marcToJson() {
+        records.forEach(decoder::process);
+        return length;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.runner;
+
+import org.metafacture.flux.FluxCompiler;
+
+import org.antlr.runtime.RecognitionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time it takes to run a tiny flux in a fresh JVM. Each fork
+ * runs the flux exactly once, so the measurement includes loading the Flux
+ * commands and the classes of the elements used.
+ */
+@Fork(20) // checkstyle-disable-line MagicNumber
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final String FLUX = "\"1{ a: b }\"|decode-formeta|encode-formeta|object-tee;";
+
+    /**
+     * Creates an instance of {@link StartupBenchmark}.
+     */
+    public StartupBenchmark() {
+    }
+
+    /**
+     * Compiles and runs the flux.
+     *
+     * @throws IOException          if an I/O error occurs
+     * @throws RecognitionException if the flux is invalid
+     */
+    @Benchmark
+    public void compileAndRun() throws IOException, RecognitionException {
+        FluxCompiler.compile(new ByteArrayInputStream(FLUX.getBytes(StandardCharsets.UTF_8)),
+                Collections.emptyMap()).start();
+    }
+
+}
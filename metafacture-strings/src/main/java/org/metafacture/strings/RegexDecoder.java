@@ -16,6 +16,7 @@
 
 package org.metafacture.strings;
 
+import org.metafacture.commons.RegexUtil;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.StreamReceiver;
 import org.metafacture.framework.annotations.Description;
@@ -99,7 +100,7 @@ public final class RegexDecoder extends DefaultObjectPipe<String, StreamReceiver
      * @param regex the regex
      */
     public RegexDecoder(final String regex) {
-        matcher = Pattern.compile(regex).matcher("");
+        matcher = RegexUtil.compile(regex).matcher("");
         captureGroupNames = collectCaptureGroupNames(regex);
         hasRecordIdCaptureGroup = captureGroupNames.contains(ID_CAPTURE_GROUP);
     }
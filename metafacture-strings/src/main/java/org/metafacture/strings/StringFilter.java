@@ -16,6 +16,7 @@
 
 package org.metafacture.strings;
 
+import org.metafacture.commons.RegexUtil;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.ObjectReceiver;
 import org.metafacture.framework.annotations.Description;
@@ -24,7 +25,6 @@
 import org.metafacture.framework.helpers.DefaultObjectPipe;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Only forwards records which match (or do not match) a regular expression
@@ -41,6 +41,7 @@ public final class StringFilter extends
         DefaultObjectPipe<String, ObjectReceiver<String>> {
 
     private final Matcher matcher;
+    private final String literal;
     private boolean passMatches = true;
 
     /**
@@ -49,7 +50,8 @@ public final class StringFilter extends
      * @param pattern the pattern
      */
     public StringFilter(final String pattern) {
-        this.matcher = Pattern.compile(pattern).matcher("");
+        this.matcher = RegexUtil.compile(pattern).matcher("");
+        this.literal = RegexUtil.getLiteral(pattern);
     }
 
     /**
@@ -83,10 +85,18 @@ public void setPassMatches(final boolean passMatches) {
     public void process(final String obj) {
         assert !isClosed();
         assert null != obj;
-        matcher.reset(obj);
-        if (matcher.find() == passMatches) {
+        if (matches(obj) == passMatches) {
             getReceiver().process(obj);
         }
     }
 
+    private boolean matches(final String obj) {
+        if (literal != null) {
+            return obj.contains(literal);
+        }
+
+        matcher.reset(obj);
+        return matcher.find();
+    }
+
 }
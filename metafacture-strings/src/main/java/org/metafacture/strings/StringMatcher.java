@@ -16,6 +16,7 @@
 
 package org.metafacture.strings;
 
+import org.metafacture.commons.RegexUtil;
 import org.metafacture.framework.FluxCommand;
 import org.metafacture.framework.ObjectReceiver;
 import org.metafacture.framework.annotations.Description;
@@ -24,7 +25,6 @@
 import org.metafacture.framework.helpers.DefaultObjectPipe;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Matches the incoming strings against a regular expression and replaces
@@ -39,7 +39,9 @@
 public final class StringMatcher extends DefaultObjectPipe<String, ObjectReceiver<String>> {
 
     private Matcher matcher;
+    private String literal;
     private String replacement;
+    private boolean literalReplacement;
 
     /**
      * Creates an instance of {@link StringMatcher}.
@@ -62,7 +64,8 @@ public String getPattern() {
      * @param pattern the pattern
      */
     public void setPattern(final String pattern) {
-        this.matcher = Pattern.compile(pattern).matcher("");
+        this.matcher = RegexUtil.compile(pattern).matcher("");
+        this.literal = RegexUtil.getLiteral(pattern);
     }
 
     /**
@@ -81,14 +84,20 @@ public String getReplacement() {
      */
     public void setReplacement(final String replacement) {
         this.replacement = replacement;
+        this.literalReplacement = replacement != null && RegexUtil.isLiteralReplacement(replacement);
     }
 
     @Override
     public void process(final String obj) {
         assert !isClosed();
         assert null != obj;
-        matcher.reset(obj);
-        getReceiver().process(matcher.replaceAll(replacement));
+        if (literal != null && literalReplacement) {
+            getReceiver().process(obj.replace(literal, replacement));
+        }
+        else {
+            matcher.reset(obj);
+            getReceiver().process(matcher.replaceAll(replacement));
+        }
     }
 
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+import org.metafacture.framework.helpers.DefaultXmlPipe;
+
+import java.io.Reader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A generic XML decoder based on a StAX pull parser. Produces the same events
+ * as {@code decode-xml | handle-generic-xml} but reads character data directly
+ * from the parser's buffer into a reused value buffer.
+ *
+ * @see GenericXmlHandler
+ */
+@Description("A generic XML decoder. Reads an XML file and produces the same events as `decode-xml | handle-generic-xml`, " +
+        "with the same options, using a pull parser.")
+@In(Reader.class)
+@Out(StreamReceiver.class)
+@FluxCommand("decode-generic-xml")
+public final class GenericXmlDecoder extends DefaultObjectPipe<Reader, StreamReceiver> {
+
+    private static final String ID_ATTRIBUTE = "id";
+
+    private final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+    private final ValueBuffer valueBuffer = new ValueBuffer();
+
+    private String attributeMarker = DefaultXmlPipe.DEFAULT_ATTRIBUTE_MARKER;
+    private String recordTagName = DefaultXmlPipe.DEFAULT_RECORD_TAG;
+    private String valueTagName = DefaultXmlPipe.DEFAULT_VALUE_TAG;
+    private boolean emitNamespace = GenericXmlHandler.EMIT_NAMESPACE;
+
+    private boolean inRecord;
+
+    /**
+     * Constructs a GenericXmlDecoder. Sets the record tag name to the value of
+     * the system property {@value GenericXmlHandler#RECORD_TAG_PROPERTY} if
+     * it's present.
+     */
+    public GenericXmlDecoder() {
+        final String recordTagNameProperty = System.getProperty(GenericXmlHandler.RECORD_TAG_PROPERTY);
+        if (recordTagNameProperty != null) {
+            recordTagName = recordTagNameProperty;
+        }
+    }
+
+    /**
+     * Sets the tag name which marks the start of a record.
+     *
+     * @param recordTagName the tag name which marks the start of a record.
+     * @see GenericXmlHandler#setRecordTagName(String)
+     */
+    public void setRecordTagName(final String recordTagName) {
+        this.recordTagName = recordTagName;
+    }
+
+    /**
+     * Gets the record tag name.
+     *
+     * @return the record tag name.
+     */
+    public String getRecordTagName() {
+        return recordTagName;
+    }
+
+    /**
+     * Sets the value tag name.
+     *
+     * @param valueTagName the value tag name
+     */
+    public void setValueTagName(final String valueTagName) {
+        this.valueTagName = valueTagName;
+    }
+
+    /**
+     * Gets the value tag name.
+     *
+     * @return the value tag name
+     */
+    public String getValueTagName() {
+        return valueTagName;
+    }
+
+    /**
+     * Triggers namespace awareness.
+     *
+     * @param emitNamespace set to "true" if namespace should be emitted.
+     * @see GenericXmlHandler#setEmitNamespace(boolean)
+     */
+    public void setEmitNamespace(final boolean emitNamespace) {
+        this.emitNamespace = emitNamespace;
+    }
+
+    /**
+     * Checks whether the namespace should be emitted.
+     *
+     * @return true if the namespace should be emitted
+     */
+    public boolean getEmitNamespace() {
+        return emitNamespace;
+    }
+
+    /**
+     * Sets the attribute marker.
+     *
+     * @param attributeMarker the attribute marker
+     */
+    public void setAttributeMarker(final String attributeMarker) {
+        this.attributeMarker = attributeMarker;
+    }
+
+    /**
+     * Gets the attribute marker.
+     *
+     * @return the attribute marker
+     */
+    public String getAttributeMarker() {
+        return attributeMarker;
+    }
+
+    @Override
+    public void process(final Reader reader) {
+        try {
+            final XMLStreamReader streamReader = inputFactory.createXMLStreamReader(reader);
+            try {
+                while (streamReader.hasNext()) {
+                    processEvent(streamReader, streamReader.next());
+                }
+            }
+            finally {
+                streamReader.close();
+            }
+        }
+        catch (final XMLStreamException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    @Override
+    protected void onResetStream() {
+        inRecord = false;
+        valueBuffer.clear();
+    }
+
+    private void processEvent(final XMLStreamReader streamReader, final int event) {
+        switch (event) {
+            case XMLStreamConstants.START_ELEMENT:
+                startElement(streamReader);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                endElement(streamReader);
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                if (inRecord) {
+                    valueBuffer.append(streamReader.getTextCharacters(), streamReader.getTextStart(), streamReader.getTextLength());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void startElement(final XMLStreamReader streamReader) {
+        final String localName = streamReader.getLocalName();
+
+        if (inRecord) {
+            writeValue();
+            getReceiver().startEntity(emitNamespace ? qualify(streamReader.getPrefix(), localName) : localName);
+            writeAttributes(streamReader);
+        }
+        else if (localName.equals(recordTagName)) {
+            final String identifier = getIdentifier(streamReader);
+            getReceiver().startRecord(identifier == null ? "" : identifier);
+            writeAttributes(streamReader);
+            inRecord = true;
+        }
+    }
+
+    private void endElement(final XMLStreamReader streamReader) {
+        if (inRecord) {
+            writeValue();
+            if (streamReader.getLocalName().equals(recordTagName)) {
+                inRecord = false;
+                getReceiver().endRecord();
+            }
+            else {
+                getReceiver().endEntity();
+            }
+        }
+    }
+
+    private void writeValue() {
+        if (!valueBuffer.isBlank()) {
+            getReceiver().literal(valueTagName, valueBuffer.toString());
+        }
+        valueBuffer.clear();
+    }
+
+    private void writeAttributes(final XMLStreamReader streamReader) {
+        final int count = streamReader.getAttributeCount();
+
+        for (int i = 0; i < count; ++i) {
+            final String localName = streamReader.getAttributeLocalName(i);
+            final String name = emitNamespace ? qualify(streamReader.getAttributePrefix(i), localName) : localName;
+            getReceiver().literal(attributeMarker + name, streamReader.getAttributeValue(i));
+        }
+    }
+
+    private String getIdentifier(final XMLStreamReader streamReader) {
+        final int count = streamReader.getAttributeCount();
+
+        String identifier = null;
+        for (int i = 0; identifier == null && i < count; ++i) {
+            if (isNullOrEmpty(streamReader.getAttributePrefix(i)) && ID_ATTRIBUTE.equals(streamReader.getAttributeLocalName(i))) {
+                identifier = streamReader.getAttributeValue(i);
+            }
+        }
+
+        return identifier;
+    }
+
+    private static String qualify(final String prefix, final String localName) {
+        return isNullOrEmpty(prefix) ? localName : prefix + ":" + localName;
+    }
+
+    private static boolean isNullOrEmpty(final String string) {
+        return string == null || string.isEmpty();
+    }
+
+}
@@ -26,8 +26,6 @@
 
 import org.xml.sax.Attributes;
 
-import java.util.regex.Pattern;
-
 /**
  * A generic xml reader.
  *
@@ -48,14 +46,12 @@ public final class GenericXmlHandler extends DefaultXmlPipe<StreamReceiver> {
 
     public static final boolean EMIT_NAMESPACE = false;
 
-    private static final Pattern TABS = Pattern.compile("\t+");
-
     private String attributeMarker = DEFAULT_ATTRIBUTE_MARKER;
     private String recordTagName = DEFAULT_RECORD_TAG;
     private String valueTagName = DEFAULT_VALUE_TAG;
 
     private boolean inRecord;
-    private StringBuilder valueBuffer = new StringBuilder();
+    private final ValueBuffer valueBuffer = new ValueBuffer();
 
     private boolean emitNamespace = EMIT_NAMESPACE;
 
@@ -208,16 +204,15 @@ public void endElement(final String uri, final String localName, final String qN
     @Override
     public void characters(final char[] chars, final int start, final int length) {
         if (inRecord) {
-            valueBuffer.append(TABS.matcher(new String(chars, start, length)).replaceAll(""));
+            valueBuffer.append(chars, start, length);
         }
     }
 
     private void writeValue() {
-        final String value = valueBuffer.toString();
-        if (!value.trim().isEmpty()) {
-            getReceiver().literal(valueTagName, value.replace('\n', ' '));
+        if (!valueBuffer.isBlank()) {
+            getReceiver().literal(valueTagName, valueBuffer.toString());
         }
-        valueBuffer = new StringBuilder();
+        valueBuffer.clear();
     }
 
     private void writeAttributes(final Attributes attributes) {
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import org.metafacture.framework.Asynchronous;
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.XmlReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parses independent XML documents, e.g. the records emitted by
+ * {@link XmlRecordSplitter}, on a pool of threads. Each thread keeps its own
+ * configured {@link XMLReader}. The XML events of each document are recorded
+ * and passed to the receiver in the order in which the documents were
+ * received, so the receiver is always called from the thread calling
+ * {@link #process(String)} and {@link #closeStream()}.
+ */
+@Description("Parses XML documents given as strings (e.g. the output of `split-xml-records`) in parallel and passes the " +
+        "XML events to a receiver in input order. Set `threads` to the number of parser threads (default: number of processors).")
+@In(String.class)
+@Out(XmlReceiver.class)
+@FluxCommand("decode-xml-records")
+public final class ParallelXmlDecoder extends DefaultObjectPipe<String, XmlReceiver> implements Asynchronous {
+
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final int PENDING_DOCUMENTS_PER_THREAD = 64;
+
+    private final Deque<Future<XmlEventRecorder>> pendingDocuments = new ArrayDeque<>();
+    private final ThreadLocal<XMLReader> saxReaders = ThreadLocal.withInitial(this::newSaxReader);
+
+    private int threads = DEFAULT_THREADS;
+    private String totalEntitySizeLimit;
+    private ExecutorService executor;
+
+    /**
+     * Creates an instance of {@link ParallelXmlDecoder}.
+     */
+    public ParallelXmlDecoder() {
+    }
+
+    /**
+     * Sets the number of threads parsing documents. If set to 1, documents
+     * are parsed in the calling thread. The default is the number of
+     * available processors.
+     *
+     * @param threads the number of parser threads
+     */
+    public void setThreads(final int threads) {
+        if (executor != null) {
+            throw new IllegalStateException("Threads cannot be changed while processing.");
+        }
+
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Gets the number of threads parsing documents.
+     *
+     * @return the number of parser threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return threads > 1;
+    }
+
+    /**
+     * Sets the total entity size limit for the XML parsers.
+     *
+     * @param totalEntitySizeLimit the size of the allowed entities. Set to "0"
+     *                             if entities should be unlimited.
+     * @see XmlDecoder#setTotalEntitySizeLimit(String)
+     */
+    public void setTotalEntitySizeLimit(final String totalEntitySizeLimit) {
+        this.totalEntitySizeLimit = totalEntitySizeLimit;
+    }
+
+    @Override
+    public void process(final String document) {
+        assert !isClosed();
+
+        if (threads == 1) {
+            parse(document, getReceiver());
+            return;
+        }
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        pendingDocuments.add(executor.submit(() -> record(document)));
+
+        final int maxPendingDocuments = threads * PENDING_DOCUMENTS_PER_THREAD;
+        while (pendingDocuments.size() > maxPendingDocuments || !pendingDocuments.isEmpty() && pendingDocuments.peekFirst().isDone()) {
+            emitNextDocument();
+        }
+    }
+
+    @Override
+    protected void onResetStream() {
+        emitPendingDocuments();
+    }
+
+    @Override
+    protected void onCloseStream() {
+        try {
+            emitPendingDocuments();
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    private void emitPendingDocuments() {
+        while (!pendingDocuments.isEmpty()) {
+            emitNextDocument();
+        }
+    }
+
+    private void emitNextDocument() {
+        final Future<XmlEventRecorder> document = pendingDocuments.removeFirst();
+
+        try {
+            document.get().replay(getReceiver());
+        }
+        catch (final ExecutionException e) {
+            pendingDocuments.forEach(f -> f.cancel(true));
+            pendingDocuments.clear();
+            throw new MetafactureException(e.getCause());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+        catch (final SAXException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    private XmlEventRecorder record(final String document) {
+        final XmlEventRecorder recorder = new XmlEventRecorder();
+        parse(document, recorder);
+        return recorder;
+    }
+
+    private void parse(final String document, final XmlReceiver handler) {
+        final XMLReader saxReader = saxReaders.get();
+        XmlDecoder.setHandler(saxReader, handler);
+
+        try {
+            saxReader.parse(new InputSource(new StringReader(document)));
+        }
+        catch (final IOException | SAXException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    private XMLReader newSaxReader() {
+        final XMLReader saxReader = XmlDecoder.newSaxReader();
+
+        if (totalEntitySizeLimit != null) {
+            XmlDecoder.setTotalEntitySizeLimit(saxReader, totalEntitySizeLimit);
+        }
+
+        return saxReader;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import java.util.Arrays;
+
+/**
+ * Collects the character data of an element for the generic XML handlers.
+ * Tabs are removed and line feeds are replaced by spaces while appending, so
+ * no intermediate strings are created. The buffer is reused for all values.
+ */
+final class ValueBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private int length;
+    private boolean blank = true;
+
+    ValueBuffer() {
+    }
+
+    /**
+     * Appends character data.
+     *
+     * @param data   the characters
+     * @param start  the start position in the array
+     * @param count  the number of characters to append
+     */
+    public void append(final char[] data, final int start, final int count) {
+        if (length + count > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+        }
+
+        final int end = start + count;
+        for (int i = start; i < end; ++i) {
+            final char c = data[i];
+            if (c != '\t') {
+                chars[length] = c == '\n' ? ' ' : c;
+                ++length;
+                blank &= c <= ' ';
+            }
+        }
+    }
+
+    /**
+     * Checks whether the buffer contains only whitespace.
+     *
+     * @return true if the buffer is empty or contains only whitespace
+     */
+    public boolean isBlank() {
+        return blank;
+    }
+
+    /**
+     * Empties the buffer.
+     */
+    public void clear() {
+        length = 0;
+        blank = true;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+}
@@ -56,14 +56,7 @@ public final class XmlDecoder extends DefaultObjectPipe<Reader, XmlReceiver> {
      * {@link org.xml.sax.XMLReader}.
      */
     public XmlDecoder() {
-        try {
-            final SAXParserFactory parserFactory = SAXParserFactory.newInstance();
-            parserFactory.setNamespaceAware(true);
-            saxReader = parserFactory.newSAXParser().getXMLReader();
-        }
-        catch (final ParserConfigurationException | SAXException e) {
-            throw new MetafactureException(e);
-        }
+        saxReader = newSaxReader();
     }
 
     /**
@@ -75,12 +68,7 @@ public XmlDecoder() {
      * @param totalEntitySizeLimit the size of the allowed entities. Set to "0" if entities should be unlimited.
      */
     public void setTotalEntitySizeLimit(final String totalEntitySizeLimit) {
-        try {
-            saxReader.setProperty(TOTAL_ENTITY_SIZE_LIMIT, totalEntitySizeLimit);
-        }
-        catch (final SAXException e) {
-            throw new MetafactureException(e);
-        }
+        setTotalEntitySizeLimit(saxReader, totalEntitySizeLimit);
     }
 
     @Override
@@ -95,12 +83,53 @@ public void process(final Reader reader) {
 
     @Override
     protected void onSetReceiver() {
-        saxReader.setContentHandler(getReceiver());
-        saxReader.setDTDHandler(getReceiver());
-        saxReader.setEntityResolver(getReceiver());
-        saxReader.setErrorHandler(getReceiver());
+        setHandler(saxReader, getReceiver());
+    }
+
+    /**
+     * Obtains a new namespace aware {@link org.xml.sax.XMLReader}.
+     *
+     * @return the XMLReader
+     */
+    static XMLReader newSaxReader() {
+        try {
+            final SAXParserFactory parserFactory = SAXParserFactory.newInstance();
+            parserFactory.setNamespaceAware(true);
+            return parserFactory.newSAXParser().getXMLReader();
+        }
+        catch (final ParserConfigurationException | SAXException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    /**
+     * Sets the total entity size limit for the given XML parser.
+     *
+     * @param saxReader            the XMLReader
+     * @param totalEntitySizeLimit the size of the allowed entities
+     */
+    static void setTotalEntitySizeLimit(final XMLReader saxReader, final String totalEntitySizeLimit) {
+        try {
+            saxReader.setProperty(TOTAL_ENTITY_SIZE_LIMIT, totalEntitySizeLimit);
+        }
+        catch (final SAXException e) {
+            throw new MetafactureException(e);
+        }
+    }
+
+    /**
+     * Passes the XML events of the given XML parser to the handler.
+     *
+     * @param saxReader the XMLReader
+     * @param handler   the XmlReceiver
+     */
+    static void setHandler(final XMLReader saxReader, final XmlReceiver handler) {
+        saxReader.setContentHandler(handler);
+        saxReader.setDTDHandler(handler);
+        saxReader.setEntityResolver(handler);
+        saxReader.setErrorHandler(handler);
         try {
-            saxReader.setProperty(SAX_PROPERTY_LEXICAL_HANDLER, getReceiver());
+            saxReader.setProperty(SAX_PROPERTY_LEXICAL_HANDLER, handler);
         }
         catch (final SAXNotRecognizedException | SAXNotSupportedException e) {
             throw new MetafactureException(e);
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import org.metafacture.framework.XmlReceiver;
+import org.metafacture.framework.helpers.DefaultXmlReceiver;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records the content and lexical events of an XML document so that they
+ * can be replayed to an {@link XmlReceiver} later on, possibly in another
+ * thread.
+ */
+final class XmlEventRecorder extends DefaultXmlReceiver {
+
+    private static final int INITIAL_TEXT_CAPACITY = 1024;
+
+    private final List<Event> events = new ArrayList<>();
+    private char[] text = new char[INITIAL_TEXT_CAPACITY];
+    private int textLength;
+
+    XmlEventRecorder() {
+    }
+
+    /**
+     * Replays the recorded events to the given receiver.
+     *
+     * @param receiver the XmlReceiver
+     * @throws SAXException if the receiver fails
+     */
+    public void replay(final XmlReceiver receiver) throws SAXException {
+        for (final Event event : events) {
+            event.replay(receiver);
+        }
+    }
+
+    @Override
+    public void startDocument() {
+        events.add(XmlReceiver::startDocument);
+    }
+
+    @Override
+    public void endDocument() {
+        events.add(XmlReceiver::endDocument);
+    }
+
+    @Override
+    public void startPrefixMapping(final String prefix, final String uri) {
+        events.add(r -> r.startPrefixMapping(prefix, uri));
+    }
+
+    @Override
+    public void endPrefixMapping(final String prefix) {
+        events.add(r -> r.endPrefixMapping(prefix));
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String qName, final Attributes attributes) {
+        final Attributes copy = new AttributesImpl(attributes);
+        events.add(r -> r.startElement(uri, localName, qName, copy));
+    }
+
+    @Override
+    public void endElement(final String uri, final String localName, final String qName) {
+        events.add(r -> r.endElement(uri, localName, qName));
+    }
+
+    @Override
+    public void characters(final char[] chars, final int start, final int length) {
+        final int offset = appendText(chars, start, length);
+        events.add(r -> r.characters(text, offset, length));
+    }
+
+    @Override
+    public void ignorableWhitespace(final char[] chars, final int start, final int length) {
+        final int offset = appendText(chars, start, length);
+        events.add(r -> r.ignorableWhitespace(text, offset, length));
+    }
+
+    @Override
+    public void processingInstruction(final String target, final String data) {
+        events.add(r -> r.processingInstruction(target, data));
+    }
+
+    @Override
+    public void skippedEntity(final String name) {
+        events.add(r -> r.skippedEntity(name));
+    }
+
+    @Override
+    public void startCDATA() {
+        events.add(XmlReceiver::startCDATA);
+    }
+
+    @Override
+    public void endCDATA() {
+        events.add(XmlReceiver::endCDATA);
+    }
+
+    @Override
+    public void comment(final char[] chars, final int start, final int length) {
+        final int offset = appendText(chars, start, length);
+        events.add(r -> r.comment(text, offset, length));
+    }
+
+    private int appendText(final char[] chars, final int start, final int length) {
+        final int offset = textLength;
+        if (offset + length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, offset + length));
+        }
+
+        System.arraycopy(chars, start, text, offset, length);
+        textLength += length;
+
+        return offset;
+    }
+
+    private interface Event {
+
+        void replay(XmlReceiver receiver) throws SAXException;
+
+    }
+
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.FormatException;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.ObjectReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultObjectPipe;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits an XML document into single XML documents, one for each occurrence
+ * of the record element. Unlike {@link XmlElementSplitter}, the input is not
+ * parsed into SAX events and serialized again: the text of each record is
+ * copied verbatim from the input. Namespace declarations of the elements
+ * enclosing a record are added to the record element so that each record is
+ * a well-formed document on its own.
+ * <p>
+ * Since every record is emitted as a self-contained string, the records can
+ * be handed to several decoders running in parallel (e.g. by means of
+ * {@code org.metafacture.flowcontrol.ObjectThreader}).
+ */
+@Description("Splits the XML text read from a reader into single XML documents, one for each record element, without parsing it. " +
+        "Namespace declarations of enclosing elements are copied into each record.")
+@In(Reader.class)
+@Out(String.class)
+@FluxCommand("split-xml-records")
+public final class XmlRecordSplitter extends DefaultObjectPipe<Reader, ObjectReceiver<String>> {
+
+    public static final String DEFAULT_XML_DECLARATION = "<?xml version = \"1.0\" encoding = \"UTF-8\"?>";
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
+    private static final String CDATA_START = "<![CDATA[";
+    private static final String CDATA_END = "]]>";
+    private static final String PI_START = "<?";
+    private static final String PI_END = "?>";
+
+    private static final String XMLNS = "xmlns";
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder markup = new StringBuilder();
+    private final StringBuilder record = new StringBuilder();
+    private final Deque<Map<String, String>> namespaceScopes = new ArrayDeque<>();
+
+    private String elementName;
+    private String xmlDeclaration = DEFAULT_XML_DECLARATION;
+
+    private Reader reader;
+    private int position;
+    private int limit;
+    private int elementDepth;
+
+    /**
+     * Creates an instance of {@link XmlRecordSplitter}.
+     */
+    public XmlRecordSplitter() {
+    }
+
+    /**
+     * Creates an instance of {@link XmlRecordSplitter} with the given record
+     * element name.
+     *
+     * @param elementName the local name of the element defining a record
+     */
+    public XmlRecordSplitter(final String elementName) {
+        setElementName(elementName);
+    }
+
+    /**
+     * Sets the local name of the element defining a record. All these elements
+     * in the XML document will become XML documents on their own.
+     *
+     * @param elementName the local name of the record element
+     */
+    public void setElementName(final String elementName) {
+        this.elementName = elementName;
+    }
+
+    /**
+     * Gets the local name of the element defining a record.
+     *
+     * @return the local name of the record element
+     */
+    public String getElementName() {
+        return elementName;
+    }
+
+    /**
+     * Sets the XML declaration which is prepended to each record. The default
+     * is {@value #DEFAULT_XML_DECLARATION}. If an empty value is given, the XML
+     * declaration is skipped.
+     *
+     * @param xmlDeclaration the XML declaration
+     */
+    public void setXmlDeclaration(final String xmlDeclaration) {
+        this.xmlDeclaration = xmlDeclaration;
+    }
+
+    /**
+     * Gets the XML declaration.
+     *
+     * @return the XML declaration
+     */
+    public String getXmlDeclaration() {
+        return xmlDeclaration;
+    }
+
+    @Override
+    public void process(final Reader newReader) {
+        assert !isClosed();
+
+        reader = newReader;
+        reset();
+
+        try {
+            while (fill()) {
+                if (buffer[position] == '<') {
+                    readMarkup();
+                    processMarkup();
+                }
+                else {
+                    readText();
+                }
+            }
+        }
+        catch (final IOException e) {
+            throw new MetafactureException(e);
+        }
+        finally {
+            reader = null;
+        }
+
+        if (elementDepth > 0) {
+            reset();
+            throw new FormatException("Unexpected end of input within record element: " + elementName);
+        }
+    }
+
+    @Override
+    protected void onResetStream() {
+        reset();
+    }
+
+    private void reset() {
+        position = 0;
+        limit = 0;
+        elementDepth = 0;
+        record.setLength(0);
+        namespaceScopes.clear();
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+
+        final int size = reader.read(buffer);
+        position = 0;
+        limit = Math.max(size, 0);
+
+        return size > 0;
+    }
+
+    private void readText() {
+        int end = position;
+        while (end < limit && buffer[end] != '<') {
+            ++end;
+        }
+
+        if (elementDepth > 0) {
+            record.append(buffer, position, end - position);
+        }
+
+        position = end;
+    }
+
+    private void readMarkup() throws IOException {
+        markup.setLength(0);
+        next();
+
+        final int type = peek();
+        if (type == '!') {
+            next();
+
+            final int subtype = peek();
+            if (subtype == '-') {
+                readUntil(COMMENT_END, COMMENT_START.length() + COMMENT_END.length());
+            }
+            else if (subtype == '[') {
+                readUntil(CDATA_END, CDATA_START.length() + CDATA_END.length());
+            }
+            else {
+                readDeclaration();
+            }
+        }
+        else if (type == '?') {
+            readUntil(PI_END, PI_START.length() + PI_END.length());
+        }
+        else {
+            readTag();
+        }
+    }
+
+    private void processMarkup() {
+        final char type = markup.charAt(1);
+
+        if (type == '/') {
+            processEndTag();
+        }
+        else if (type != '!' && type != '?') {
+            processStartTag();
+        }
+        else if (elementDepth > 0) {
+            record.append(markup);
+        }
+    }
+
+    private void processStartTag() {
+        final int nameEnd = nameEnd(1);
+        final boolean isRecordElement = isRecordElement(1, nameEnd);
+        final boolean isEmptyElement = markup.charAt(markup.length() - 2) == '/';
+
+        if (elementDepth > 0) {
+            record.append(markup);
+            if (isRecordElement && !isEmptyElement) {
+                ++elementDepth;
+            }
+        }
+        else if (isRecordElement) {
+            record.setLength(0);
+            record.append(xmlDeclaration);
+            record.append(markup, 0, nameEnd);
+            appendInheritedNamespaces(nameEnd);
+            record.append(markup, nameEnd, markup.length());
+
+            if (isEmptyElement) {
+                emitRecord();
+            }
+            else {
+                elementDepth = 1;
+            }
+        }
+        else if (!isEmptyElement) {
+            namespaceScopes.push(collectNamespaces(nameEnd, null));
+        }
+    }
+
+    private void processEndTag() {
+        if (elementDepth > 0) {
+            record.append(markup);
+            if (isRecordElement(2, nameEnd(2))) {
+                --elementDepth;
+                if (elementDepth == 0) {
+                    emitRecord();
+                }
+            }
+        }
+        else if (!namespaceScopes.isEmpty()) {
+            namespaceScopes.pop();
+        }
+    }
+
+    private void emitRecord() {
+        getReceiver().process(record.toString());
+        record.setLength(0);
+    }
+
+    private void appendInheritedNamespaces(final int nameEnd) {
+        if (namespaceScopes.isEmpty()) {
+            return;
+        }
+
+        final Map<String, String> inherited = new LinkedHashMap<>();
+        final Iterator<Map<String, String>> scopes = namespaceScopes.descendingIterator();
+        while (scopes.hasNext()) {
+            inherited.putAll(scopes.next());
+        }
+
+        collectNamespaces(nameEnd, inherited);
+
+        for (final String declaration : inherited.values()) {
+            if (declaration != null) {
+                record.append(' ').append(declaration);
+            }
+        }
+    }
+
+    /**
+     * Collects the namespace declarations found in the attributes of the
+     * current tag. If {@code inherited} is given, the prefixes declared in the
+     * current tag are masked in it instead.
+     */
+    private Map<String, String> collectNamespaces(final int nameEnd, final Map<String, String> inherited) {
+        Map<String, String> namespaces = inherited != null ? inherited : Collections.emptyMap();
+
+        int i = nameEnd;
+        while (i < markup.length()) {
+            final int attributeStart = skipWhitespace(i);
+            final int attributeNameEnd = nameEnd(attributeStart);
+            final int valueStart = skipWhitespace(skipWhitespace(attributeNameEnd) + 1);
+            if (attributeNameEnd == attributeStart || valueStart >= markup.length()) {
+                break;
+            }
+
+            final int valueEnd = markup.indexOf(String.valueOf(markup.charAt(valueStart)), valueStart + 1);
+            if (valueEnd < 0) {
+                break;
+            }
+
+            final String attributeName = markup.substring(attributeStart, attributeNameEnd);
+            if (attributeName.equals(XMLNS) || attributeName.startsWith(XMLNS + ":")) {
+                final String prefix = attributeName.substring(XMLNS.length());
+
+                if (inherited != null) {
+                    namespaces.put(prefix, null);
+                }
+                else {
+                    if (namespaces.isEmpty()) {
+                        namespaces = new LinkedHashMap<>();
+                    }
+                    namespaces.put(prefix, markup.substring(attributeStart, valueEnd + 1));
+                }
+            }
+
+            i = valueEnd + 1;
+        }
+
+        return namespaces;
+    }
+
+    private boolean isRecordElement(final int nameStart, final int nameEnd) {
+        final int localNameStart = Math.max(nameStart, markup.lastIndexOf(":", nameEnd) + 1);
+        boolean matches = elementName.length() == nameEnd - localNameStart;
+
+        for (int i = 0; matches && i < elementName.length(); ++i) {
+            matches = elementName.charAt(i) == markup.charAt(localNameStart + i);
+        }
+
+        return matches;
+    }
+
+    private int nameEnd(final int nameStart) {
+        int i = nameStart;
+        while (i < markup.length()) {
+            final char c = markup.charAt(i);
+            if (Character.isWhitespace(c) || c == '/' || c == '>' || c == '=') {
+                break;
+            }
+            ++i;
+        }
+        return i;
+    }
+
+    private int skipWhitespace(final int start) {
+        int i = start;
+        while (i < markup.length() && Character.isWhitespace(markup.charAt(i))) {
+            ++i;
+        }
+        return i;
+    }
+
+    private boolean endsWith(final String suffix) {
+        final int offset = markup.length() - suffix.length();
+        for (int i = 0; i < suffix.length(); ++i) {
+            if (markup.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int peek() throws IOException {
+        return fill() ? buffer[position] : -1;
+    }
+
+    private int next() throws IOException {
+        if (!fill()) {
+            throw new FormatException("Unexpected end of input within markup: " + markup);
+        }
+
+        final char c = buffer[position];
+        ++position;
+        markup.append(c);
+
+        return c;
+    }
+
+    private void readUntil(final String terminator, final int minLength) throws IOException {
+        while (markup.length() < minLength || !endsWith(terminator)) {
+            next();
+        }
+    }
+
+    private void readDeclaration() throws IOException {
+        int brackets = 0;
+        int c = markup.charAt(markup.length() - 1);
+        while (c != '>' || brackets > 0) {
+            c = next();
+            if (c == '[') {
+                ++brackets;
+            }
+            else if (c == ']') {
+                --brackets;
+            }
+        }
+    }
+
+    private void readTag() throws IOException {
+        char quote = 0;
+        int c = 0;
+        while (c != '>' || quote != 0) {
+            c = next();
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            }
+            else if (c == '"' || c == '\'') {
+                quote = (char) c;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import org.metafacture.framework.StreamReceiver;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.io.StringReader;
+
+/**
+ * Tests for class {@link GenericXmlDecoder}.
+ */
+public final class GenericXmlDecoderTest {
+
+    @Rule
+    public MockitoRule mockito = MockitoJUnit.rule();
+
+    @Mock
+    private StreamReceiver receiver;
+
+    private GenericXmlDecoder genericXmlDecoder;
+
+    public GenericXmlDecoderTest() {
+    }
+
+    @Before
+    public void setup() {
+        genericXmlDecoder = new GenericXmlDecoder();
+        genericXmlDecoder.setReceiver(receiver);
+    }
+
+    @Test
+    public void shouldIgnoreElementsOutsideRecordElement() {
+        process("<records><ignore-me>value</ignore-me></records>");
+
+        Mockito.verifyZeroInteractions(receiver);
+    }
+
+    @Test
+    public void shouldEmitRecordsEntitiesAndAttributes() {
+        process("<records><record id=\"1\" attr=\"a\"><entity attr=\"b\">char-data</entity></record></records>");
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("1");
+        ordered.verify(receiver).literal("id", "1");
+        ordered.verify(receiver).literal("attr", "a");
+        ordered.verify(receiver).startEntity("entity");
+        ordered.verify(receiver).literal("attr", "b");
+        ordered.verify(receiver).literal("value", "char-data");
+        ordered.verify(receiver).endEntity();
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void shouldRemoveTabsAndReplaceNewlines() {
+        process("<record><entity>\tchar\t\tdata\nmore<![CDATA[ &]]></entity></record>");
+
+        Mockito.verify(receiver).literal("value", "chardata more &");
+    }
+
+    @Test
+    public void shouldNotEmitWhitespaceOnlyValues() {
+        process("<record>\n\t <entity> \n</entity>\n</record>");
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startRecord("");
+        ordered.verify(receiver).startEntity("entity");
+        ordered.verify(receiver).endEntity();
+        ordered.verify(receiver).endRecord();
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void shouldEmitNamespaceAndAttributeMarker() {
+        genericXmlDecoder.setEmitNamespace(true);
+        genericXmlDecoder.setAttributeMarker("~");
+        genericXmlDecoder.setValueTagName("data");
+        process("<record xmlns:ns=\"u\"><ns:entity ns:attr=\"a\">char-data</ns:entity></record>");
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startEntity("ns:entity");
+        ordered.verify(receiver).literal("~ns:attr", "a");
+        ordered.verify(receiver).literal("data", "char-data");
+    }
+
+    private void process(final String xml) {
+        genericXmlDecoder.process(new StringReader(xml));
+    }
+
+}
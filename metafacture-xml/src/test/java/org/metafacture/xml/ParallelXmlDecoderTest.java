@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.XmlReceiver;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests for class {@link ParallelXmlDecoder}.
+ */
+public final class ParallelXmlDecoderTest {
+
+    private static final int RECORDS = 1000;
+
+    @Rule
+    public MockitoRule mockito = MockitoJUnit.rule();
+
+    @Mock
+    private XmlReceiver receiver;
+
+    private ParallelXmlDecoder parallelXmlDecoder;
+
+    public ParallelXmlDecoderTest() {
+    }
+
+    @Before
+    public void setup() {
+        parallelXmlDecoder = new ParallelXmlDecoder();
+        parallelXmlDecoder.setThreads(4);
+        parallelXmlDecoder.setReceiver(receiver);
+    }
+
+    @Test
+    public void shouldPassEventsInInputOrder() throws SAXException {
+        for (int i = 0; i < RECORDS; ++i) {
+            parallelXmlDecoder.process("<record id=\"" + i + "\"/>");
+        }
+        parallelXmlDecoder.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        for (int i = 0; i < RECORDS; ++i) {
+            ordered.verify(receiver).startElement(ArgumentMatchers.eq(""), ArgumentMatchers.eq("record"),
+                    ArgumentMatchers.eq("record"), ArgumentMatchers.argThat(hasId(i)));
+        }
+        ordered.verify(receiver).closeStream();
+    }
+
+    @Test
+    public void shouldPassAllContentEvents() throws SAXException {
+        parallelXmlDecoder.process("<r xmlns:a=\"b\"><a:x>text<!--c--></a:x></r>");
+        parallelXmlDecoder.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).startDocument();
+        ordered.verify(receiver).startPrefixMapping("a", "b");
+        ordered.verify(receiver).startElement(ArgumentMatchers.eq(""), ArgumentMatchers.eq("r"),
+                ArgumentMatchers.eq("r"), ArgumentMatchers.any());
+        ordered.verify(receiver).startElement(ArgumentMatchers.eq("b"), ArgumentMatchers.eq("x"),
+                ArgumentMatchers.eq("a:x"), ArgumentMatchers.any());
+        ordered.verify(receiver).characters(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.eq(4));
+        ordered.verify(receiver).comment(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.eq(1));
+        ordered.verify(receiver).endElement("b", "x", "a:x");
+        ordered.verify(receiver).endElement("", "r", "r");
+        ordered.verify(receiver).endPrefixMapping("a");
+        ordered.verify(receiver).endDocument();
+        ordered.verify(receiver).closeStream();
+    }
+
+    @Test
+    public void shouldParseInCallingThreadIfSingleThreaded() throws SAXException {
+        parallelXmlDecoder.setThreads(1);
+        parallelXmlDecoder.process("<record/>");
+
+        Mockito.verify(receiver).startElement(ArgumentMatchers.eq(""), ArgumentMatchers.eq("record"),
+                ArgumentMatchers.eq("record"), ArgumentMatchers.any());
+    }
+
+    @Test(expected = MetafactureException.class)
+    public void shouldFailOnMalformedDocument() {
+        parallelXmlDecoder.process("<record>");
+        parallelXmlDecoder.closeStream();
+    }
+
+    private static ArgumentMatcher<Attributes> hasId(final int id) {
+        return attributes -> String.valueOf(id).equals(attributes.getValue("id"));
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.xml;
+
+import org.metafacture.framework.FormatException;
+import org.metafacture.framework.ObjectReceiver;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.io.StringReader;
+
+/**
+ * Tests for class {@link XmlRecordSplitter}.
+ */
+public final class XmlRecordSplitterTest {
+
+    private static final String MARC_NAMESPACE = "xmlns:marc=\"http://www.loc.gov/MARC21/slim\"";
+
+    @Rule
+    public MockitoRule mockito = MockitoJUnit.rule();
+
+    @Mock
+    private ObjectReceiver<String> receiver;
+
+    private XmlRecordSplitter xmlRecordSplitter;
+
+    public XmlRecordSplitterTest() {
+    }
+
+    @Before
+    public void setup() {
+        xmlRecordSplitter = new XmlRecordSplitter("record");
+        xmlRecordSplitter.setXmlDeclaration("");
+        xmlRecordSplitter.setReceiver(receiver);
+    }
+
+    @Test
+    public void shouldSplitXmlAtDefinedElementName() {
+        process("<collection><record>1</record><record>2</record></collection>");
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        ordered.verify(receiver).process("<record>1</record>");
+        ordered.verify(receiver).process("<record>2</record>");
+        ordered.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void shouldPrependXmlDeclaration() {
+        xmlRecordSplitter.setXmlDeclaration(XmlRecordSplitter.DEFAULT_XML_DECLARATION);
+        process("<collection><record/></collection>");
+
+        Mockito.verify(receiver).process(XmlRecordSplitter.DEFAULT_XML_DECLARATION + "<record/>");
+    }
+
+    @Test
+    public void shouldKeepRecordContentVerbatim() {
+        final String record = "<record a='x&gt;y'><b c=\"&amp;\">d &amp; e<!-- f --><![CDATA[<record>]]></b></record>";
+        process("<collection>" + record + "</collection>");
+
+        Mockito.verify(receiver).process(record);
+    }
+
+    @Test
+    public void shouldCopyInheritedNamespacesIntoRecord() {
+        process("<marc:collection " + MARC_NAMESPACE + " xmlns=\"d\"><x xmlns:y=\"y\"><marc:record>1</marc:record></x></marc:collection>");
+
+        Mockito.verify(receiver).process("<marc:record " + MARC_NAMESPACE + " xmlns=\"d\" xmlns:y=\"y\">1</marc:record>");
+    }
+
+    @Test
+    public void shouldNotCopyNamespacesDeclaredInRecord() {
+        process("<marc:collection " + MARC_NAMESPACE + "><marc:record xmlns:marc=\"other\">1</marc:record></marc:collection>");
+
+        Mockito.verify(receiver).process("<marc:record xmlns:marc=\"other\">1</marc:record>");
+    }
+
+    @Test
+    public void shouldNotCopyNamespacesOfClosedElements() {
+        process("<collection><x xmlns:y=\"y\"/><z xmlns:y=\"y\"></z><record>1</record></collection>");
+
+        Mockito.verify(receiver).process("<record>1</record>");
+    }
+
+    @Test
+    public void shouldHandleNestedRecordElements() {
+        process("<collection><record><record>1</record><record/></record></collection>");
+
+        Mockito.verify(receiver).process("<record><record>1</record><record/></record>");
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test
+    public void shouldIgnoreMarkupOutsideOfRecords() {
+        process("<?xml version=\"1.0\"?><!DOCTYPE collection [<!ENTITY a \"<record>\">]><!-- <record> --><collection><record>1</record></collection>");
+
+        Mockito.verify(receiver).process("<record>1</record>");
+        Mockito.verifyNoMoreInteractions(receiver);
+    }
+
+    @Test(expected = FormatException.class)
+    public void shouldFailOnIncompleteRecord() {
+        process("<collection><record>1");
+    }
+
+    private void process(final String xml) {
+        xmlRecordSplitter.process(new StringReader(xml));
+    }
+
+}
@@ -1,19 +1,20 @@
 package org.metafacture.metafix.web;
 
-import org.metafacture.metafix.FixStandaloneSetup;
-import org.metafacture.runner.Flux;
-
 import org.antlr.runtime.RecognitionException;
 import org.eclipse.xtext.util.DisposableRegistry;
 import org.eclipse.xtext.web.servlet.XtextServlet;
 import org.eclipse.xtext.xbase.lib.InputOutput;
 
 import java.io.IOException;
-import java.io.Reader;
-import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -31,7 +32,13 @@ public class FixServlet extends XtextServlet {
     private static final String PARAM_FIX = "fix";
     private static final String PARAM_FLUX = "flux";
 
+    private static final String VAR_FLUX_DIR = "FLUX_DIR";
+    private static final String VAR_IN_FILE = "inFile";
+    private static final String VAR_FIX_DEF = "fixDef";
+    private static final String VAR_OUT_FILE = "outFile";
+
     private DisposableRegistry disposableRegistry;
+    private FluxExecutor fluxExecutor;
 
     /**
      * Creates an instance of {@link FixServlet}.
@@ -42,6 +49,7 @@ public FixServlet() {
     @Override
     public void init() throws ServletException {
         disposableRegistry = new FixWebSetup().createInjectorAndDoEMFRegistration().getInstance(DisposableRegistry.class);
+        fluxExecutor = FluxExecutor.fromSystemProperties();
     }
 
     @Override
@@ -51,6 +59,11 @@ public void destroy() {
             disposableRegistry = null;
         }
 
+        if (fluxExecutor != null) {
+            fluxExecutor.shutdown();
+            fluxExecutor = null;
+        }
+
         super.destroy();
     }
 
@@ -79,40 +92,70 @@ private boolean process(final HttpServletRequest request, final HttpServletRespo
             return false;
         }
 
+        final List<Path> tempFiles = new ArrayList<>();
+        try {
+            run(request, response, tempFiles);
+        }
+        finally {
+            for (final Path tempFile : tempFiles) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        return true;
+    }
+
+    private void run(final HttpServletRequest request, final HttpServletResponse response, final List<Path> tempFiles) throws IOException {
+        // Paths are passed as variables so that the Flux is the same for
+        // each request and its parsed form can be reused:
+        final Map<String, String> vars = new HashMap<>();
         final StringBuilder builder = new StringBuilder();
 
         final String inData = request.getParameter(PARAM_DATA);
-        builder.append(inData == null || inData.isEmpty() ? "" :
-                "\"" + absPathToTempFile(inData, ".txt") + "\"|open-file|");
+        if (inData != null && !inData.isEmpty()) {
+            vars.put(VAR_IN_FILE, tempFile(inData, ".txt", tempFiles).toString());
+            builder.append(VAR_IN_FILE + "|open-file|");
+        }
+
+        // The Fix is passed inline (the line break keeps Metafix from taking
+        // it for a file name) so that its parsed form can be reused as well:
+        vars.put(VAR_FIX_DEF, request.getParameter(PARAM_FIX) + "\n");
 
-        final String fixFile = absPathToTempFile(request.getParameter(PARAM_FIX), ".fix");
-        final String outFile = absPathToTempFile("", ".txt");
+        final Path outFile = tempFile("", ".txt", tempFiles);
+        vars.put(VAR_OUT_FILE, outFile.toString());
+        vars.put(VAR_FLUX_DIR, outFile.getParent() + System.getProperty("file.separator"));
 
         builder.append(request.getParameter(PARAM_FLUX).replaceAll("\\s?\\|\\s?", "|").replace(
                 "|" + COMMAND_FIX + "|",
-                "|org.metafacture.metafix.Metafix(\"" + fixFile + "\")|"));
-        builder.append("|write(\"");
-        builder.append(outFile);
-        builder.append("\");");
+                "|org.metafacture.metafix.Metafix(" + VAR_FIX_DEF + ")|"));
+        builder.append("|write(" + VAR_OUT_FILE + ");");
 
         final String fullFlux = builder.toString();
         InputOutput.println("full flux: " + fullFlux);
 
         try {
-            Flux.main(new String[] {absPathToTempFile(fullFlux, ".flux")});
+            fluxExecutor.run(fullFlux, vars);
+            Files.copy(outFile, response.getOutputStream());
         }
         catch (final RecognitionException e) {
             throw new RuntimeException(e);
         }
-
-        Files.copy(Paths.get(outFile), response.getOutputStream());
-        return true;
+        catch (final TimeoutException e) {
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Flux did not finish in time");
+        }
+        catch (final RejectedExecutionException e) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many Flux requests");
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Interrupted");
+        }
     }
 
-    private String absPathToTempFile(final String content, final String suffix) throws IOException {
-        try (Reader reader = new StringReader(content)) {
-            return FixStandaloneSetup.absPathToTempFile(reader, suffix);
-        }
+    private Path tempFile(final String content, final String suffix, final List<Path> tempFiles) throws IOException {
+        final Path file = Files.createTempFile("metafix", suffix);
+        tempFiles.add(file);
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
     }
 
 }
@@ -0,0 +1,143 @@
+package org.metafacture.metafix.web;
+
+import org.metafacture.commons.HashUtil;
+import org.metafacture.flux.FluxCompiler;
+
+import org.antlr.runtime.RecognitionException;
+import org.antlr.runtime.tree.CommonTree;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs Flux scripts on a bounded pool of worker threads. Parsed scripts are
+ * kept by content hash, so a script which is run again is only compiled into
+ * a new flow. Fix definitions are cached in the same way by
+ * {@link org.metafacture.metafix.FixStandaloneSetup#parseFix(String)}.
+ * <p>
+ * The pool is configured by the system properties {@value #THREADS_PROPERTY}
+ * (default: number of processors), {@value #QUEUE_SIZE_PROPERTY} (default:
+ * {@value #DEFAULT_QUEUE_SIZE}) and {@value #TIMEOUT_PROPERTY} (seconds,
+ * default: {@value #DEFAULT_TIMEOUT}).
+ */
+public class FluxExecutor {
+
+    public static final String THREADS_PROPERTY = "org.metafacture.metafix.web.threads";
+    public static final String QUEUE_SIZE_PROPERTY = "org.metafacture.metafix.web.queueSize";
+    public static final String TIMEOUT_PROPERTY = "org.metafacture.metafix.web.timeout";
+
+    public static final int DEFAULT_QUEUE_SIZE = 64;
+    public static final int DEFAULT_TIMEOUT = 60;
+
+    private static final int MAX_CACHED_SCRIPTS = 256;
+
+    private final Map<String, CommonTree> scripts = Collections.synchronizedMap(
+            new LinkedHashMap<String, CommonTree>(MAX_CACHED_SCRIPTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CommonTree> eldest) {
+                    return size() > MAX_CACHED_SCRIPTS;
+                }
+            });
+
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+
+    /**
+     * Creates an instance of {@link FluxExecutor}.
+     *
+     * @param threads   the number of worker threads
+     * @param queueSize the number of scripts which may wait for a worker
+     * @param timeout   the number of seconds after which a script is cancelled
+     */
+    public FluxExecutor(final int threads, final int queueSize, final long timeout) {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize));
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates a {@link FluxExecutor} configured by the system properties.
+     *
+     * @return the Flux executor
+     */
+    public static FluxExecutor fromSystemProperties() {
+        return new FluxExecutor(
+                Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE),
+                Integer.getInteger(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT));
+    }
+
+    /**
+     * Runs the Flux script on a worker thread and waits until it has finished.
+     * If it does not finish in time, the worker thread is interrupted. Elements
+     * which ignore interrupts keep the worker busy until they finish, though.
+     *
+     * @param flux the Flux script
+     * @param vars the variables of the Flux script
+     * @throws RecognitionException       if the Flux script is invalid
+     * @throws TimeoutException           if the Flux script did not finish in time
+     * @throws RejectedExecutionException if all workers are busy and the queue is full
+     * @throws InterruptedException       if the calling thread is interrupted while waiting
+     */
+    public void run(final String flux, final Map<String, String> vars)
+            throws RecognitionException, TimeoutException, InterruptedException {
+        final Future<Void> future = executor.submit(() -> {
+            FluxCompiler.compile(getScript(flux), vars).start();
+            return null;
+        });
+
+        try {
+            future.get(timeout, TimeUnit.SECONDS);
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RecognitionException) {
+                throw (RecognitionException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+        finally {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Stops the worker threads. Running scripts are interrupted.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /*package-private*/ CommonTree getScript(final String flux) throws RecognitionException, IOException {
+        final byte[] content = flux.getBytes(StandardCharsets.UTF_8);
+        final String hash = HashUtil.sha256(content);
+
+        CommonTree script = scripts.get(hash);
+        if (script == null) {
+            try (InputStream inputStream = new ByteArrayInputStream(content)) {
+                script = FluxCompiler.parse(inputStream);
+            }
+            scripts.put(hash, script);
+        }
+
+        return script;
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.metafacture.metafix.web;
+
+import org.antlr.runtime.RecognitionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+public class FluxExecutorTest {
+
+    private static final String FLUX = "\"hello\" | write(out);";
+
+    @TempDir
+    public Path tempDir;
+
+    private final FluxExecutor executor = new FluxExecutor(1, 1, 10);
+
+    public FluxExecutorTest() {
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldRunFluxScript() throws IOException, RecognitionException, TimeoutException, InterruptedException {
+        final Path out = tempDir.resolve("out.txt");
+        executor.run(FLUX, Collections.singletonMap("out", out.toString()));
+
+        Assertions.assertEquals("hello", new String(Files.readAllBytes(out), StandardCharsets.UTF_8).trim());
+    }
+
+    @Test
+    public void shouldRunCachedFluxScriptAgain() throws IOException, RecognitionException, TimeoutException, InterruptedException {
+        final Path first = tempDir.resolve("first.txt");
+        final Path second = tempDir.resolve("second.txt");
+
+        executor.run(FLUX, Collections.singletonMap("out", first.toString()));
+        executor.run(FLUX, Collections.singletonMap("out", second.toString()));
+
+        Assertions.assertTrue(Files.exists(first));
+        Assertions.assertTrue(Files.exists(second));
+    }
+
+    @Test
+    public void shouldParseSameFluxScriptOnlyOnce() throws IOException, RecognitionException {
+        Assertions.assertSame(executor.getScript(FLUX), executor.getScript(FLUX));
+    }
+
+    @Test
+    public void shouldParseDifferentFluxScriptsSeparately() throws IOException, RecognitionException {
+        Assertions.assertNotSame(executor.getScript(FLUX), executor.getScript("\"hello\" | print;"));
+    }
+
+    @Test
+    public void shouldRejectFluxScriptAfterShutdown() {
+        executor.shutdown();
+
+        Assertions.assertThrows(RejectedExecutionException.class,
+                () -> executor.run(FLUX, Collections.emptyMap()));
+    }
+
+}
@@ -37,6 +37,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -103,21 +104,29 @@ public void apply(final Metafix metafix, final Record record, final List<String>
         @Override
         public void apply(final Metafix metafix, final Record record, final List<String> params, final Map<String, String> options) {
             final String fileName = params.get(0);
-            final FileMap fileMap = new FileMap();
+            final String filePath = metafix.resolvePath(fileName);
 
-            fileMap.setSeparator(options.getOrDefault(FILEMAP_SEPARATOR_OPTION, FILEMAP_DEFAULT_SEPARATOR));
-            fileMap.setFile(metafix.resolvePath(fileName));
+            final Map<String, String> settings = new TreeMap<>(options);
+            withOption(options, FILEMAP_INDEX_FILE_OPTION, v -> settings.put(FILEMAP_INDEX_FILE_OPTION, metafix.resolvePath(v)));
 
-            withOption(options, "allow_empty_values", fileMap::setAllowEmptyValues, this::getBoolean);
-            withOption(options, "compression", fileMap::setCompression);
-            withOption(options, "decompress_concatenated", fileMap::setDecompressConcatenated, this::getBoolean);
-            withOption(options, "encoding", fileMap::setEncoding);
-            withOption(options, "expected_columns", fileMap::setExpectedColumns, this::getInteger);
-            withOption(options, "ignore_pattern", fileMap::setIgnorePattern);
-            withOption(options, "key_column", fileMap::setKeyColumn, this::getInteger);
-            withOption(options, "value_column", fileMap::setValueColumn, this::getInteger);
+            metafix.putSharedMap(params.size() > 1 ? params.get(1) : fileName, "filemap:" + filePath + settings, () -> {
+                final FileMap fileMap = new FileMap();
 
-            metafix.putMap(params.size() > 1 ? params.get(1) : fileName, fileMap);
+                fileMap.setSeparator(settings.getOrDefault(FILEMAP_SEPARATOR_OPTION, FILEMAP_DEFAULT_SEPARATOR));
+                fileMap.setFile(filePath);
+
+                withOption(settings, "allow_empty_values", fileMap::setAllowEmptyValues, this::getBoolean);
+                withOption(settings, "compression", fileMap::setCompression);
+                withOption(settings, "decompress_concatenated", fileMap::setDecompressConcatenated, this::getBoolean);
+                withOption(settings, "encoding", fileMap::setEncoding);
+                withOption(settings, "expected_columns", fileMap::setExpectedColumns, this::getInteger);
+                withOption(settings, "ignore_pattern", fileMap::setIgnorePattern);
+                withOption(settings, FILEMAP_INDEX_FILE_OPTION, fileMap::setIndexFile);
+                withOption(settings, "key_column", fileMap::setKeyColumn, this::getInteger);
+                withOption(settings, "value_column", fileMap::setValueColumn, this::getInteger);
+
+                return fileMap;
+            });
         }
     },
     put_map {
@@ -130,16 +139,21 @@ public void apply(final Metafix metafix, final Record record, final List<String>
         @Override
         public void apply(final Metafix metafix, final Record record, final List<String> params, final Map<String, String> options) {
             final String fileName = params.get(0);
-            final RdfMap rdfMap = new RdfMap();
+            final Map<String, String> settings = new TreeMap<>(options);
 
-            rdfMap.setResource(fileName, metafix::resolvePath);
+            metafix.putSharedMap(params.size() > 1 ? params.get(1) : fileName, "rdfmap:" + metafix.resolvePath(fileName) + settings, () -> {
+                final RdfMap rdfMap = new RdfMap();
 
-            withOption(options, RdfMap.TARGET, rdfMap::setTarget);
-            withOption(options, RdfMap.TARGET_LANGUAGE, rdfMap::setTargetLanguage);
-            withOption(options, RdfMap.SELECT, rdfMap::setSelect);
-            withOption(options, Maps.DEFAULT_MAP_KEY, rdfMap::setDefault);
+                rdfMap.setResource(fileName, metafix::resolvePath);
 
-            metafix.putMap(params.size() > 1 ? params.get(1) : fileName, rdfMap);
+                withOption(settings, RdfMap.TARGET, rdfMap::setTarget);
+                withOption(settings, RdfMap.TARGET_LANGUAGE, rdfMap::setTargetLanguage);
+                withOption(settings, RdfMap.SELECT, rdfMap::setSelect);
+                withOption(settings, RdfMap.CACHE_SIZE, rdfMap::setCacheSize, this::getInteger);
+                withOption(settings, Maps.DEFAULT_MAP_KEY, rdfMap::setDefault);
+
+                return rdfMap;
+            });
         }
     },
     put_var {
@@ -743,6 +757,7 @@ public void apply(final Metafix metafix, final Record record, final List<String>
 
     private static final Pattern NAMED_GROUP_PATTERN = Pattern.compile("\\(\\?<(.+?)>");
 
+    private static final String FILEMAP_INDEX_FILE_OPTION = "index_file";
     private static final String FILEMAP_SEPARATOR_OPTION = "sep_char";
     private static final String FILEMAP_DEFAULT_SEPARATOR = ",";
 
@@ -1,5 +1,6 @@
 package org.metafacture.metafix;
 
+import org.metafacture.commons.HashUtil;
 import org.metafacture.metafix.fix.Fix;
 import org.metafacture.metafix.validation.XtextValidator;
 
@@ -9,13 +10,34 @@
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Initialization support for running Xtext languages without Equinox extension registry.
  */
 public class FixStandaloneSetup extends FixStandaloneSetupGenerated {
 
+    private static final int MAX_CACHED_FIXES = 64;
+
+    // Parsed Fix definitions by content hash (and path for Fix files). Fix instances are not modified
+    // when they are executed, so they can be shared by several Metafix
+    // instances (also on different threads).
+    private static final Map<String, Fix> FIX_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, Fix>(MAX_CACHED_FIXES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Fix> eldest) {
+                    return size() > MAX_CACHED_FIXES;
+                }
+            });
+
     /**
      * Creates an instance of {@link FixStandaloneSetup}.
      */
@@ -38,19 +60,32 @@ public static void main(final String[] args) {
 
     /**
      * {@link XtextValidator#getValidatedResource(String, ISetup) Parses and validates}
-     * the Fix file.
+     * the Fix file. The file is only parsed again if its content has changed.
      *
      * @param path the pathname of the Fix file to parse
      *
      * @return the Fix instance
      */
     public static Fix parseFix(final String path) {
-        return (Fix) XtextValidator.getValidatedResource(path, new FixStandaloneSetup()).getContents().get(0);
+        final Path file = Paths.get(path).toAbsolutePath();
+        final String key;
+
+        try {
+            // Keep the path in the key so that error messages refer to the right file:
+            key = file + ":" + HashUtil.sha256(Files.readAllBytes(file));
+        }
+        catch (final IOException e) {
+            // Let Xtext report the unreadable file:
+            return parseUncachedFix(path);
+        }
+
+        return parseFix(key, path);
     }
 
     /**
      * {@link XtextValidator#getValidatedResource(String, ISetup) Parses and validates}
      * the Fix definition after storing it in a {@link #absPathToTempFile temporary file}.
+     * Fix definitions with the same content are only parsed once.
      *
      * @param fixDef the Fix definition to parse
      *
@@ -58,13 +93,38 @@ public static Fix parseFix(final String path) {
      */
     public static Fix parseFix(final Reader fixDef) {
         try {
-            return parseFix(absPathToTempFile(fixDef, ".fix"));
+            final String content = CharStreams.toString(fixDef);
+            final String hash = HashUtil.sha256(content.getBytes(StandardCharsets.UTF_8));
+
+            Fix fix = FIX_CACHE.get(hash);
+            if (fix == null) {
+                try (Reader reader = new StringReader(content)) {
+                    fix = parseFix(hash, absPathToTempFile(reader, ".fix"));
+                }
+            }
+
+            return fix;
         }
         catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    private static Fix parseFix(final String key, final String path) {
+        Fix fix = FIX_CACHE.get(key);
+
+        if (fix == null) {
+            fix = parseUncachedFix(path);
+            FIX_CACHE.put(key, fix);
+        }
+
+        return fix;
+    }
+
+    private static Fix parseUncachedFix(final String path) {
+        return (Fix) XtextValidator.getValidatedResource(path, new FixStandaloneSetup()).getContents().get(0);
+    }
+
     /**
      * Stores the Fix definition in a temporary file with the given suffix.
      *
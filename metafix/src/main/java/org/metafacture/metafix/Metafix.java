@@ -30,6 +30,7 @@
 import org.metafacture.mangling.StreamFlattener;
 import org.metafacture.metafix.fix.Expression;
 import org.metafacture.metamorph.api.Maps;
+import org.metafacture.metamorph.maps.SharedMaps;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +53,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * Transforms a data stream sent via the {@link StreamReceiver} interface. Uses
@@ -500,6 +502,23 @@ public Map<String, String> putMap(final String mapName, final Map<String, String
         return maps.put(mapName, map);
     }
 
+    /**
+     * Puts a map which is shared with all other instances in the process that
+     * use the same source and settings (see {@link SharedMaps}). The map is
+     * kept if it has already been put under the given name.
+     *
+     * @param mapName the name of the map
+     * @param key     the key identifying the source and settings of the map
+     * @param loader  creates and loads the map unless it is already shared
+     */
+    public void putSharedMap(final String mapName, final String key, final Supplier<? extends Map<String, String>> loader) {
+        final Map<String, String> map = maps.get(mapName);
+
+        if (!(map instanceof SharedMaps.Reference) || !((SharedMaps.Reference) map).getKey().equals(key)) {
+            putMap(mapName, SharedMaps.acquire(key, loader));
+        }
+    }
+
     @Override
     public String putValue(final String mapName, final String key, final String value) {
         return maps.computeIfAbsent(mapName, k -> new HashMap<>()).put(key, value);
@@ -319,8 +319,12 @@ protected boolean isResolvable(final String value) {
             return value != null && value.contains(Metafix.VAR_START);
         }
 
-        protected String resolveVars(final String value, final Map<String, String> vars) {
-            return value == null ? null : StringUtil.format(value, Metafix.VAR_START, Metafix.VAR_END, false, vars);
+        protected StringUtil.Template compile(final String value) {
+            return value == null ? null : StringUtil.compile(value, Metafix.VAR_START, Metafix.VAR_END);
+        }
+
+        protected String resolveVars(final StringUtil.Template template, final Map<String, String> vars) {
+            return template == null ? null : template.format(vars, false);
         }
 
         protected abstract T resolve();
@@ -330,6 +334,7 @@ protected String resolveVars(final String value, final Map<String, String> vars)
     private static class Params extends AbstractResolvable<List<String>> {
 
         private final List<String> list;
+        private final List<StringUtil.Template> templates = new ArrayList<>();
         private final RecordTransformer recordTransformer;
         private final boolean resolve;
 
@@ -338,16 +343,20 @@ private Params(final List<String> list, final RecordTransformer recordTransforme
             this.recordTransformer = recordTransformer;
 
             resolve = list.stream().anyMatch(this::isResolvable);
+
+            if (resolve) {
+                list.forEach(e -> templates.add(compile(e)));
+            }
         }
 
         @Override
         protected List<String> resolve() {
             if (resolve) {
-                final List<String> resolvedList = new ArrayList<>(list.size());
+                final List<String> resolvedList = new ArrayList<>(templates.size());
                 final Map<String, String> vars = recordTransformer.getVars();
 
-                for (final String entry : list) {
-                    resolvedList.add(resolveVars(entry, vars));
+                for (final StringUtil.Template template : templates) {
+                    resolvedList.add(resolveVars(template, vars));
                 }
 
                 return resolvedList;
@@ -362,6 +371,8 @@ protected List<String> resolve() {
     private static class Options extends AbstractResolvable<Map<String, String>> {
 
         private final Map<String, String> map = new LinkedHashMap<>();
+        private final List<StringUtil.Template> keyTemplates = new ArrayList<>();
+        private final List<StringUtil.Template> valueTemplates = new ArrayList<>();
         private final RecordTransformer recordTransformer;
         private final boolean resolve;
 
@@ -387,6 +398,13 @@ private Options(final org.metafacture.metafix.fix.Options options, final RecordT
             }
 
             resolve = resolveTemp;
+
+            if (resolve) {
+                map.forEach((k, v) -> {
+                    keyTemplates.add(compile(k));
+                    valueTemplates.add(compile(v));
+                });
+            }
         }
 
         @Override
@@ -395,8 +413,8 @@ protected Map<String, String> resolve() {
                 final Map<String, String> resolvedMap = new LinkedHashMap<>(map.size());
                 final Map<String, String> vars = recordTransformer.getVars();
 
-                for (final Map.Entry<String, String> entry : map.entrySet()) {
-                    resolvedMap.put(resolveVars(entry.getKey(), vars), resolveVars(entry.getValue(), vars));
+                for (int i = 0; i < keyTemplates.size(); ++i) {
+                    resolvedMap.put(resolveVars(keyTemplates.get(i), vars), resolveVars(valueTemplates.get(i), vars));
                 }
 
                 return resolvedMap;
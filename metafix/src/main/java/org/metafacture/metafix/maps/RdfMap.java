@@ -21,15 +21,12 @@
 import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
 
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
-import org.apache.jena.rdf.model.ResIterator;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.riot.RDFDataMgr;
-import org.apache.jena.shared.PropertyNotFoundException;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -39,8 +36,9 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.function.UnaryOperator;
 
 /**
@@ -51,6 +49,9 @@
  *
  * <strong>Important:</strong> When using a list of files make sure to set the proper separator. All lines that are not
  * split in two parts by the separator are ignored!
+ * <p>
+ * The indexes are read-only once they are loaded, so that an RDF map can be shared between several Metafix instances.
+ * Lookup results are cached in a number of independently locked stripes.
  *
  * @author Markus Michael Geipel
  * @author Pascal Christoph (dr0i)
@@ -62,26 +63,47 @@ public final class RdfMap extends AbstractReadOnlyMap<String, String> implements
     public static final String SELECT = "select";
     public static final String TARGET = "target";
     public static final String TARGET_LANGUAGE = "select_language";
+    public static final String CACHE_SIZE = "cache_size";
+
+    public static final int DEFAULT_CACHE_SIZE = 10000;
 
     private static final int MAX_REDIRECTIONS = 10;
 
     private static final int MIN_HTTP_STATUS_CODE = 299;
     private static final int MAX_HTTP_STATUS_CODE = 400;
 
+    private static final int CACHE_STRIPES = 16;
+    private static final int INITIAL_CACHE_CAPACITY = 16;
+    private static final float CACHE_LOAD_FACTOR = 0.75f;
+
     private final ArrayList<String> filenames = new ArrayList<>();
-    private final Map<String, String> map = new HashMap<>();
+    private final Map<Resource, List<Statement>> statementsBySubject = new HashMap<>();
+    private final Map<String, List<Statement>> statementsByLiteral = new HashMap<>();
+    private final List<Map<String, String>> cache = new ArrayList<>(CACHE_STRIPES);
+    private final Object initLock = new Object();
 
     private Model model;
+    private volatile String defaultValue;
+    private volatile int cacheSize = DEFAULT_CACHE_SIZE;
     private Select select = Select.DEFAULT;
     private String target;
     private String targetLanguage = "";
-    private boolean isUninitialized = true;
+    private volatile boolean isUninitialized = true;
 
     /**
      * Creates an instance of {@link RdfMap}.
      */
     public RdfMap() {
-        setDefault(null);
+        for (int i = 0; i < CACHE_STRIPES; ++i) {
+            cache.add(new LinkedHashMap<String, String>(INITIAL_CACHE_CAPACITY, CACHE_LOAD_FACTOR, true) {
+                private static final long serialVersionUID = 0L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                    return size() > (cacheSize + CACHE_STRIPES - 1) / CACHE_STRIPES;
+                }
+            });
+        }
     }
 
     private boolean isURI(final String name) {
@@ -89,6 +111,15 @@ private boolean isURI(final String name) {
     }
 
     private void init() {
+        synchronized (initLock) {
+            if (isUninitialized) {
+                loadModel();
+                isUninitialized = false;
+            }
+        }
+    }
+
+    private void loadModel() {
         filenames.forEach(this::loadFile);
 
         if (!isURI(target)) {
@@ -96,7 +127,7 @@ private void init() {
             target = nsPrefixAndProperty.length == 2 ? model.getNsPrefixURI(nsPrefixAndProperty[0]) + nsPrefixAndProperty[1] : nsPrefixAndProperty[0];
         }
 
-        isUninitialized = false;
+        buildIndex();
     }
 
     /**
@@ -148,7 +179,9 @@ private void loadFile(final String file) {
      * (to be set in {@link RdfMap#setTarget(String)}) and an optional language tag (to be set in
      * {@link RdfMap#setTargetLanguage}).
      * <br>
-     * The Map acts as a cache.
+     * The statements of the targeted Property are indexed by Subject and by literal when the model is loaded, so
+     * that lookups do not have to iterate over the model. Results are kept in a bounded cache (see
+     * {@link #setCacheSize(int)}).
      * <p>
      * To minimize the need of parameters three different querying modes are gone through. If one fails, the next one is
      * tried:
@@ -164,103 +197,110 @@ private void loadFile(final String file) {
     @Override
     public String get(final Object key) {
         final String resourceName = key.toString();
-        String result = null;
+        return Maps.DEFAULT_MAP_KEY.equals(resourceName) ? defaultValue : cachedLookup(resourceName);
+    }
+
+    private String cachedLookup(final String resourceName) {
+        final Map<String, String> stripe = cache.get(Math.floorMod(resourceName.hashCode(), CACHE_STRIPES));
+        final boolean isCached;
+        String result;
 
-        if (map.containsKey(resourceName)) {
-            result = map.get(resourceName);
+        synchronized (stripe) {
+            isCached = stripe.containsKey(resourceName);
+            result = stripe.get(resourceName);
         }
-        else {
-            if (isUninitialized) {
-                init();
-            }
 
-            final Resource resource = ResourceFactory.createResource(resourceName);
-            final Property targetProperty = ResourceFactory.createProperty(target);
+        if (!isCached) {
+            result = lookup(resourceName);
 
-            try {
-                if (select.equals(Select.SUBJECT)) {
-                    result = getSubjectUsingPropertyAndLiteral(resourceName, targetProperty);
-                }
-                else {
-                    // 1. try to get LITERAL using SUBJECT and PROPERTY
-                    if (!targetLanguage.isEmpty()) {
-                        result = model.getRequiredProperty(resource, targetProperty, targetLanguage).getString();
-                    }
-                    else {
-                        result = model.getRequiredProperty(resource, targetProperty).getString();
-                    }
-                }
+            synchronized (stripe) {
+                stripe.put(resourceName, result);
             }
-            catch (final PropertyNotFoundException | NullPointerException | NoSuchElementException e) {
+        }
+
+        return result;
+    }
+
+    private String lookup(final String resourceName) {
+        if (isUninitialized) {
+            init();
+        }
+
+        String result;
+
+        if (select.equals(Select.SUBJECT)) {
+            result = getSubjectUsingPropertyAndLiteral(resourceName);
+        }
+        else {
+            // 1. try to get LITERAL using SUBJECT and PROPERTY
+            result = getLiteralOfSubject(ResourceFactory.createResource(resourceName));
+
+            if (result == null) {
                 // 2. try to get SUBJECT using PROPERTY and LITERAL
                 if (select.equals(Select.DEFAULT)) {
-                    result = getSubjectUsingPropertyAndLiteral(resourceName, targetProperty);
+                    result = getSubjectUsingPropertyAndLiteral(resourceName);
                 }
                 // 3. try to get LITERAL of PREDICATE A using PREDICATE B
-                if (!select.equals(Select.SUBJECT)) {
-                    if (result == null) {
-                        result = getLiteralOfPredicateUsingOtherPredicate(resourceName, targetProperty);
-                    }
+                if (result == null) {
+                    result = getLiteralOfPredicateUsingOtherPredicate(resourceName);
                 }
             }
-
-            map.put(resourceName, result);
         }
 
         return result;
     }
 
-    private String getLiteralOfPredicateUsingOtherPredicate(final String resourceName, final Property targetProperty) {
-        final ResIterator iter = model.listSubjectsWithProperty(targetProperty);
-        String result = map.get(Maps.DEFAULT_MAP_KEY);
+    private void buildIndex() {
+        final StmtIterator iter = model.listStatements(null, ResourceFactory.createProperty(target), (RDFNode) null);
 
-        while (iter.hasNext()) {
-            final Resource resource = iter.nextResource();
-            final StmtIterator iterProp = resource.listProperties(targetProperty);
-
-            while (iterProp.hasNext()) {
-                final Statement stmt = iterProp.nextStatement();
+        try {
+            while (iter.hasNext()) {
+                final Statement stmt = iter.nextStatement();
 
-                if (stmt.getObject().asLiteral().getString().equals(resourceName)) {
-                    final StmtIterator subIterProp = resource.listProperties(targetProperty);
+                if (stmt.getObject().isLiteral()) {
+                    statementsBySubject.computeIfAbsent(stmt.getSubject(), k -> new ArrayList<>(1)).add(stmt);
+                    statementsByLiteral.computeIfAbsent(stmt.getString(), k -> new ArrayList<>(1)).add(stmt);
+                }
+            }
+        }
+        finally {
+            iter.close();
+        }
+    }
 
-                    while (subIterProp.hasNext()) {
-                        final Statement subStmt = subIterProp.nextStatement();
+    private String getLiteralOfSubject(final Resource resource) {
+        String result = null;
 
-                        if (subStmt.getLanguage().equals(targetLanguage) && !subStmt.getString().equals(resourceName)) {
-                            result = subStmt.getString();
-                        }
-                    }
-                }
+        for (final Statement stmt : statementsBySubject.getOrDefault(resource, Collections.emptyList())) {
+            if (targetLanguage.isEmpty() || stmt.getLanguage().equals(targetLanguage)) {
+                result = stmt.getString();
+                break;
             }
         }
 
         return result;
     }
 
-    private String getSubjectUsingPropertyAndLiteral(final String resourceName, final Property targetProperty) {
-        final ResIterator iter = model.listSubjectsWithProperty(targetProperty);
-        String result = map.get(Maps.DEFAULT_MAP_KEY);
+    private String getLiteralOfPredicateUsingOtherPredicate(final String resourceName) {
+        String result = defaultValue;
 
-        while (iter.hasNext()) {
-            final Resource resource = iter.nextResource();
-            final StmtIterator stmtIterator = resource.listProperties(targetProperty);
+        for (final Statement stmt : statementsByLiteral.getOrDefault(resourceName, Collections.emptyList())) {
+            for (final Statement subStmt : statementsBySubject.get(stmt.getSubject())) {
+                if (subStmt.getLanguage().equals(targetLanguage) && !subStmt.getString().equals(resourceName)) {
+                    result = subStmt.getString();
+                }
+            }
+        }
+
+        return result;
+    }
 
-            while (stmtIterator.hasNext()) {
-                final RDFNode node = stmtIterator.next().getObject();
+    private String getSubjectUsingPropertyAndLiteral(final String resourceName) {
+        String result = defaultValue;
 
-                if (!targetLanguage.isEmpty()) {
-                    if (node.asLiteral().toString().equals(resourceName + "@" + targetLanguage)) {
-                        result = resource.getURI();
-                        break;
-                    }
-                }
-                else {
-                    if (node.asLiteral().getString().equals(resourceName)) {
-                        result = resource.getURI();
-                        break;
-                    }
-                }
+        for (final Statement stmt : statementsByLiteral.getOrDefault(resourceName, Collections.emptyList())) {
+            if (targetLanguage.isEmpty() || stmt.getLanguage().equals(targetLanguage)) {
+                result = stmt.getSubject().getURI();
             }
         }
 
@@ -346,7 +386,21 @@ else if (Select.OBJECT.name().equalsIgnoreCase(position)) {
      * @param defaultValue the default value returned
      */
     public void setDefault(final String defaultValue) {
-        map.put(Maps.DEFAULT_MAP_KEY, defaultValue);
+        this.defaultValue = defaultValue;
+        clearCache();
+    }
+
+    /**
+     * Sets the maximum number of cached lookup results. Set to 0 to disable
+     * caching. The limit is split evenly between the cache stripes.
+     * <br>
+     * <strong>Default value: {@value #DEFAULT_CACHE_SIZE}</strong>
+     *
+     * @param cacheSize the maximum number of cached lookup results
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+        clearCache();
     }
 
     /**
@@ -395,12 +449,25 @@ private String read(final String url) throws IOException {
         return conn.getURL().toString();
     }
 
+    private void clearCache() {
+        for (final Map<String, String> stripe : cache) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
     @Override
     public void close() {
-        map.clear();
+        clearCache();
+
+        synchronized (initLock) {
+            statementsBySubject.clear();
+            statementsByLiteral.clear();
 
-        if (model != null) {
-            model.close();
+            if (model != null) {
+                model.close();
+            }
         }
     }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metafix;
+
+import org.metafacture.metafix.fix.Fix;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests the cache of parsed Fix definitions.
+ */
+public class FixStandaloneSetupTest {
+
+    @TempDir
+    public Path tempDir;
+
+    public FixStandaloneSetupTest() {
+    }
+
+    @Test
+    public void shouldParseSameFixDefinitionOnlyOnce() {
+        final Fix fix = FixStandaloneSetup.parseFix(new StringReader("copy_field(a,b)"));
+
+        Assertions.assertSame(fix, FixStandaloneSetup.parseFix(new StringReader("copy_field(a,b)")));
+    }
+
+    @Test
+    public void shouldParseDifferentFixDefinitionsSeparately() {
+        final Fix fix = FixStandaloneSetup.parseFix(new StringReader("copy_field(a,b)"));
+
+        Assertions.assertNotSame(fix, FixStandaloneSetup.parseFix(new StringReader("copy_field(a,c)")));
+    }
+
+    @Test
+    public void shouldParseUnchangedFixFileOnlyOnce() throws IOException {
+        final Path file = writeFix("test.fix", "move_field(x,y)");
+        final Fix fix = FixStandaloneSetup.parseFix(file.toString());
+
+        Assertions.assertSame(fix, FixStandaloneSetup.parseFix(file.toString()));
+    }
+
+    @Test
+    public void shouldParseChangedFixFileAgain() throws IOException {
+        final Path file = writeFix("test.fix", "move_field(x,y)");
+        final Fix fix = FixStandaloneSetup.parseFix(file.toString());
+
+        writeFix("test.fix", "move_field(x,z)");
+
+        Assertions.assertNotSame(fix, FixStandaloneSetup.parseFix(file.toString()));
+    }
+
+    private Path writeFix(final String name, final String content) throws IOException {
+        return Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
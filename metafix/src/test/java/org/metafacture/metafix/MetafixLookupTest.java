@@ -1322,6 +1322,31 @@ public void shouldLookupInExternalRdfMapGetSubjectOfPropertyWithTargetedPredicat
         );
     }
 
+    @Test
+    public void shouldLookupInExternalRdfMapWithoutCache() {
+        MetafixTestHelpers.assertFix(streamReceiver, Arrays.asList(
+                "put_rdfmap('" + HCRT_RDF_MAP + "', 'rdfmap', target: 'skos:prefLabel', cache_size: '0')",
+                "lookup('a', 'rdfmap')"
+            ),
+            i -> {
+                i.startRecord("1");
+                i.literal("a", "Softwareanwendung");
+                i.endRecord();
+                i.startRecord("2");
+                i.literal("a", "Softwareanwendung");
+                i.endRecord();
+            },
+            o -> {
+                o.get().startRecord("1");
+                o.get().literal("a", "https://w3id.org/kim/hcrt/application");
+                o.get().endRecord();
+                o.get().startRecord("2");
+                o.get().literal("a", "https://w3id.org/kim/hcrt/application");
+                o.get().endRecord();
+            }
+        );
+    }
+
     @Test
     public void lookupRdfDefinedPropertyToSubjectNonDefault() {
         MetafixTestHelpers.assertFix(streamReceiver, Arrays.asList(
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.api.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Combines a sequence of {@link AbstractSimpleStatelessFunction}s into a
+ * single function. Values are passed directly from one function to the next
+ * instead of through the receive methods of the functions. If one of the
+ * functions returns no result, the remaining functions are skipped.
+ */
+public final class FunctionChain extends AbstractSimpleStatelessFunction {
+
+    private AbstractSimpleStatelessFunction[] functions;
+
+    /**
+     * Creates an instance of {@link FunctionChain} from the first two
+     * functions of the sequence.
+     *
+     * @param first  the first function
+     * @param second the second function
+     */
+    public FunctionChain(final AbstractSimpleStatelessFunction first, final AbstractSimpleStatelessFunction second) {
+        functions = new AbstractSimpleStatelessFunction[] {first, second};
+    }
+
+    /**
+     * Appends a function to the sequence.
+     *
+     * @param function the function
+     */
+    public void append(final AbstractSimpleStatelessFunction function) {
+        functions = Arrays.copyOf(functions, functions.length + 1);
+        functions[functions.length - 1] = function;
+    }
+
+    /**
+     * Gets the number of functions in the sequence.
+     *
+     * @return the number of functions
+     */
+    public int size() {
+        return functions.length;
+    }
+
+    @Override
+    protected String process(final String value) {
+        String result = value;
+        for (int i = 0; i < functions.length && result != null; ++i) {
+            result = functions[i].process(result);
+        }
+        return result;
+    }
+
+}
@@ -19,7 +19,6 @@
 import org.metafacture.commons.StringUtil;
 import org.metafacture.commons.types.ScopedHashMap;
 import org.metafacture.metamorph.api.MorphBuildException;
-import org.metafacture.metamorph.xml.DomLoader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -123,10 +122,40 @@ public final void walk(final InputSource morphScript, final Map<String, String>
      * @param morphScript the morph definition as {@link InputSource}.
      */
     public final void walk(final InputSource morphScript) {
-        walk(DomLoader.parse(SCHEMA_FILE, morphScript));
+        walk(parse(morphScript));
+    }
+
+    /**
+     * Walks the DOM of a parsed morph definition. Respects the Metamorph
+     * variables.
+     *
+     * @param doc     the parsed morph definition
+     * @param newVars the Map of Metamorph variables
+     */
+    final void walk(final Document doc, final Map<String, String> newVars) {
+        vars.putAll(newVars);
+        walk(doc);
+    }
+
+    /**
+     * Parses and validates a morph definition.
+     *
+     * @param morphScript the morph definition as {@link InputSource}
+     * @return the DOM of the morph definition
+     */
+    static Document parse(final InputSource morphScript) {
+        return ParsedMorphCache.parse(SCHEMA_FILE, morphScript);
     }
 
     protected final void walk(final Document doc) {
+        // Parsed definitions are shared (see ParsedMorphCache) and the DOM
+        // must not be read concurrently:
+        synchronized (doc) {
+            walkDocument(doc);
+        }
+    }
+
+    private void walkDocument(final Document doc) {
         functionFactory = new FunctionFactory();
         collectFactory = new CollectFactory();
         collectFactory.registerClass(ENTITY, Entity.class);
@@ -38,6 +38,7 @@
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 
 import java.io.Closeable;
@@ -291,21 +292,35 @@ public Metamorph(final InputSource inputSource, final InterceptorFactory interce
      */
     public Metamorph(final InputSource inputSource, final Map<String, String> vars,
             final InterceptorFactory interceptorFactory) {
-        buildPipeline(inputSource, vars, interceptorFactory);
+        buildPipeline(b -> b.walk(inputSource, vars), interceptorFactory);
         init();
     }
 
-    private void buildPipeline(final InputSource inputSource, final Map<String, String> vars, final InterceptorFactory interceptorFactory) {
+    /**
+     * Creates an instance of {@link Metamorph} from an already parsed morph
+     * definition, a Map of variables and an {@link InterceptorFactory}.
+     *
+     * @param morphDef           the DOM of the morph definition
+     * @param vars               the Map of variables
+     * @param interceptorFactory the InterceptorFactory
+     */
+    Metamorph(final Document morphDef, final Map<String, String> vars,
+            final InterceptorFactory interceptorFactory) {
+        buildPipeline(b -> b.walk(morphDef, vars), interceptorFactory);
+        init();
+    }
+
+    private void buildPipeline(final Consumer<MorphBuilder> walker, final InterceptorFactory interceptorFactory) {
         try {
             final MorphBuilder builder = new MorphBuilder(this, interceptorFactory);
-            builder.walk(inputSource, vars);
+            walker.accept(builder);
         }
         catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
             throw new MetamorphException("Error while building the Metamorph transformation pipeline: " + e.getMessage(), e);
         }
     }
 
-    private static InputSource getInputSource(final String morphDef) {
+    static InputSource getInputSource(final String morphDef) {
         try {
             return new InputSource(ResourceUtil.getUrl(morphDef).toExternalForm());
         }
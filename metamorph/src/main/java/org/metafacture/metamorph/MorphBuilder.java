@@ -26,6 +26,9 @@
 import org.metafacture.metamorph.api.Maps;
 import org.metafacture.metamorph.api.MorphBuildException;
 import org.metafacture.metamorph.api.NamedValuePipe;
+import org.metafacture.metamorph.api.helpers.AbstractSimpleStatelessFunction;
+import org.metafacture.metamorph.api.helpers.FunctionChain;
+import org.metafacture.metamorph.maps.SharedMaps;
 import org.metafacture.metamorph.xml.Location;
 
 import org.w3c.dom.Node;
@@ -33,10 +36,18 @@
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 /**
  * Builds a {@link Metamorph} from an xml description
+ * <p>
+ * Consecutive simple stateless functions (e.g. {@code replace},
+ * {@code substring} or {@code lookup}) in a data or collect statement are
+ * combined into a {@link FunctionChain}, so that values are passed directly
+ * from one function to the next. This is enabled by setting the system
+ * property {@value #FUSE_FUNCTIONS_PROPERTY} to {@code true}. Functions are
+ * not combined if interceptors are used or if they are flushed.
  *
  * @author Markus Michael Geipel
  * @author Christoph Böhme
@@ -44,9 +55,12 @@
  */
 public final class MorphBuilder extends AbstractMetamorphDomWalker {
 
+    public static final String FUSE_FUNCTIONS_PROPERTY = "org.metafacture.metamorph.fuseFunctions";
+
     private static final String NOT_FOUND = " not found.";
     private static final String JAVA = "java";
     private static final String JAVAMAP = "javamap";
+    private static final String FILEMAP = "filemap";
     private static final String RECORD = "record";
     private static final String OR_STRING = "|";
     private static final Pattern OR_PATTERN = Pattern.compile(OR_STRING, Pattern.LITERAL);
@@ -54,10 +68,12 @@ public final class MorphBuilder extends AbstractMetamorphDomWalker {
     private final Metamorph metamorph;
     private final InterceptorFactory interceptorFactory;
     private final Deque<StackFrame> stack = new LinkedList<StackFrame>();
+    private final boolean fuseFunctions;
 
     protected MorphBuilder(final Metamorph metamorph, final InterceptorFactory interceptorFactory) {
         this.metamorph = metamorph;
         this.interceptorFactory = interceptorFactory;
+        fuseFunctions = Boolean.getBoolean(FUSE_FUNCTIONS_PROPERTY);
         stack.push(new StackFrame(metamorph));
     }
 
@@ -98,6 +114,11 @@ protected void handleMapClass(final Node mapNode) {
                     ReflectionUtil.loadClass(className, Map.class);
             map = mapClass.newInstance(attributes);
         }
+        else if (mapNode.getLocalName().equals(FILEMAP)) {
+            // File maps are read-only, so all instances with the same settings share one map
+            map = SharedMaps.acquire(FILEMAP + new TreeMap<>(attributes),
+                    () -> getMapFactory().newInstance(FILEMAP, attributes));
+        }
         else if (getMapFactory().containsKey(mapNode.getLocalName())) {
             map = getMapFactory().newInstance(mapNode.getLocalName(), attributes);
         }
@@ -312,6 +333,7 @@ private void registerFlush(final String flushWith, final FlushListener flushList
     protected void handleFunction(final Node functionNode) {
         final Function function;
         final Map<String, String> attributes = resolvedAttributeMap(functionNode);
+        boolean flushed = false;
         if (functionNode.getLocalName().equals(JAVA)) {
             final String className = resolvedAttribute(functionNode,
                     AttributeName.CLASS);
@@ -325,6 +347,7 @@ else if (getFunctionFactory().containsKey(functionNode.getLocalName())) {
             function = getFunctionFactory().newInstance(functionNode.getLocalName(), attributes);
             if (null != flushWith) {
                 registerFlush(flushWith, function);
+                flushed = true;
             }
         }
         else {
@@ -346,17 +369,40 @@ else if (getFunctionFactory().containsKey(functionNode.getLocalName())) {
         final StackFrame head = stack.peek();
 
         final NamedValuePipe interceptor = interceptorFactory.createNamedValueInterceptor();
-        final NamedValuePipe delegate;
-        if (interceptor == null) {
-            delegate = function;
+        final boolean fusable = fuseFunctions && interceptor == null && !flushed &&
+                function instanceof AbstractSimpleStatelessFunction;
+
+        if (fusable && head.getChainSource() != null) {
+            appendToFunctionChain(head, (AbstractSimpleStatelessFunction) function);
         }
         else {
-            delegate = interceptor;
-            function.addNamedValueSource(delegate);
+            final NamedValuePipe delegate;
+            if (interceptor == null) {
+                delegate = function;
+            }
+            else {
+                delegate = interceptor;
+                function.addNamedValueSource(delegate);
+            }
+            delegate.addNamedValueSource(head.getPipe());
+
+            head.setChainSource(fusable ? head.getPipe() : null);
+            head.setPipe(function);
         }
-        delegate.addNamedValueSource(head.getPipe());
+    }
 
-        head.setPipe(function);
+    private void appendToFunctionChain(final StackFrame head, final AbstractSimpleStatelessFunction function) {
+        final NamedValuePipe pipe = head.getPipe();
+        if (pipe instanceof FunctionChain) {
+            ((FunctionChain) pipe).append(function);
+        }
+        else {
+            // Protected by the chain source, which is only set for simple stateless functions:
+            final FunctionChain chain = new FunctionChain((AbstractSimpleStatelessFunction) pipe, function);
+            chain.setSourceLocation(pipe.getSourceLocation());
+            chain.addNamedValueSource(head.getChainSource());
+            head.setPipe(chain);
+        }
     }
 
     private XmlSourceLocation getSourceLocation(final Node node) {
@@ -369,6 +415,7 @@ private static final class StackFrame {
         private final NamedValuePipe headPipe;
 
         private NamedValuePipe pipe;
+        private NamedValuePipe chainSource;
         private boolean inEntityName;
         private boolean inCondition;
 
@@ -389,6 +436,14 @@ public NamedValuePipe getPipe() {
             return pipe;
         }
 
+        public void setChainSource(final NamedValuePipe chainSource) {
+            this.chainSource = chainSource;
+        }
+
+        public NamedValuePipe getChainSource() {
+            return chainSource;
+        }
+
         public void setInEntityName(final boolean inEntityName) {
             this.inEntityName = inEntityName;
         }
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph;
+
+import org.metafacture.flowcontrol.StreamBuffer;
+import org.metafacture.framework.Asynchronous;
+import org.metafacture.framework.FluxCommand;
+import org.metafacture.framework.MetafactureException;
+import org.metafacture.framework.StreamReceiver;
+import org.metafacture.framework.annotations.Description;
+import org.metafacture.framework.annotations.In;
+import org.metafacture.framework.annotations.Out;
+import org.metafacture.framework.helpers.DefaultStreamPipe;
+import org.metafacture.framework.helpers.DefaultStreamReceiver;
+import org.metafacture.metamorph.api.InterceptorFactory;
+
+import org.w3c.dom.Document;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Applies a {@link Metamorph} transformation to the records of a stream on a
+ * pool of threads. The morph definition is parsed once; each thread builds
+ * its own {@link Metamorph} from the parsed definition. File maps are shared
+ * between the instances (see {@link org.metafacture.metamorph.maps.SharedMaps}).
+ * The transformed records are passed to the receiver in the order in which
+ * they were received, so the receiver is always called from the thread
+ * sending the records.
+ * <p>
+ * Each record is transformed independently. State which a morph keeps
+ * across records (e.g. the record count or {@code unique} functions) is kept
+ * per thread.
+ */
+@Description("Applies a metamorph transformation to the records of the event stream on several threads and emits the results in input order. " +
+        "Metamorph definition is given in brackets. Set `threads` to the number of threads (default: number of processors).")
+@In(StreamReceiver.class)
+@Out(StreamReceiver.class)
+@FluxCommand("parallel-morph")
+public final class ParallelMetamorph extends DefaultStreamPipe<StreamReceiver> implements Asynchronous {
+
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final int PENDING_RECORDS_PER_THREAD = 64;
+
+    private static final InterceptorFactory NULL_INTERCEPTOR_FACTORY = new NullInterceptorFactory();
+
+    private final Document morphDef;
+    private final Map<String, String> vars;
+
+    private final Deque<Future<StreamBuffer>> pendingRecords = new ArrayDeque<>();
+    private final List<Metamorph> metamorphs = Collections.synchronizedList(new ArrayList<>());
+    private final ThreadLocal<Metamorph> threadMetamorphs = ThreadLocal.withInitial(this::newMetamorph);
+
+    private int threads = DEFAULT_THREADS;
+    private ExecutorService executor;
+    private StreamBuffer currentRecord;
+
+    /**
+     * Creates an instance of {@link ParallelMetamorph} given by a morph
+     * definition.
+     *
+     * @param morphDef the morph definition
+     */
+    public ParallelMetamorph(final String morphDef) {
+        this(morphDef, Collections.emptyMap());
+    }
+
+    /**
+     * Creates an instance of {@link ParallelMetamorph} given by a morph
+     * definition and morph variables as a Map.
+     *
+     * @param morphDef the morph definition
+     * @param vars     the morph variables as a Map
+     */
+    public ParallelMetamorph(final String morphDef, final Map<String, String> vars) {
+        try {
+            this.morphDef = AbstractMetamorphDomWalker.parse(Metamorph.getInputSource(morphDef));
+        }
+        catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
+            throw new MetamorphException("Error while building the Metamorph transformation pipeline: " + e.getMessage(), e);
+        }
+
+        this.vars = vars;
+    }
+
+    /**
+     * Sets the number of threads transforming records. If set to 1, records
+     * are transformed in the calling thread. The default is the number of
+     * available processors.
+     *
+     * @param threads the number of threads
+     */
+    public void setThreads(final int threads) {
+        if (executor != null) {
+            throw new IllegalStateException("Threads cannot be changed while processing.");
+        }
+
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Gets the number of threads transforming records.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return threads > 1;
+    }
+
+    @Override
+    public void startRecord(final String identifier) {
+        assert !isClosed();
+        currentRecord = new StreamBuffer();
+        currentRecord.startRecord(identifier);
+    }
+
+    @Override
+    public void endRecord() {
+        assert !isClosed();
+        final StreamBuffer record = getCurrentRecord();
+        record.endRecord();
+        currentRecord = null;
+
+        if (threads == 1) {
+            final StreamBuffer output = transform(record);
+            output.setReceiver(getReceiver());
+            output.replay();
+            return;
+        }
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        pendingRecords.add(executor.submit(() -> transform(record)));
+
+        final int maxPendingRecords = threads * PENDING_RECORDS_PER_THREAD;
+        while (pendingRecords.size() > maxPendingRecords || !pendingRecords.isEmpty() && pendingRecords.peekFirst().isDone()) {
+            emitNextRecord();
+        }
+    }
+
+    @Override
+    public void startEntity(final String name) {
+        assert !isClosed();
+        getCurrentRecord().startEntity(name);
+    }
+
+    @Override
+    public void endEntity() {
+        assert !isClosed();
+        getCurrentRecord().endEntity();
+    }
+
+    @Override
+    public void literal(final String name, final String value) {
+        assert !isClosed();
+        getCurrentRecord().literal(name, value);
+    }
+
+    @Override
+    protected void onResetStream() {
+        currentRecord = null;
+        emitPendingRecords();
+    }
+
+    @Override
+    protected void onCloseStream() {
+        try {
+            emitPendingRecords();
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+
+            synchronized (metamorphs) {
+                for (final Metamorph metamorph : metamorphs) {
+                    // Do not close the receiver once for each thread:
+                    metamorph.setReceiver(new DefaultStreamReceiver());
+                    metamorph.closeStream();
+                }
+                metamorphs.clear();
+            }
+        }
+    }
+
+    private StreamBuffer getCurrentRecord() {
+        if (currentRecord == null) {
+            currentRecord = new StreamBuffer();
+        }
+        return currentRecord;
+    }
+
+    private StreamBuffer transform(final StreamBuffer record) {
+        final Metamorph metamorph = threadMetamorphs.get();
+        final StreamBuffer output = new StreamBuffer();
+        metamorph.setReceiver(output);
+
+        record.setReceiver(metamorph);
+        record.replay();
+
+        return output;
+    }
+
+    private void emitPendingRecords() {
+        while (!pendingRecords.isEmpty()) {
+            emitNextRecord();
+        }
+    }
+
+    private void emitNextRecord() {
+        final Future<StreamBuffer> record = pendingRecords.removeFirst();
+
+        try {
+            final StreamBuffer output = record.get();
+            output.setReceiver(getReceiver());
+            output.replay();
+        }
+        catch (final ExecutionException e) {
+            pendingRecords.forEach(f -> f.cancel(true));
+            pendingRecords.clear();
+            throw new MetafactureException(e.getCause());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetafactureException(e);
+        }
+    }
+
+    private Metamorph newMetamorph() {
+        final Metamorph metamorph = new Metamorph(morphDef, vars, NULL_INTERCEPTOR_FACTORY);
+        metamorphs.add(metamorph);
+        return metamorph;
+    }
+
+}
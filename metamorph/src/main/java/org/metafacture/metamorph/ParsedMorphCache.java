@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph;
+
+import org.metafacture.commons.HashUtil;
+import org.metafacture.commons.ResourceUtil;
+import org.metafacture.metamorph.api.MorphBuildException;
+import org.metafacture.metamorph.xml.DomLoader;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches parsed and validated morph definitions, so that building several
+ * {@link Metamorph}s from the same definition parses and validates it only
+ * once. Definitions are identified by their system id and a hash of their
+ * content. Changes to files included via XInclude are not detected.
+ * <p>
+ * The number of cached definitions is set with the system property
+ * {@value #CACHE_SIZE_PROPERTY}; a size of 0 disables the cache.
+ */
+final class ParsedMorphCache {
+
+    public static final String CACHE_SIZE_PROPERTY = "org.metafacture.metamorph.parsedMorphCacheSize";
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final int CACHE_SIZE = Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE);
+
+    private static final Map<String, Document> CACHE = new LinkedHashMap<String, Document>(16, 0.75f, true) { // checkstyle-disable-line MagicNumber
+        private static final long serialVersionUID = 0L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Document> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private ParsedMorphCache() {
+        throw new AssertionError("No instances allowed");
+    }
+
+    /**
+     * Parses and validates a morph definition or returns the cached result of
+     * parsing the same definition before. The returned {@link Document} may
+     * be shared and must not be modified or read concurrently.
+     *
+     * @param schemaFile the name of the file of the schema
+     * @param input      the morph definition
+     * @return the DOM of the morph definition
+     */
+    static Document parse(final String schemaFile, final InputSource input) {
+        if (CACHE_SIZE <= 0) {
+            return DomLoader.parse(schemaFile, input);
+        }
+
+        final InputSource content;
+        final String hash;
+        try {
+            if (input.getCharacterStream() != null) {
+                final String chars = ResourceUtil.readAll(input.getCharacterStream());
+                content = new InputSource(new StringReader(chars));
+                hash = HashUtil.sha256(chars.getBytes(StandardCharsets.UTF_8));
+            }
+            else {
+                final byte[] bytes = readBytes(input);
+                content = new InputSource(new ByteArrayInputStream(bytes));
+                content.setEncoding(input.getEncoding());
+                hash = HashUtil.sha256(bytes);
+            }
+        }
+        catch (final IOException e) {
+            throw new MorphBuildException("Could not load morph definition", e);
+        }
+
+        content.setSystemId(input.getSystemId());
+        content.setPublicId(input.getPublicId());
+
+        final String key = schemaFile + "|" + input.getSystemId() + "|" + hash;
+
+        Document document;
+        synchronized (CACHE) {
+            document = CACHE.get(key);
+        }
+
+        if (document == null) {
+            document = DomLoader.parse(schemaFile, content);
+            synchronized (CACHE) {
+                CACHE.put(key, document);
+            }
+        }
+
+        return document;
+    }
+
+    private static byte[] readBytes(final InputSource input) throws IOException {
+        if (input.getByteStream() != null) {
+            return input.getByteStream().readAllBytes();
+        }
+
+        try (InputStream stream = new URL(input.getSystemId()).openStream()) {
+            return stream.readAllBytes();
+        }
+    }
+
+}
@@ -36,6 +36,9 @@ public final class Combine extends AbstractFlushingCollect {
     private final Set<NamedValueSource> sources = new HashSet<NamedValueSource>();
     private final Set<NamedValueSource> sourcesLeft = new HashSet<NamedValueSource>();
 
+    private StringUtil.Template nameTemplate;
+    private StringUtil.Template valueTemplate;
+
     /**
      * Creates an instance of {@link Combine}.
      */
@@ -44,8 +47,13 @@ public Combine() {
 
     @Override
     protected void emit() {
-        final String name = StringUtil.format(getName(), variables);
-        final String value = StringUtil.format(getValue(), variables);
+        if (nameTemplate == null) {
+            nameTemplate = StringUtil.compile(getName());
+            valueTemplate = StringUtil.compile(getValue());
+        }
+
+        final String name = nameTemplate.format(variables);
+        final String value = valueTemplate.format(variables);
         getNamedValueReceiver().receive(name, value, this, getRecordCount(), getEntityCount());
     }
 
@@ -36,6 +36,9 @@ public final class EqualsFilter extends AbstractFlushingCollect {
     private final Map<String, String> variables = new HashMap<String, String>();
     private final Set<NamedValueSource> sources = new HashSet<NamedValueSource>();
     private final Set<NamedValueSource> sourcesLeft = new HashSet<NamedValueSource>();
+
+    private StringUtil.Template nameTemplate;
+    private StringUtil.Template valueTemplate;
     private boolean isEqual = true;
 
     /**
@@ -46,8 +49,13 @@ public EqualsFilter() {
 
     @Override
     protected void emit() {
-        final String name = StringUtil.format(getName(), variables);
-        final String value = StringUtil.format(getValue(), variables);
+        if (nameTemplate == null) {
+            nameTemplate = StringUtil.compile(getName());
+            valueTemplate = StringUtil.compile(getValue());
+        }
+
+        final String name = nameTemplate.format(variables);
+        final String value = valueTemplate.format(variables);
         if (isEqual) {
             getNamedValueReceiver().receive(name, value, this, getRecordCount(), getEntityCount());
         }
@@ -36,7 +36,7 @@ public final class Occurrence extends AbstractStatefulFunction {
     public static final String MORE_THAN = "moreThan ";
     public static final boolean SAME_ENTITY = false;
     private int count;
-    private String format;
+    private StringUtil.Template format;
 
     private IntFilter filter = new IntFilter() {
         @Override
@@ -69,7 +69,7 @@ private String processMatch(final String value) {
         }
         variables.put("value", value);
         variables.put("count", String.valueOf(count));
-        return StringUtil.format(format, variables);
+        return format.format(variables);
     }
 
     /**
@@ -78,7 +78,7 @@ private String processMatch(final String value) {
      * @param format the format
      */
     public void setFormat(final String format) {
-        this.format = format;
+        this.format = StringUtil.compile(format);
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package org.metafacture.metamorph.functions;
 
+import org.metafacture.commons.RegexUtil;
 import org.metafacture.commons.StringUtil;
 import org.metafacture.metamorph.api.NamedValueSource;
 import org.metafacture.metamorph.api.helpers.AbstractFunction;
@@ -23,17 +24,20 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Performs regexp matching.
+ * Performs regexp matching. Literal patterns and literal patterns anchored at
+ * the beginning are matched without using the regex engine if no format is
+ * set.
  *
  * @author Markus Michael Geipel
  */
 public final class Regexp extends AbstractFunction {
 
     private Matcher matcher;
-    private String format;
+    private String literal;
+    private String prefix;
+    private StringUtil.Template format;
     private final Map<String, String> tempVars = new HashMap<String, String>();
 
     /**
@@ -47,8 +51,16 @@ public void receive(final String name, final String value, final NamedValueSourc
         if (null == value) {
             return;
         }
-        matcher.reset(value);
-        if (null == format) {
+        if (null == format && null != literal) {
+            receiveLiteralMatches(name, value, recordCount, entityCount);
+        }
+        else if (null == format && null != prefix) {
+            if (value.startsWith(prefix)) {
+                getNamedValueReceiver().receive(name, prefix, this, recordCount, entityCount);
+            }
+        }
+        else if (null == format) {
+            matcher.reset(value);
             while (matcher.find()) {
                 final String group = matcher.group();
                 if (!group.isEmpty()) {
@@ -58,17 +70,26 @@ public void receive(final String name, final String value, final NamedValueSourc
             }
         }
         else {
+            matcher.reset(value);
             while (matcher.find()) {
                 populateVars();
                 if (!tempVars.isEmpty()) {
                     getNamedValueReceiver().receive(name,
-                            StringUtil.format(format, tempVars), this,
+                            format.format(tempVars), this,
                             recordCount, entityCount);
                 }
             }
         }
     }
 
+    private void receiveLiteralMatches(final String name, final String value, final int recordCount, final int entityCount) {
+        int index = value.indexOf(literal);
+        while (index >= 0) {
+            getNamedValueReceiver().receive(name, literal, this, recordCount, entityCount);
+            index = value.indexOf(literal, index + literal.length());
+        }
+    }
+
     private void populateVars() {
         tempVars.clear();
         for (int i = 0; i <= matcher.groupCount(); ++i) {
@@ -85,7 +106,9 @@ private void populateVars() {
      * @param match the matcher
      */
     public void setMatch(final String match) {
-        matcher = Pattern.compile(match).matcher("");
+        matcher = RegexUtil.compile(match).matcher("");
+        literal = RegexUtil.getLiteral(match);
+        prefix = RegexUtil.getPrefix(match);
     }
 
     /**
@@ -94,7 +117,7 @@ public void setMatch(final String match) {
      * @param format the format
      */
     public void setFormat(final String format) {
-        this.format = format;
+        this.format = StringUtil.compile(format);
     }
 
 }
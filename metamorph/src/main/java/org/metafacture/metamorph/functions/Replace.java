@@ -16,19 +16,23 @@
 
 package org.metafacture.metamorph.functions;
 
+import org.metafacture.commons.RegexUtil;
 import org.metafacture.metamorph.api.helpers.AbstractSimpleStatelessFunction;
 
 import java.util.regex.Pattern;
 
 /**
- * Replaces the matches of pattern with a set value.
+ * Replaces the matches of pattern with a set value. Literal patterns with a
+ * literal replacement are replaced without using the regex engine.
  *
  * @author Markus Michael Geipel
  */
 public final class Replace extends AbstractSimpleStatelessFunction {
 
     private Pattern pattern;
+    private String literal;
     private String with;
+    private boolean literalWith;
 
     /**
      * Creates an instance of {@link Replace}.
@@ -38,6 +42,9 @@ public Replace() {
 
     @Override
     public String process(final String value) {
+        if (literal != null && literalWith) {
+            return value.replace(literal, with);
+        }
         return pattern.matcher(value).replaceAll(with);
     }
 
@@ -47,7 +54,8 @@ public String process(final String value) {
      * @param string the pattern
      */
     public void setPattern(final String string) {
-        pattern = Pattern.compile(string);
+        pattern = RegexUtil.compile(string);
+        literal = RegexUtil.getLiteral(string);
     }
 
     /**
@@ -57,6 +65,7 @@ public void setPattern(final String string) {
      */
     public void setWith(final String with) {
         this.with = with;
+        literalWith = with != null && RegexUtil.isLiteralReplacement(with);
     }
 
 }
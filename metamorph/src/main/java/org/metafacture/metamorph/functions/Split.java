@@ -16,6 +16,7 @@
 
 package org.metafacture.metamorph.functions;
 
+import org.metafacture.commons.RegexUtil;
 import org.metafacture.metamorph.api.NamedValueSource;
 import org.metafacture.metamorph.api.helpers.AbstractFunction;
 
@@ -51,7 +52,7 @@ public void receive(final String name, final String value, final NamedValueSourc
      * @param delimiter the delimiter
      */
     public void setDelimiter(final String delimiter) {
-        this.delimiterPattern = Pattern.compile(delimiter);
+        this.delimiterPattern = RegexUtil.compile(delimiter);
     }
 
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import org.metafacture.metamorph.api.MorphExecutionException;
+import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for maps which query an sql database. Results are kept in a
+ * bounded cache; keys without a result are cached as well. Lookups may be
+ * done from several threads.
+ * <p>
+ * If a batch query is set, applications using the Java API can fetch the
+ * values of several keys (e.g. all keys of a record) with a single query by
+ * calling {@link #prefetch(Iterable)}. Metamorph does not prefetch, so the
+ * batch query cannot be set in morph definitions.
+ */
+abstract class AbstractSqlMap extends AbstractReadOnlyMap<String, String> implements Closeable {
+
+    public static final int CACHE_SIZE = 10000;
+    public static final int CACHE_TTL = 3600000;
+    public static final int BATCH_SIZE = 100;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractSqlMap.class);
+
+    private static final String BATCH_PLACEHOLDER = "(?)";
+
+    private final String name;
+
+    private String query;
+    private String batchQuery;
+    private int batchSize = BATCH_SIZE;
+    private int cacheSize = CACHE_SIZE;
+    private int cacheTtl = CACHE_TTL;
+    private int negativeCacheTtl = CACHE_TTL;
+
+    private LookupCache cache;
+
+    private long queryCount;
+    private long queryTime;
+    private long maxQueryTime;
+
+    AbstractSqlMap(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Sets the query. It must contain exactly one parameter for the key and
+     * return the value in the first column.
+     *
+     * @param query the query
+     */
+    public void setQuery(final String query) {
+        this.query = query;
+    }
+
+    /**
+     * Sets the batch query used by {@link #prefetch(Iterable)}. It must
+     * contain the parameter list {@code (?)}, which is expanded to one
+     * parameter per key, and return the key in the first and the value in the
+     * second column, e.g.
+     * {@code SELECT id, name FROM authority WHERE id IN (?)}.
+     * Only used by the Java API.
+     *
+     * @param batchQuery the batch query
+     */
+    public void setBatchQuery(final String batchQuery) {
+        this.batchQuery = batchQuery;
+    }
+
+    /**
+     * Sets the maximum number of keys per batch query.
+     * <strong>Default value: {@value #BATCH_SIZE}</strong>
+     *
+     * @param batchSize the maximum number of keys per batch query
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Sets the maximum number of cached results. Set to 0 to disable
+     * caching. <strong>Default value: {@value #CACHE_SIZE}</strong>
+     *
+     * @param cacheSize the maximum number of cached results
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Sets the time to live of cached results in milliseconds.
+     * <strong>Default value: {@value #CACHE_TTL}</strong>
+     *
+     * @param cacheTtl the time to live in milliseconds
+     */
+    public void setCacheTtl(final int cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Sets the time to live of cached keys without result in milliseconds.
+     * <strong>Default value: {@value #CACHE_TTL}</strong>
+     *
+     * @param negativeCacheTtl the time to live in milliseconds
+     */
+    public void setNegativeCacheTtl(final int negativeCacheTtl) {
+        this.negativeCacheTtl = negativeCacheTtl;
+    }
+
+    /**
+     * Gets the number of queries sent to the database.
+     *
+     * @return the number of queries
+     */
+    public synchronized long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Gets the total time spent waiting for the database.
+     *
+     * @param unit the time unit of the result
+     * @return the total query time
+     */
+    public synchronized long getQueryTime(final TimeUnit unit) {
+        return unit.convert(queryTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the longest time spent waiting for a single query.
+     *
+     * @param unit the time unit of the result
+     * @return the maximum query time
+     */
+    public synchronized long getMaxQueryTime(final TimeUnit unit) {
+        return unit.convert(maxQueryTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String get(final Object key) {
+        final String keyString = key.toString();
+
+        final Optional<String> cached = getCache().get(keyString);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        String value = null;
+        try {
+            final PreparedStatement statement = prepareStatement(query);
+            try {
+                statement.setString(1, keyString);
+                try (ResultSet resultSet = executeQuery(statement)) {
+                    if (resultSet.next()) {
+                        value = resultSet.getString(1);
+                    }
+                }
+            }
+            finally {
+                releaseStatement(statement);
+            }
+        }
+        catch (final SQLException e) {
+            throw new MorphExecutionException(name + ": execution of sql query failed", e);
+        }
+
+        getCache().put(keyString, value);
+        return value;
+    }
+
+    /**
+     * Fetches the values of the given keys with as few batch queries as
+     * possible and caches them. Keys which are already cached are skipped. Does
+     * nothing if no batch query is set.
+     *
+     * @param keys the keys to fetch
+     */
+    public void prefetch(final Iterable<?> keys) {
+        if (batchQuery == null) {
+            return;
+        }
+
+        final Set<String> missingKeys = new LinkedHashSet<>();
+        for (final Object key : keys) {
+            final String keyString = key.toString();
+            if (getCache().get(keyString) == null) {
+                missingKeys.add(keyString);
+            }
+        }
+
+        final List<String> batch = new ArrayList<>(Math.min(missingKeys.size(), batchSize));
+        for (final String key : missingKeys) {
+            batch.add(key);
+            if (batch.size() == batchSize) {
+                fetchBatch(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            fetchBatch(batch);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        final long count = getQueryCount();
+        if (count > 0) {
+            LOG.info("{}: {} queries, {} ms total, {} ms max, {} cache hits", name, count,
+                    getQueryTime(TimeUnit.MILLISECONDS), getMaxQueryTime(TimeUnit.MILLISECONDS),
+                    getCache().getHits());
+        }
+
+        getCache().clear();
+    }
+
+    /**
+     * Prepares a statement for the given sql. The statement is used by the
+     * calling thread only and released with {@link #releaseStatement}.
+     *
+     * @param sql the sql
+     * @return the prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected abstract PreparedStatement prepareStatement(String sql) throws SQLException;
+
+    /**
+     * Releases a statement obtained from {@link #prepareStatement(String)}.
+     *
+     * @param statement the statement
+     * @throws SQLException if the statement cannot be released
+     */
+    protected abstract void releaseStatement(PreparedStatement statement) throws SQLException;
+
+    private void fetchBatch(final List<String> batch) {
+        final String sql = batchQuery.replace(BATCH_PLACEHOLDER,
+                "(" + String.join(",", Collections.nCopies(batch.size(), "?")) + ")");
+
+        final Set<String> missingKeys = new LinkedHashSet<>(batch);
+        try {
+            final PreparedStatement statement = prepareStatement(sql);
+            try {
+                for (int i = 0; i < batch.size(); ++i) {
+                    statement.setString(i + 1, batch.get(i));
+                }
+                try (ResultSet resultSet = executeQuery(statement)) {
+                    while (resultSet.next()) {
+                        final String key = resultSet.getString(1);
+                        if (missingKeys.remove(key)) {
+                            getCache().put(key, resultSet.getString(2));
+                        }
+                    }
+                }
+            }
+            finally {
+                releaseStatement(statement);
+            }
+        }
+        catch (final SQLException e) {
+            throw new MorphExecutionException(name + ": execution of sql batch query failed", e);
+        }
+
+        missingKeys.forEach(k -> getCache().put(k, null));
+    }
+
+    private ResultSet executeQuery(final PreparedStatement statement) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return statement.executeQuery();
+        }
+        finally {
+            recordQuery(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized void recordQuery(final long duration) {
+        ++queryCount;
+        queryTime += duration;
+        maxQueryTime = Math.max(maxQueryTime, duration);
+    }
+
+    private synchronized LookupCache getCache() {
+        if (cache == null) {
+            cache = new LookupCache(cacheSize, cacheTtl, negativeCacheTtl);
+        }
+        return cache;
+    }
+
+}
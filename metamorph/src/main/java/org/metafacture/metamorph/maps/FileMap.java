@@ -30,14 +30,21 @@
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Provides a {@link Map} based on files. Can be a single file or a
@@ -59,18 +66,32 @@
  * <p><strong>Important:</strong> Otherwise, all lines that are not split into
  * the expected number of parts by the separator are ignored!
  *
+ * <p>For large lookup tables, an {@link #setIndexFile index file} can be set.
+ * The files are then read only once into a compact index, which is
+ * memory-mapped for lookups instead of being loaded into the heap. The index
+ * file is reused as long as it is newer than the files and was built with the
+ * same settings; all maps in the process using the same index file share a
+ * single mapping.
+ *
+ * <p>Lookups are thread-safe, so that a file map can be shared between
+ * several Metamorph or Metafix instances via {@link SharedMaps}.
+ *
  * @author Markus Michael Geipel
  */
 public final class FileMap extends AbstractReadOnlyMap<String, String> implements Closeable {
 
+    private static final long FINGERPRINT_PRIME = 1099511628211L;
+
     private final FileOpener fileOpener = new FileOpener();
     private final Map<String, String> map = new HashMap<>();
 
     private ArrayList<String> filenames = new ArrayList<>();
+    private FileMapIndex index;
     private Matcher ignoreMatcher;
     private Pattern split = Pattern.compile("\t", Pattern.LITERAL);
+    private String indexFile;
     private boolean allowEmptyValues;
-    private boolean isUninitialized = true;
+    private volatile boolean isUninitialized = true;
     private int expectedColumns;
     private int keyColumn;
     private int valueColumn = 1;
@@ -81,8 +102,18 @@ public final class FileMap extends AbstractReadOnlyMap<String, String> implement
     public FileMap() {
     }
 
-    private void init() {
-        loadFiles();
+    private synchronized void init() {
+        if (!isUninitialized) {
+            return;
+        }
+
+        if (indexFile != null) {
+            final List<Path> sources = filenames.stream().flatMap(f -> toPath(f).stream()).collect(Collectors.toList());
+            index = FileMapIndex.acquire(Paths.get(indexFile), getFingerprint(), sources, this::loadFiles);
+        }
+        else {
+            loadFiles(map::put);
+        }
         isUninitialized = false;
     }
 
@@ -138,6 +169,18 @@ public void setFile(final String file) {
         Collections.addAll(filenames, file);
     }
 
+    /**
+     * Sets the file in which the map is stored as a memory-mapped index. The
+     * index is built from the {@link #setFiles files} if it does not exist
+     * yet, if it is older than one of the files or if it was built with
+     * different settings.
+     *
+     * @param indexFile the index file
+     */
+    public void setIndexFile(final String indexFile) {
+        this.indexFile = indexFile;
+    }
+
     /**
      * Sets the encoding used to open the resource.
      *
@@ -165,11 +208,11 @@ public void setDecompressConcatenated(final boolean decompressConcatenated) {
         fileOpener.setDecompressConcatenated(decompressConcatenated);
     }
 
-    private void loadFiles() {
-        filenames.forEach(this::loadFile);
+    private void loadFiles(final BiConsumer<String, String> consumer) {
+        filenames.forEach(f -> loadFile(f, consumer));
     }
 
-    private void loadFile(final String file) {
+    private void loadFile(final String file, final BiConsumer<String, String> consumer) {
         try (
                 InputStream stream = openStream(file);
                 Reader reader = fileOpener.open(stream);
@@ -189,7 +232,7 @@ private void loadFile(final String file) {
                     continue;
                 }
 
-                map.put(parts[keyColumn], parts[valueColumn]);
+                consumer.accept(parts[keyColumn], parts[valueColumn]);
             }
         }
         catch (final IOException | UncheckedIOException e) {
@@ -197,6 +240,20 @@ private void loadFile(final String file) {
         }
     }
 
+    private long getFingerprint() {
+        final String settings = String.join("\n", filenames) + "\n" + split.pattern() + "\n" +
+            (ignoreMatcher != null ? ignoreMatcher.pattern().pattern() : "") + "\n" +
+            fileOpener.getEncoding() + "\n" + fileOpener.getCompression() + "\n" +
+            fileOpener.getDecompressConcatenated() + "\n" + allowEmptyValues + "\n" +
+            expectedColumns + "\n" + keyColumn + "\n" + valueColumn;
+
+        long fingerprint = 0;
+        for (final byte b : settings.getBytes(StandardCharsets.UTF_8)) {
+            fingerprint = FINGERPRINT_PRIME * fingerprint + b;
+        }
+        return fingerprint;
+    }
+
     private boolean ignore(final String line) {
         return line.isEmpty() || ignoreMatcher != null && ignoreMatcher.reset(line).matches();
     }
@@ -221,6 +278,15 @@ private Optional<InputStream> openAsFile(final String file) {
         }
     }
 
+    private Optional<Path> toPath(final String file) {
+        try {
+            return Optional.of(Paths.get(file));
+        }
+        catch (final InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+
     private Optional<InputStream> openAsResource(final String file) {
         return Optional.ofNullable(Thread.currentThread()
                 .getContextClassLoader().getResourceAsStream(file));
@@ -280,7 +346,7 @@ public String get(final Object key) {
         if (isUninitialized) {
             init();
         }
-        return map.get(key);
+        return index != null ? index.get(key.toString()) : map.get(key);
     }
 
     @Override
@@ -288,13 +354,19 @@ public Set<String> keySet() {
         if (isUninitialized) {
             init();
         }
-        return Collections.unmodifiableSet(map.keySet());
+        return index != null ? index.keySet() : Collections.unmodifiableSet(map.keySet());
     }
 
     @Override
-    public void close() throws IOException {
+    public synchronized void close() throws IOException {
         map.clear();
         fileOpener.closeStream();
+
+        if (index != null) {
+            index.close();
+            index = null;
+            isUninitialized = true;
+        }
     }
 
 }
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import org.metafacture.metamorph.api.MorphExecutionException;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A read-only hash index of string keys and values stored in a file and
+ * memory-mapped for lookups. Keys and values are kept in the mapped file
+ * only, so the index needs no heap memory per entry. Indexes are shared
+ * process-wide: all maps which acquire the same index file use the same
+ * mapping.
+ * <p>
+ * The file consists of a header, the entries (key length, value length, key
+ * and value as UTF-8) and an open addressing table of entry offsets. The file
+ * is mapped in segments of 1 GiB; entries never cross a segment boundary.
+ */
+final class FileMapIndex implements Closeable {
+
+    private static final int MAGIC = 0x4d464d49;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int ENTRY_HEADER_SIZE = 8;
+    private static final int SLOT_SIZE = 8;
+    private static final int PADDING = -1;
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private static final int LOAD_FACTOR_DIVISOR = 3;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int BYTE_MASK = 0xff;
+    private static final int HASH_SHIFT = 32;
+
+    private static final int VERSION_POSITION = 4;
+    private static final int FINGERPRINT_POSITION = 8;
+    private static final int SIZE_POSITION = 16;
+    private static final int SLOT_COUNT_POSITION = 24;
+    private static final int SLOTS_POSITION = 32;
+
+    private static final Map<Path, FileMapIndex> INDEXES = new HashMap<>(); // checkstyle-disable-line IllegalType
+
+    private final Path file;
+    private final long fingerprint;
+    private final long size;
+    private final long slotCount;
+    private final long slotsPosition;
+
+    private ByteBuffer[] segments;
+    private int references;
+
+    private FileMapIndex(final Path file, final ByteBuffer[] segments) {
+        this.file = file;
+        this.segments = segments;
+
+        fingerprint = getLong(FINGERPRINT_POSITION);
+        size = getLong(SIZE_POSITION);
+        slotCount = getLong(SLOT_COUNT_POSITION);
+        slotsPosition = getLong(SLOTS_POSITION);
+    }
+
+    /**
+     * Acquires the index stored in the given file. If the file is already
+     * mapped in this process and up to date, the existing mapping is shared.
+     * If the file does not exist, was built from different settings or is
+     * older than one of the source files, it is (re)built from the entries
+     * passed to the consumer by {@code loader}. Duplicate keys are resolved
+     * in favour of the last entry. Each acquired index must be released by
+     * calling {@link #close()}.
+     *
+     * @param file        the index file
+     * @param fingerprint a fingerprint of the settings used to read the
+     *                    source files
+     * @param sources     the source files; used to check whether the index is
+     *                    up to date
+     * @param loader      passes the key-value pairs of the source files to
+     *                    the given consumer
+     * @return the index
+     */
+    static synchronized FileMapIndex acquire(final Path file, final long fingerprint,
+            final Iterable<Path> sources, final Consumer<BiConsumer<String, String>> loader) {
+        final Path key = file.toAbsolutePath().normalize();
+
+        try {
+            FileMapIndex index = INDEXES.get(key);
+
+            if (index == null || index.fingerprint != fingerprint || !isUpToDate(key, sources)) {
+                if (!isUpToDate(key, sources) || !hasFingerprint(key, fingerprint)) {
+                    build(key, fingerprint, loader);
+                }
+
+                index = new FileMapIndex(key, map(key));
+                INDEXES.put(key, index);
+            }
+
+            ++index.references;
+            return index;
+        }
+        catch (final IOException e) {
+            throw new MorphExecutionException("filemap: cannot create index file " + file, e);
+        }
+    }
+
+    /**
+     * Looks up the value of a key.
+     *
+     * @param key the key
+     * @return the value or null if the index does not contain the key
+     */
+    public String get(final String key) {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final long slot = findSlot(keyBytes, hash(keyBytes), getSegments());
+        final long entry = getLong(slotsPosition + slot * SLOT_SIZE);
+
+        return entry != 0 ? readValue(entry) : null;
+    }
+
+    /**
+     * Gets the number of distinct keys.
+     *
+     * @return the number of keys
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the keys of the index. The set is a view which reads the keys from
+     * the mapped file.
+     *
+     * @return the keys
+     */
+    public Set<String> keySet() {
+        return new KeySet();
+    }
+
+    /**
+     * Releases the index. The mapping is dropped once all maps have released
+     * the index.
+     */
+    @Override
+    public void close() {
+        synchronized (FileMapIndex.class) {
+            if (references > 0 && --references == 0) {
+                INDEXES.remove(file, this);
+                segments = null;
+            }
+        }
+    }
+
+    private ByteBuffer[] getSegments() {
+        final ByteBuffer[] result = segments;
+        if (result == null) {
+            throw new IllegalStateException("filemap: index has been closed");
+        }
+        return result;
+    }
+
+    private long findSlot(final byte[] keyBytes, final long hash, final ByteBuffer[] buffers) {
+        final long mask = slotCount - 1;
+
+        long slot = hash & mask;
+        long entry = getLong(buffers, slotsPosition + slot * SLOT_SIZE);
+        while (entry != 0 && !keyEquals(buffers, entry, keyBytes)) {
+            slot = slot + 1 & mask;
+            entry = getLong(buffers, slotsPosition + slot * SLOT_SIZE);
+        }
+
+        return slot;
+    }
+
+    private String readKey(final long entry) {
+        return readString(entry + ENTRY_HEADER_SIZE, getInt(entry));
+    }
+
+    private String readValue(final long entry) {
+        return readString(entry + ENTRY_HEADER_SIZE + getInt(entry), getInt(entry + Integer.BYTES));
+    }
+
+    private String readString(final long position, final int length) {
+        final ByteBuffer buffer = getSegments()[segment(position)].duplicate();
+        buffer.position(offset(position));
+
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int getInt(final long position) {
+        return getSegments()[segment(position)].getInt(offset(position));
+    }
+
+    private long getLong(final long position) {
+        return getLong(getSegments(), position);
+    }
+
+    private static long getLong(final ByteBuffer[] buffers, final long position) {
+        return buffers[segment(position)].getLong(offset(position));
+    }
+
+    private static boolean keyEquals(final ByteBuffer[] buffers, final long entry, final byte[] keyBytes) {
+        final ByteBuffer buffer = buffers[segment(entry)];
+        final int offset = offset(entry);
+
+        boolean equal = buffer.getInt(offset) == keyBytes.length;
+        for (int i = 0; equal && i < keyBytes.length; ++i) {
+            equal = buffer.get(offset + ENTRY_HEADER_SIZE + i) == keyBytes[i];
+        }
+        return equal;
+    }
+
+    private static long hash(final byte[] bytes) {
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte b : bytes) {
+            hash = (hash ^ (b & BYTE_MASK)) * FNV_PRIME;
+        }
+        return hash ^ hash >>> HASH_SHIFT;
+    }
+
+    private static long hashAt(final ByteBuffer[] buffers, final long entry) {
+        final ByteBuffer buffer = buffers[segment(entry)];
+        final int offset = offset(entry);
+        final int length = buffer.getInt(offset);
+
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < length; ++i) {
+            hash = (hash ^ (buffer.get(offset + ENTRY_HEADER_SIZE + i) & BYTE_MASK)) * FNV_PRIME;
+        }
+        return hash ^ hash >>> HASH_SHIFT;
+    }
+
+    private static int segment(final long position) {
+        return (int) (position >>> SEGMENT_SHIFT);
+    }
+
+    private static int offset(final long position) {
+        return (int) (position & SEGMENT_MASK);
+    }
+
+    private static boolean isUpToDate(final Path file, final Iterable<Path> sources) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+
+        final long lastModified = Files.getLastModifiedTime(file).toMillis();
+        for (final Path source : sources) {
+            if (Files.isRegularFile(source) && Files.getLastModifiedTime(source).toMillis() > lastModified) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean hasFingerprint(final Path file, final long fingerprint) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // read the complete header
+            }
+        }
+
+        return header.position() == HEADER_SIZE && header.getInt(0) == MAGIC &&
+            header.getInt(VERSION_POSITION) == VERSION && header.getLong(FINGERPRINT_POSITION) == fingerprint;
+    }
+
+    private static MappedByteBuffer[] map(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return map(channel, FileChannel.MapMode.READ_ONLY, channel.size());
+        }
+    }
+
+    private static MappedByteBuffer[] map(final FileChannel channel, final FileChannel.MapMode mode, final long length) throws IOException {
+        final MappedByteBuffer[] buffers = new MappedByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < buffers.length; ++i) {
+            final long position = i * SEGMENT_SIZE;
+            buffers[i] = channel.map(mode, position, Math.min(SEGMENT_SIZE, length - position));
+        }
+        return buffers;
+    }
+
+    private static void build(final Path file, final long fingerprint, final Consumer<BiConsumer<String, String>> loader) throws IOException {
+        final Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        final Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            final EntryWriter writer = new EntryWriter(Files.newOutputStream(temp));
+            try {
+                loader.accept(writer);
+            }
+            finally {
+                writer.close();
+            }
+
+            buildSlots(temp, fingerprint, writer.getPosition(), writer.getCount());
+
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void buildSlots(final Path file, final long fingerprint, final long entriesEnd, final long count) throws IOException {
+        final long slotCount = Long.highestOneBit(Math.max(count + count / LOAD_FACTOR_DIVISOR, 1)) << 1;
+        final long slotsPosition = (entriesEnd + SLOT_SIZE - 1) / SLOT_SIZE * SLOT_SIZE;
+        final long length = slotsPosition + slotCount * SLOT_SIZE;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(length);
+
+            final MappedByteBuffer[] buffers = map(raf.getChannel(), FileChannel.MapMode.READ_WRITE, length);
+            final ByteBuffer header = buffers[0];
+
+            long size = 0;
+            long entry = HEADER_SIZE;
+            while (entry < entriesEnd) {
+                final ByteBuffer buffer = buffers[segment(entry)];
+                final int offset = offset(entry);
+
+                if (SEGMENT_SIZE - offset < ENTRY_HEADER_SIZE || buffer.getInt(offset) == PADDING) {
+                    entry = (entry | SEGMENT_MASK) + 1;
+                    continue;
+                }
+
+                final long hash = hashAt(buffers, entry);
+                final long mask = slotCount - 1;
+
+                long slot = hash & mask;
+                long existing = getLong(buffers, slotsPosition + slot * SLOT_SIZE);
+                while (existing != 0 && !(hashAt(buffers, existing) == hash && sameKey(buffers, existing, entry))) {
+                    slot = slot + 1 & mask;
+                    existing = getLong(buffers, slotsPosition + slot * SLOT_SIZE);
+                }
+
+                if (existing == 0) {
+                    ++size;
+                }
+
+                final long slotPosition = slotsPosition + slot * SLOT_SIZE;
+                buffers[segment(slotPosition)].putLong(offset(slotPosition), entry);
+
+                entry += ENTRY_HEADER_SIZE + buffer.getInt(offset) + buffer.getInt(offset + Integer.BYTES);
+            }
+
+            header.putInt(0, MAGIC);
+            header.putInt(VERSION_POSITION, VERSION);
+            header.putLong(FINGERPRINT_POSITION, fingerprint);
+            header.putLong(SIZE_POSITION, size);
+            header.putLong(SLOT_COUNT_POSITION, slotCount);
+            header.putLong(SLOTS_POSITION, slotsPosition);
+
+            for (final MappedByteBuffer buffer : buffers) {
+                buffer.force();
+            }
+        }
+    }
+
+    private static boolean sameKey(final ByteBuffer[] buffers, final long entry1, final long entry2) {
+        final ByteBuffer buffer1 = buffers[segment(entry1)];
+        final ByteBuffer buffer2 = buffers[segment(entry2)];
+        final int offset1 = offset(entry1);
+        final int offset2 = offset(entry2);
+        final int length = buffer1.getInt(offset1);
+
+        boolean equal = buffer2.getInt(offset2) == length;
+        for (int i = ENTRY_HEADER_SIZE; equal && i < ENTRY_HEADER_SIZE + length; ++i) {
+            equal = buffer1.get(offset1 + i) == buffer2.get(offset2 + i);
+        }
+        return equal;
+    }
+
+    /**
+     * Writes the entries of the index behind a placeholder for the header.
+     */
+    private static final class EntryWriter implements BiConsumer<String, String> {
+
+        private final DataOutputStream out;
+
+        private long position = HEADER_SIZE;
+        private long count;
+
+        EntryWriter(final OutputStream stream) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.write(new byte[HEADER_SIZE]);
+        }
+
+        @Override
+        public void accept(final String key, final String value) {
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            final long length = (long) ENTRY_HEADER_SIZE + keyBytes.length + valueBytes.length;
+
+            if (length > SEGMENT_SIZE) {
+                throw new MorphExecutionException("filemap: entry too large for index: " + key);
+            }
+
+            try {
+                final long remaining = SEGMENT_SIZE - offset(position);
+                if (remaining < length) {
+                    if (remaining >= ENTRY_HEADER_SIZE) {
+                        out.writeInt(PADDING);
+                        position += Integer.BYTES;
+                    }
+                    while (offset(position) != 0) {
+                        out.write(0);
+                        ++position;
+                    }
+                }
+
+                out.writeInt(keyBytes.length);
+                out.writeInt(valueBytes.length);
+                out.write(keyBytes);
+                out.write(valueBytes);
+            }
+            catch (final IOException e) {
+                throw new MorphExecutionException("filemap: cannot write index file", e);
+            }
+
+            position += length;
+            ++count;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        void close() throws IOException {
+            out.close();
+        }
+
+    }
+
+    /**
+     * A view of the keys stored in the index.
+     */
+    private final class KeySet extends AbstractSet<String> {
+
+        KeySet() {
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return key instanceof String && get((String) key) != null;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private long slot = advance(0);
+
+                @Override
+                public boolean hasNext() {
+                    return slot < slotCount;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    final String key = readKey(getLong(slotsPosition + slot * SLOT_SIZE));
+                    slot = advance(slot + 1);
+                    return key;
+                }
+
+                private long advance(final long start) {
+                    long next = start;
+                    while (next < slotCount && getLong(slotsPosition + next * SLOT_SIZE) == 0) {
+                        ++next;
+                    }
+                    return next;
+                }
+
+            };
+        }
+
+    }
+
+}
@@ -17,13 +17,9 @@
 package org.metafacture.metamorph.maps;
 
 import org.metafacture.metamorph.api.MorphExecutionException;
-import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
 
-import java.io.Closeable;
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
@@ -31,20 +27,21 @@
 
 /**
  * A map which queries an sql database provided as jndi
- * resource.
+ * resource. A connection is taken from the data source (which usually
+ * provides connection pooling) for each query and returned afterwards.
  *
  * @author Daniel Schäfer
  *
  */
-public final class JndiSqlMap extends AbstractReadOnlyMap<String, String> implements Closeable {
+public final class JndiSqlMap extends AbstractSqlMap {
 
     private DataSource datasource;
-    private String query;
 
     /**
      * Creates an instance of {@link JndiSqlMap}.
      */
     public JndiSqlMap() {
+        super("jndisqlmap");
     }
 
     /**
@@ -64,37 +61,35 @@ public void setDatasource(final String name) {
     }
 
     /**
-     * Sets the query.
+     * Sets the {@link DataSource}.
      *
-     * @param query the query
+     * @param datasource the data source
      */
-    public void setQuery(final String query) {
-        this.query = query;
+    public void setDatasource(final DataSource datasource) {
+        this.datasource = datasource;
     }
 
     @Override
-    public String get(final Object key) {
-        String resultString = null;
-        try (
-                Connection connection = datasource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(query)
-        ) {
-            statement.setString(1, key.toString());
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.first()) {
-                    resultString = resultSet.getString(1);
-                }
-            }
+    protected PreparedStatement prepareStatement(final String sql) throws SQLException {
+        final Connection connection = datasource.getConnection();
+        try {
+            return connection.prepareStatement(sql);
         }
         catch (final SQLException e) {
-            throw new MorphExecutionException("jndisqlmap: execution of sql query failed", e);
+            connection.close();
+            throw e;
         }
-        return resultString;
     }
 
     @Override
-    public void close() throws IOException {
-        // Nothing to do
+    protected void releaseStatement(final PreparedStatement statement) throws SQLException {
+        final Connection connection = statement.getConnection();
+        try {
+            statement.close();
+        }
+        finally {
+            connection.close();
+        }
     }
 
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded, thread-safe cache for the results of expensive map lookups.
+ * Least recently used entries are evicted first. Keys without a value are
+ * cached as well ("negative caching"), with a separate time to live.
+ */
+final class LookupCache {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Map<String, CachedValue> entries;
+    private final int maxSize;
+    private final long ttl;
+    private final long negativeTtl;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an instance of {@link LookupCache}.
+     *
+     * @param maxSize           the maximum number of entries; caching is
+     *                          disabled if not positive
+     * @param ttlMillis         the time to live of entries with a value in
+     *                          milliseconds
+     * @param negativeTtlMillis the time to live of entries without a value in
+     *                          milliseconds
+     */
+    LookupCache(final int maxSize, final long ttlMillis, final long negativeTtlMillis) {
+        this.maxSize = maxSize;
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtl = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+
+        entries = new LinkedHashMap<String, CachedValue>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            private static final long serialVersionUID = 0L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedValue> eldest) {
+                return size() > LookupCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @param key the key
+     * @return null if the key is not cached, an empty optional if the key is
+     * cached without a value, or the cached value
+     */
+    public synchronized Optional<String> get(final String key) {
+        final CachedValue entry = maxSize > 0 ? entries.get(key) : null;
+
+        if (entry == null || entry.expires - System.nanoTime() < 0) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            ++misses;
+            return null;
+        }
+
+        ++hits;
+        return Optional.ofNullable(entry.value);
+    }
+
+    /**
+     * Caches a value.
+     *
+     * @param key   the key
+     * @param value the value, or null if there is no value for the key
+     */
+    public synchronized void put(final String key, final String value) {
+        if (maxSize > 0) {
+            entries.put(key, new CachedValue(value, System.nanoTime() + (value != null ? ttl : negativeTtl)));
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups not answered from the cache.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static final class CachedValue {
+
+        private final String value;
+        private final long expires;
+
+        CachedValue(final String value, final long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+
+    }
+
+}
@@ -18,32 +18,67 @@
 
 import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
 
-import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.Charset;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 /**
  * A map which resolves its keys by doing a REST request and returning the
  * response as value.
+ * <p>
+ * Responses are kept in a bounded cache. Keys for which the server responds
+ * with a client error (e.g. 404) are cached as well, with a separate time to
+ * live. Connections are kept alive and reused between requests. Concurrent
+ * lookups of the same key share a single request. Applications using the
+ * Java API can request keys asynchronously in advance with
+ * {@link #prefetch(Iterable)}; Metamorph and Fix do not prefetch.
  *
  * @author Markus Michael Geipel
  * @author Philipp v. Böselager
  */
-public final class RestMap extends AbstractReadOnlyMap<String, String> {
+public final class RestMap extends AbstractReadOnlyMap<String, String> implements Closeable {
 
     public static final String CHARSET_NAME = "UTF-8";
 
-    private static final Pattern VAR_PATTERN = Pattern.compile("${key}", Pattern.LITERAL);
+    public static final int CACHE_SIZE = 10000;
+    public static final int CACHE_TTL = 3600000;
+    public static final int NEGATIVE_CACHE_TTL = 600000;
+    public static final int TIMEOUT = 10000;
+    public static final int MAX_CONCURRENT_REQUESTS = 8;
+
+    private static final String VAR = "${key}";
+
+    private static final int HTTP_CLIENT_ERROR = 400;
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    private final Map<String, CompletableFuture<Optional<String>>> pendingRequests = new ConcurrentHashMap<>();
+
     private String charsetName = CHARSET_NAME;
     private String url;
 
+    private int cacheSize = CACHE_SIZE;
+    private int cacheTtl = CACHE_TTL;
+    private int negativeCacheTtl = NEGATIVE_CACHE_TTL;
+    private int timeout = TIMEOUT;
+    private int maxConcurrentRequests = MAX_CONCURRENT_REQUESTS;
+
+    private HttpClient client;
+    private LookupCache cache;
+    private Semaphore requestPermits;
+
     /**
      * Creates an instance of {@link RestMap}.
      */
@@ -61,36 +96,139 @@ public RestMap(final String url) {
 
     @Override
     public String get(final Object key) {
-        final Matcher matcher = VAR_PATTERN.matcher(url);
+        final String keyString = key.toString();
+        Optional<String> value = getCache().get(keyString);
+
+        if (value == null) {
+            value = join(request(keyString));
+        }
+
+        return value.orElse(null);
+    }
+
+    /**
+     * Requests the values of the given keys asynchronously, so that subsequent
+     * calls to {@link #get(Object)} do not have to wait for the server. Keys
+     * which are already cached or requested are skipped. The number of
+     * concurrent requests is limited by {@link #setMaxConcurrentRequests(int)};
+     * this method blocks until a request can be started.
+     * <p>
+     * This method is only part of the Java API. Neither Metamorph nor Fix
+     * call it.
+     *
+     * @param keys the keys to request
+     */
+    public void prefetch(final Iterable<?> keys) {
+        for (final Object key : keys) {
+            final String keyString = key.toString();
+            if (getCache().get(keyString) == null) {
+                request(keyString);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        pendingRequests.values().forEach(r -> r.cancel(true));
+        pendingRequests.clear();
+
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private CompletableFuture<Optional<String>> request(final String key) {
+        final CompletableFuture<Optional<String>> newRequest = new CompletableFuture<>();
+        final CompletableFuture<Optional<String>> pendingRequest = pendingRequests.computeIfAbsent(key, k -> newRequest);
+
+        if (pendingRequest == newRequest) {
+            // Sent outside of computeIfAbsent since it may block:
+            send(key, newRequest);
+        }
+
+        return pendingRequest;
+    }
+
+    private void send(final String key, final CompletableFuture<Optional<String>> pendingRequest) {
+        final HttpRequest request;
         try {
-            final String urlString = matcher.replaceAll(key.toString());
-            return readFromUrl(urlString);
+            request = HttpRequest.newBuilder(new URI(url.replace(VAR, key).replace(" ", "%20")))
+                .timeout(Duration.ofMillis(timeout))
+                .build();
         }
-        catch (final IOException | URISyntaxException e) {
-            // There was no data result for the given URL
-            return null;
+        catch (final URISyntaxException | IllegalArgumentException e) {
+            // There is no data result for an invalid URL
+            pendingRequests.remove(key, pendingRequest);
+            pendingRequest.complete(Optional.empty());
+            return;
         }
+
+        final Semaphore permits = getRequestPermits();
+        permits.acquireUninterruptibly();
+
+        getClient().sendAsync(request, HttpResponse.BodyHandlers.ofString(Charset.forName(charsetName)))
+            .whenComplete((response, throwable) -> {
+                final Optional<String> value;
+
+                if (throwable != null) {
+                    // There was no data result for the given URL; do not
+                    // cache since the failure might be temporary
+                    value = Optional.empty();
+                }
+                else if (response.statusCode() >= HTTP_CLIENT_ERROR) {
+                    if (response.statusCode() < HTTP_SERVER_ERROR) {
+                        getCache().put(key, null);
+                    }
+                    value = Optional.empty();
+                }
+                else {
+                    getCache().put(key, response.body());
+                    value = Optional.of(response.body());
+                }
+
+                pendingRequests.remove(key, pendingRequest);
+                permits.release();
+                pendingRequest.complete(value);
+            });
     }
 
-    private String readFromUrl(final String targetUrl) throws IOException, URISyntaxException {
-        final InputStream inputStream = new URL(new URI(targetUrl.replace(" ", "%20")).toASCIIString()).openConnection()
-                .getInputStream();
+    private Optional<String> join(final CompletableFuture<Optional<String>> pendingRequest) {
         try {
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, Charset.forName(charsetName)));
-            final StringBuilder stringBuffer = new StringBuilder();
-            int value;
-            while ((value = reader.read()) != -1) {
-                stringBuffer.append((char) value);
-            }
-            return stringBuffer.toString();
+            return pendingRequest.join();
         }
-        finally {
-            inputStream.close();
+        catch (final CancellationException | CompletionException e) {
+            return Optional.empty();
         }
     }
 
+    private synchronized HttpClient getClient() {
+        if (client == null) {
+            client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(timeout))
+                .build();
+        }
+        return client;
+    }
+
+    private synchronized LookupCache getCache() {
+        if (cache == null) {
+            cache = new LookupCache(cacheSize, cacheTtl, negativeCacheTtl);
+        }
+        return cache;
+    }
+
+    private synchronized Semaphore getRequestPermits() {
+        if (requestPermits == null) {
+            requestPermits = new Semaphore(Math.max(maxConcurrentRequests, 1));
+        }
+        return requestPermits;
+    }
+
     /**
-     * Sets the URL.
+     * Sets the URL. The placeholder {@code ${key}} is replaced by the key to
+     * look up.
      *
      * @param url the URL
      */
@@ -107,4 +245,55 @@ public void setCharsetName(final String name) {
         charsetName = name;
     }
 
+    /**
+     * Sets the maximum number of cached responses. Set to 0 to disable
+     * caching. <strong>Default value: {@value #CACHE_SIZE}</strong>
+     *
+     * @param cacheSize the maximum number of cached responses
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Sets the time to live of cached responses in milliseconds.
+     * <strong>Default value: {@value #CACHE_TTL}</strong>
+     *
+     * @param cacheTtl the time to live in milliseconds
+     */
+    public void setCacheTtl(final int cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Sets the time to live of cached client errors (e.g. 404 for unknown
+     * keys) in milliseconds.
+     * <strong>Default value: {@value #NEGATIVE_CACHE_TTL}</strong>
+     *
+     * @param negativeCacheTtl the time to live in milliseconds
+     */
+    public void setNegativeCacheTtl(final int negativeCacheTtl) {
+        this.negativeCacheTtl = negativeCacheTtl;
+    }
+
+    /**
+     * Sets the connect and request timeout in milliseconds.
+     * <strong>Default value: {@value #TIMEOUT}</strong>
+     *
+     * @param timeout the timeout in milliseconds
+     */
+    public void setTimeout(final int timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets the maximum number of concurrent requests.
+     * <strong>Default value: {@value #MAX_CONCURRENT_REQUESTS}</strong>
+     *
+     * @param maxConcurrentRequests the maximum number of concurrent requests
+     */
+    public void setMaxConcurrentRequests(final int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide registry of read-only maps which are expensive to load, e.g.
+ * large {@link FileMap}s. Maps are registered under a key which identifies
+ * their source and settings. The first {@link #acquire acquisition} of a key
+ * loads the map; later acquisitions, also from other threads, share the loaded
+ * map. Each acquisition returns a {@link Reference} which must be closed when
+ * it is no longer needed. The map is closed and removed from the registry
+ * when its last reference is closed.
+ * <p>
+ * Shared maps are read concurrently and must therefore be thread-safe for
+ * reading.
+ */
+public final class SharedMaps {
+
+    private static final Map<String, SharedEntry> ENTRIES = new HashMap<>();
+
+    private SharedMaps() {
+        throw new AssertionError("No instances allowed");
+    }
+
+    /**
+     * Acquires a reference to the map registered under the given key. If no
+     * map is registered under the key, the map is created by {@code loader}.
+     * Concurrent acquisitions of the same key wait for the map to be loaded
+     * and do not load it again.
+     *
+     * @param key    the key identifying the source and settings of the map
+     * @param loader creates and loads the map
+     * @return a reference to the shared map
+     */
+    public static Reference acquire(final String key, final Supplier<? extends Map<String, String>> loader) {
+        final SharedEntry entry;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.computeIfAbsent(key, SharedEntry::new);
+            ++entry.references;
+        }
+
+        try {
+            return new Reference(entry, entry.getMap(loader));
+        }
+        catch (final RuntimeException e) { // checkstyle-disable-line IllegalCatch
+            release(entry);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of open references to the map registered under the
+     * given key.
+     *
+     * @param key the key
+     * @return the number of open references; 0 if no map is registered
+     */
+    static int getReferenceCount(final String key) {
+        synchronized (ENTRIES) {
+            final SharedEntry entry = ENTRIES.get(key);
+            return entry != null ? entry.references : 0;
+        }
+    }
+
+    private static Map<String, String> release(final SharedEntry entry) {
+        synchronized (ENTRIES) {
+            final boolean unused = --entry.references == 0;
+            if (unused) {
+                ENTRIES.remove(entry.key, entry);
+            }
+            return unused ? entry.map : null;
+        }
+    }
+
+    /**
+     * A reference to a shared map. Lookups are delegated to the shared map.
+     */
+    public static final class Reference extends AbstractReadOnlyMap<String, String> implements Closeable {
+
+        private final SharedEntry entry;
+        private final Map<String, String> map;
+
+        private boolean closed;
+
+        private Reference(final SharedEntry entry, final Map<String, String> map) {
+            this.entry = entry;
+            this.map = map;
+        }
+
+        /**
+         * Gets the key under which the map is registered.
+         *
+         * @return the key
+         */
+        public String getKey() {
+            return entry.key;
+        }
+
+        @Override
+        public String get(final Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return map.keySet();
+        }
+
+        /**
+         * Releases the reference. Closing a reference more than once has no
+         * effect.
+         *
+         * @throws IOException if the shared map cannot be closed
+         */
+        @Override
+        public void close() throws IOException {
+            final boolean wasClosed;
+            synchronized (this) {
+                wasClosed = closed;
+                closed = true;
+            }
+
+            final Map<String, String> unusedMap = wasClosed ? null : release(entry);
+            if (unusedMap instanceof Closeable) {
+                ((Closeable) unusedMap).close();
+            }
+        }
+
+    }
+
+    private static final class SharedEntry {
+
+        private final String key;
+
+        private int references;
+        private volatile Map<String, String> map;
+
+        SharedEntry(final String key) {
+            this.key = key;
+        }
+
+        synchronized Map<String, String> getMap(final Supplier<? extends Map<String, String>> loader) {
+            if (map == null) {
+                map = loader.get();
+            }
+            return map;
+        }
+
+    }
+
+}
@@ -17,59 +17,70 @@
 package org.metafacture.metamorph.maps;
 
 import org.metafacture.metamorph.api.MorphExecutionException;
-import org.metafacture.metamorph.api.helpers.AbstractReadOnlyMap;
 
-import java.io.Closeable;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * A map implementation that queries an sql database.
+ * A map implementation that queries an sql database. The database is
+ * addressed either by a JDBC URL or, for backward compatibility, by host
+ * and database name of a MySQL server. A single connection is kept open and
+ * prepared statements are reused. Lookups from several threads (e.g. by
+ * {@code parallel-morph} or a shared map) take turns on this connection.
  *
  * @author Daniel Schäfer
  * @author Markus Michael Geipel
  *
  */
-public final class SqlMap extends AbstractReadOnlyMap<String, String> implements Closeable {
+public final class SqlMap extends AbstractSqlMap {
+
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
 
     private boolean isUninitialized = true;
 
     private Connection conn;
+    private String url;
     private String host;
     private String login;
     private String password;
     private String database;
-    private String query;
     private String driver;
 
-    private PreparedStatement preparedStatement;
-
     /**
      * Creates an instance of {@link SqlMap}.
      */
     public SqlMap() {
+        super("sqlmap");
     }
 
     /**
-     * Initializes the prepared statement using the {@link #query}.
+     * Initializes the database connection.
      */
     public void init() {
+        lock.lock();
         try {
-            preparedStatement = getMySqlConnection().prepareStatement(query);
+            getConnection();
+            isUninitialized = false;
         }
-        catch (final SQLException e) {
-            throw new MorphExecutionException("sqlmap: could not create prepared statement for query", e);
+        finally {
+            lock.unlock();
         }
-        isUninitialized = false;
     }
 
     @Override
     public void close() throws IOException {
+        super.close();
+
+        lock.lock();
         try {
+            statements.clear();
             if (conn != null) {
                 conn.close();
             }
@@ -77,40 +88,97 @@ public void close() throws IOException {
         catch (final SQLException e) {
             throw new MorphExecutionException("sqlmap: could not close db connection", e);
         }
+        finally {
+            lock.unlock();
+        }
     }
 
-    private Connection getMySqlConnection() {
-        try {
-            Class.forName(driver);
+    @Override
+    protected PreparedStatement prepareStatement(final String sql) throws SQLException {
+        // The connection is held until the statement is released:
+        lock.lock();
 
-            conn = DriverManager.getConnection("jdbc:mysql://" + host + "/" +
-                    database + "?" + "user=" + login + "&" + "password=" + password);
+        boolean prepared = false;
+        try {
+            final PreparedStatement statement = getStatement(sql);
+            prepared = true;
+            return statement;
         }
-        catch (final ClassNotFoundException | SQLException e) {
-            throw new MorphExecutionException("sqlmap: cannot create db connection", e);
+        finally {
+            if (!prepared) {
+                lock.unlock();
+            }
         }
-        return conn;
     }
 
     @Override
-    public String get(final Object key) {
+    protected void releaseStatement(final PreparedStatement statement) throws SQLException {
+        try {
+            statement.clearParameters();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private PreparedStatement getStatement(final String sql) throws SQLException {
         if (isUninitialized) {
             init();
         }
-        String resultString = null;
-        final ResultSet resultSet;
+        else if (conn.isClosed()) {
+            statements.clear();
+            getConnection();
+        }
+
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = conn.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    private Connection getConnection() {
         try {
-            preparedStatement.setString(1, key.toString());
-            resultSet = preparedStatement.executeQuery();
-            if (resultSet.first()) {
-                resultString = resultSet.getString(1);
+            if (driver != null) {
+                loadDriver();
+            }
+
+            if (url != null) {
+                conn = login != null ? DriverManager.getConnection(url, login, password) : DriverManager.getConnection(url);
+            }
+            else {
+                conn = DriverManager.getConnection("jdbc:mysql://" + host + "/" +
+                        database + "?" + "user=" + login + "&" + "password=" + password);
             }
-            resultSet.close();
         }
         catch (final SQLException e) {
-            throw new MorphExecutionException("sqlmap: execution of prepared statement failed", e);
+            throw new MorphExecutionException("sqlmap: cannot create db connection", e);
+        }
+        return conn;
+    }
+
+    private void loadDriver() {
+        try {
+            Class.forName(driver);
+        }
+        catch (final ClassNotFoundException e) {
+            // JDBC 4 drivers given by URL are found without explicit loading
+            if (url == null) {
+                throw new MorphExecutionException("sqlmap: cannot create db connection", e);
+            }
         }
-        return resultString;
+    }
+
+    /**
+     * Sets the JDBC URL, e.g. {@code jdbc:postgresql://localhost/authorities}.
+     * If set, {@link #setHost(String)} and {@link #setDatabase(String)} are
+     * ignored.
+     *
+     * @param url the JDBC URL
+     */
+    public void setUrl(final String url) {
+        this.url = url;
     }
 
     /**
@@ -158,13 +226,4 @@ public void setDatabase(final String database) {
         this.database = database;
     }
 
-    /**
-     * Sets the query.
-     *
-     * @param query the query
-     */
-    public void setQuery(final String query) {
-        this.query = query;
-    }
-
 }
@@ -29,6 +29,8 @@
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -58,6 +60,9 @@ public final class DomLoader { // checkstyle-disable-line ClassDataAbstractionCo
 
     private static final ErrorListener TRANSFORMER_ERROR_HANDLER = new TransformerErrorHandler();
 
+    // Compiled schemas are immutable and thread-safe:
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
     private DomLoader() {
         throw new AssertionError("No instances allowed");
     }
@@ -105,6 +110,10 @@ private static XMLReader createXmlFilterPipeline(final String schemaFile, final
     }
 
     private static Schema loadSchema(final String schemaFile) {
+        return SCHEMAS.computeIfAbsent(schemaFile, DomLoader::compileSchema);
+    }
+
+    private static Schema compileSchema(final String schemaFile) {
         try {
             return SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(getSchemaUrl(schemaFile));
         }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph;
+
+import org.metafacture.framework.StreamReceiver;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/**
+ * Tests for class {@link ParallelMetamorph}.
+ */
+public final class ParallelMetamorphTest {
+
+    private static final String MORPH_DEF = "org/metafacture/metamorph/parallel-metamorph-test.xml";
+
+    private static final int RECORDS = 1000;
+
+    @Rule
+    public MockitoRule mockito = MockitoJUnit.rule();
+
+    @Mock
+    private StreamReceiver receiver;
+
+    public ParallelMetamorphTest() {
+    }
+
+    @Test
+    public void shouldTransformRecordsInInputOrder() {
+        assertParallelMetamorph(4);
+    }
+
+    @Test
+    public void shouldTransformRecordsInCallingThreadIfSingleThreaded() {
+        assertParallelMetamorph(1);
+    }
+
+    private void assertParallelMetamorph(final int threads) {
+        final ParallelMetamorph metamorph = new ParallelMetamorph(MORPH_DEF);
+        metamorph.setThreads(threads);
+        metamorph.setReceiver(receiver);
+
+        for (int i = 0; i < RECORDS; ++i) {
+            metamorph.startRecord(String.valueOf(i));
+            metamorph.literal("title", "title " + i);
+            metamorph.startEntity("author");
+            metamorph.literal("name", "author " + i);
+            metamorph.endEntity();
+            metamorph.endRecord();
+        }
+        metamorph.closeStream();
+
+        final InOrder ordered = Mockito.inOrder(receiver);
+        for (int i = 0; i < RECORDS; ++i) {
+            ordered.verify(receiver).startRecord(String.valueOf(i));
+            ordered.verify(receiver).literal("title", "TITLE " + i);
+            ordered.verify(receiver).startEntity("creator");
+            ordered.verify(receiver).literal("name", "author " + i);
+            ordered.verify(receiver).endEntity();
+            ordered.verify(receiver).endRecord();
+        }
+        ordered.verify(receiver).closeStream();
+        ordered.verifyNoMoreInteractions();
+    }
+
+}
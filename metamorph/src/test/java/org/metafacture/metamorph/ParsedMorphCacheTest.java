@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import java.io.StringReader;
+
+/**
+ * Tests for class {@link ParsedMorphCache}.
+ */
+public final class ParsedMorphCacheTest {
+
+    private static final String SCHEMA_FILE = "schemata/metamorph.xsd";
+
+    private static final String MORPH_DEF =
+            "<metamorph xmlns='http://www.culturegraph.org/metamorph' version='1'>" +
+            "  <rules>" +
+            "    <data source='%s' />" +
+            "  </rules>" +
+            "</metamorph>";
+
+    public ParsedMorphCacheTest() {
+    }
+
+    @Test
+    public void shouldReturnCachedDocumentForSameDefinition() {
+        final Document document1 = parse("data1");
+        final Document document2 = parse("data1");
+
+        Assert.assertSame(document1, document2);
+    }
+
+    @Test
+    public void shouldParseChangedDefinition() {
+        final Document document1 = parse("data1");
+        final Document document2 = parse("data2");
+
+        Assert.assertNotSame(document1, document2);
+    }
+
+    private Document parse(final String source) {
+        return ParsedMorphCache.parse(SCHEMA_FILE, new InputSource(new StringReader(String.format(MORPH_DEF, source))));
+    }
+
+}
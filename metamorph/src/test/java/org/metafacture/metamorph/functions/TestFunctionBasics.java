@@ -17,6 +17,7 @@
 package org.metafacture.metamorph.functions;
 
 import org.metafacture.framework.StreamReceiver;
+import org.metafacture.metamorph.MorphBuilder;
 import org.metafacture.metamorph.TestHelpers;
 
 import org.junit.Rule;
@@ -104,6 +105,44 @@ public void shouldSupportFunctionChainingInEntities() {
         );
     }
 
+    @Test
+    public void shouldStopFusedFunctionChainIfFunctionReturnsNoResult() {
+        System.setProperty(MorphBuilder.FUSE_FUNCTIONS_PROPERTY, "true");
+        try {
+            shouldStopFunctionChainIfFunctionReturnsNoResult();
+        }
+        finally {
+            System.clearProperty(MorphBuilder.FUSE_FUNCTIONS_PROPERTY);
+        }
+    }
+
+    @Test
+    public void shouldStopFunctionChainIfFunctionReturnsNoResult() {
+        TestHelpers.assertMorph(receiver,
+                "<rules>" +
+                "  <data source='data'>" +
+                "    <trim />" +
+                "    <lookup>" +
+                "      <entry name='abc' value='found' />" +
+                "    </lookup>" +
+                "    <constant value='hit' />" +
+                "    <case to='upper' />" +
+                "  </data>" +
+                "</rules>",
+                i -> {
+                    i.startRecord("1");
+                    i.literal("data", " abc ");
+                    i.literal("data", " xyz ");
+                    i.endRecord();
+                },
+                o -> {
+                    o.get().startRecord("1");
+                    o.get().literal("data", "HIT");
+                    o.get().endRecord();
+                }
+        );
+    }
+
     @Test
     public void shouldUseJavaClassesAsFunctions() {
         TestHelpers.assertMorph(receiver,
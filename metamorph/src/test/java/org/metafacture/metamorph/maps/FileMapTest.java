@@ -22,10 +22,13 @@
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.function.Consumer;
 
 /**
@@ -51,6 +54,9 @@ public final class FileMapTest {
     @Rule
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
 
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Mock
     private StreamReceiver receiver;
 
@@ -368,12 +374,103 @@ public void shouldNotLoadFileWithTooManyExpectedColumns() {
         });
     }
 
+    @Test
+    public void shouldLoadFileIntoIndex() {
+        final File indexFile = new File(tempFolder.getRoot(), "map.idx");
+
+        assertMap(379, i -> {
+            i.setIndexFile(indexFile.getPath());
+
+            Assert.assertEquals("Puerto Rico", i.get("pr"));
+            Assert.assertNull(i.get("zz"));
+            Assert.assertTrue(i.keySet().contains("pr"));
+        });
+
+        Assert.assertTrue(indexFile.isFile());
+    }
+
+    @Test
+    public void shouldResolveDuplicateKeysInIndexLikeInMemory() {
+        final String indexFile = new File(tempFolder.getRoot(), "map.idx").getPath();
+
+        final FileMap expected = new FileMap();
+        expected.setFile(MAPS + "file-map-test-columns.txt");
+        expected.setSeparator(" ");
+
+        assertMap(expected.keySet().size(), i -> {
+            i.setSeparator(" ");
+            i.setIndexFile(indexFile);
+
+            for (final String key : expected.keySet()) {
+                Assert.assertEquals(expected.get(key), i.get(key));
+            }
+        });
+    }
+
+    @Test
+    public void shouldReuseIndexFile() {
+        final File indexFile = new File(tempFolder.getRoot(), "map.idx");
+
+        assertMap(379, i -> i.setIndexFile(indexFile.getPath()));
+
+        final long lastModified = indexFile.lastModified() - 60000;
+        Assert.assertTrue(indexFile.setLastModified(lastModified));
+
+        assertMap(379, i -> {
+            i.setIndexFile(indexFile.getPath());
+
+            Assert.assertEquals("Puerto Rico", i.get("pr"));
+        });
+        Assert.assertEquals(lastModified, indexFile.lastModified());
+    }
+
+    @Test
+    public void shouldShareIndexBetweenMaps() throws IOException {
+        final String indexFile = new File(tempFolder.getRoot(), "map.idx").getPath();
+
+        final FileMap fileMap1 = new FileMap();
+        fileMap1.setFile(MAPS + "file-map-test-columns.txt");
+        fileMap1.setIndexFile(indexFile);
+
+        final FileMap fileMap2 = new FileMap();
+        fileMap2.setFile(MAPS + "file-map-test-columns.txt");
+        fileMap2.setIndexFile(indexFile);
+
+        Assert.assertEquals("Puerto Rico", fileMap1.get("pr"));
+        Assert.assertEquals("Puerto Rico", fileMap2.get("pr"));
+
+        fileMap1.close();
+        Assert.assertEquals("Puerto Rico", fileMap2.get("pr"));
+        fileMap2.close();
+    }
+
+    @Test
+    public void shouldRebuildIndexWithDifferentSettings() {
+        final String indexFile = new File(tempFolder.getRoot(), "map.idx").getPath();
+
+        assertMap(379, i -> i.setIndexFile(indexFile));
+
+        assertMap(380, i -> {
+            i.setIndexFile(indexFile);
+            i.setAllowEmptyValues(true);
+
+            Assert.assertEquals("", i.get("zz"));
+        });
+    }
+
     private void assertMap(final int size, final Consumer<FileMap> consumer) {
         final FileMap fileMap = new FileMap();
         fileMap.setFile(MAPS + "file-map-test-columns.txt");
 
         consumer.accept(fileMap);
         Assert.assertEquals(size, fileMap.keySet().size());
+
+        try {
+            fileMap.close();
+        }
+        catch (final IOException e) {
+            throw new AssertionError(e);
+        }
     }
 
     private String buildMorph(final String data, final String options) {
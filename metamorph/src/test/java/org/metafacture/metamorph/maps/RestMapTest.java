@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for class {@link RestMap}.
+ */
+public final class RestMapTest {
+
+    private static final int LOOKUP_THREADS = 8;
+    private static final int SLOW_RESPONSE_DELAY = 500;
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(WireMockConfiguration.wireMockConfig()
+            .dynamicPort());
+
+    private RestMap restMap;
+
+    public RestMapTest() {
+    }
+
+    @Before
+    public void setup() {
+        wireMockRule.stubFor(WireMock.get(WireMock.urlPathMatching("/value/.*"))
+                .willReturn(WireMock.ok("Germany")));
+        wireMockRule.stubFor(WireMock.get(WireMock.urlPathMatching("/missing/.*"))
+                .willReturn(WireMock.notFound()));
+        wireMockRule.stubFor(WireMock.get(WireMock.urlPathMatching("/error/.*"))
+                .willReturn(WireMock.serverError()));
+
+        restMap = new RestMap(wireMockRule.baseUrl() + "/${key}");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        restMap.close();
+    }
+
+    @Test
+    public void shouldReturnResponseBodyAsValue() {
+        Assert.assertEquals("Germany", restMap.get("value/gw"));
+    }
+
+    @Test
+    public void shouldReturnNullForMissingKey() {
+        Assert.assertNull(restMap.get("missing/xy"));
+    }
+
+    @Test
+    public void shouldCacheValues() {
+        restMap.get("value/gw");
+        restMap.get("value/gw");
+
+        wireMockRule.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/value/gw")));
+    }
+
+    @Test
+    public void shouldCacheMissingKeys() {
+        restMap.get("missing/xy");
+        restMap.get("missing/xy");
+
+        wireMockRule.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/missing/xy")));
+    }
+
+    @Test
+    public void shouldNotCacheServerErrors() {
+        Assert.assertNull(restMap.get("error/xy"));
+        Assert.assertNull(restMap.get("error/xy"));
+
+        wireMockRule.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/error/xy")));
+    }
+
+    @Test
+    public void shouldNotCacheIfCacheSizeIsZero() {
+        restMap.setCacheSize(0);
+        restMap.get("value/gw");
+        restMap.get("value/gw");
+
+        wireMockRule.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/value/gw")));
+    }
+
+    @Test
+    public void shouldRequestKeyOnlyOnceForConcurrentLookups() throws InterruptedException, ExecutionException {
+        wireMockRule.stubFor(WireMock.get(WireMock.urlPathEqualTo("/slow/gw"))
+                .willReturn(WireMock.ok("Germany").withFixedDelay(SLOW_RESPONSE_DELAY)));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(LOOKUP_THREADS);
+        try {
+            final List<Future<String>> lookups = new ArrayList<>();
+            for (int i = 0; i < LOOKUP_THREADS; ++i) {
+                lookups.add(executor.submit(() -> restMap.get("slow/gw")));
+            }
+            for (final Future<String> lookup : lookups) {
+                Assert.assertEquals("Germany", lookup.get());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        wireMockRule.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/slow/gw")));
+    }
+
+    @Test
+    public void shouldPrefetchKeysOnlyOnce() {
+        restMap.setMaxConcurrentRequests(2);
+        restMap.prefetch(Arrays.asList("value/gw", "value/fj", "value/gw", "missing/xy"));
+
+        Assert.assertEquals("Germany", restMap.get("value/gw"));
+        Assert.assertEquals("Germany", restMap.get("value/fj"));
+        Assert.assertNull(restMap.get("missing/xy"));
+
+        wireMockRule.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/value/gw")));
+        wireMockRule.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/value/fj")));
+        wireMockRule.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/missing/xy")));
+    }
+
+}
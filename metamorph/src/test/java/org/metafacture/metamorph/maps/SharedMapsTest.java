@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tests for class {@link SharedMaps}.
+ */
+public final class SharedMapsTest {
+
+    private static final String KEY = SharedMapsTest.class.getName();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    public SharedMapsTest() {
+    }
+
+    @Test
+    public void shouldLoadMapOnlyOnce() throws IOException {
+        final SharedMaps.Reference reference1 = SharedMaps.acquire(KEY, loader());
+        final SharedMaps.Reference reference2 = SharedMaps.acquire(KEY, loader());
+
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals("Germany", reference1.get("gw"));
+        Assert.assertEquals("Germany", reference2.get("gw"));
+        Assert.assertEquals(2, SharedMaps.getReferenceCount(KEY));
+
+        reference1.close();
+        reference2.close();
+    }
+
+    @Test
+    public void shouldCloseMapWhenLastReferenceIsClosed() throws IOException {
+        final SharedMaps.Reference reference1 = SharedMaps.acquire(KEY, this::createFileMap);
+        final SharedMaps.Reference reference2 = SharedMaps.acquire(KEY, this::createFileMap);
+
+        reference1.close();
+        reference1.close();
+        Assert.assertEquals(1, SharedMaps.getReferenceCount(KEY));
+        Assert.assertEquals("Germany", reference2.get("gw"));
+
+        reference2.close();
+        Assert.assertEquals(0, SharedMaps.getReferenceCount(KEY));
+    }
+
+    @Test
+    public void shouldReloadMapAfterLastReferenceIsClosed() throws IOException {
+        SharedMaps.acquire(KEY, loader()).close();
+        SharedMaps.acquire(KEY, loader()).close();
+
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldNotShareMapsWithDifferentKeys() throws IOException {
+        final SharedMaps.Reference reference1 = SharedMaps.acquire(KEY + 1, loader());
+        final SharedMaps.Reference reference2 = SharedMaps.acquire(KEY + 2, loader());
+
+        Assert.assertEquals(2, loads.get());
+
+        reference1.close();
+        reference2.close();
+    }
+
+    @Test
+    public void shouldReleaseReferenceIfLoadingFails() {
+        try {
+            SharedMaps.acquire(KEY, () -> {
+                throw new IllegalStateException();
+            });
+            Assert.fail("Expected IllegalStateException");
+        }
+        catch (final IllegalStateException e) {
+            Assert.assertEquals(0, SharedMaps.getReferenceCount(KEY));
+        }
+    }
+
+    private Supplier<Map<String, String>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return Collections.singletonMap("gw", "Germany");
+        };
+    }
+
+    private FileMap createFileMap() {
+        final FileMap fileMap = new FileMap();
+        fileMap.setFile("org/metafacture/metamorph/maps/file-map-test.txt");
+        return fileMap;
+    }
+
+}
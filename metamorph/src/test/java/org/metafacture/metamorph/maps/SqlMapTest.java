@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 hbz
+ *
+ * Licensed under the Apache License, Version 2.0 the "License";
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.metafacture.metamorph.maps;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for class {@link SqlMap}, using an in-memory H2 database.
+ */
+public final class SqlMapTest {
+
+    private static final String URL = "jdbc:h2:mem:sqlmaptest;DB_CLOSE_DELAY=-1";
+
+    private static final int THREADS = 8;
+    private static final int LOOKUPS_PER_THREAD = 100;
+
+    private Connection connection;
+    private SqlMap sqlMap;
+
+    public SqlMapTest() {
+    }
+
+    @Before
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE countries (code VARCHAR(2) PRIMARY KEY, name VARCHAR(32))");
+            statement.execute("INSERT INTO countries VALUES ('gw', 'Germany'), ('fj', 'Fiji'), ('nz', 'New Zealand')");
+        }
+
+        sqlMap = new SqlMap();
+        sqlMap.setUrl(URL);
+        sqlMap.setQuery("SELECT name FROM countries WHERE code = ?");
+        sqlMap.setBatchQuery("SELECT code, name FROM countries WHERE code IN (?)");
+    }
+
+    @After
+    public void cleanup() throws IOException, SQLException {
+        sqlMap.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE countries");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void shouldLookupValues() {
+        Assert.assertEquals("Germany", sqlMap.get("gw"));
+        Assert.assertEquals("Fiji", sqlMap.get("fj"));
+        Assert.assertNull(sqlMap.get("xy"));
+    }
+
+    @Test
+    public void shouldCacheValuesAndMissingKeys() {
+        sqlMap.get("gw");
+        sqlMap.get("gw");
+        sqlMap.get("xy");
+        sqlMap.get("xy");
+
+        Assert.assertEquals(2, sqlMap.getQueryCount());
+    }
+
+    @Test
+    public void shouldNotCacheIfCacheSizeIsZero() {
+        sqlMap.setCacheSize(0);
+        sqlMap.get("gw");
+        sqlMap.get("gw");
+
+        Assert.assertEquals(2, sqlMap.getQueryCount());
+    }
+
+    @Test
+    public void shouldLookupValuesFromSeveralThreads() throws InterruptedException, ExecutionException {
+        sqlMap.setCacheSize(0);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Boolean>> lookups = new ArrayList<>();
+            for (int i = 0; i < THREADS; ++i) {
+                lookups.add(executor.submit(() -> {
+                    boolean correct = true;
+                    for (int j = 0; j < LOOKUPS_PER_THREAD; ++j) {
+                        correct &= "Germany".equals(sqlMap.get("gw")) && "Fiji".equals(sqlMap.get("fj"));
+                    }
+                    return correct;
+                }));
+            }
+            for (final Future<Boolean> lookup : lookups) {
+                Assert.assertTrue(lookup.get());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(2 * THREADS * LOOKUPS_PER_THREAD, sqlMap.getQueryCount());
+    }
+
+    @Test
+    public void shouldPrefetchKeysInBatches() {
+        sqlMap.setBatchSize(2);
+        sqlMap.prefetch(Arrays.asList("gw", "fj", "gw", "xy"));
+
+        Assert.assertEquals(2, sqlMap.getQueryCount());
+
+        Assert.assertEquals("Germany", sqlMap.get("gw"));
+        Assert.assertEquals("Fiji", sqlMap.get("fj"));
+        Assert.assertNull(sqlMap.get("xy"));
+
+        Assert.assertEquals(2, sqlMap.getQueryCount());
+    }
+
+    @Test
+    public void shouldNotPrefetchWithoutBatchQuery() {
+        sqlMap.setBatchQuery(null);
+        sqlMap.prefetch(Arrays.asList("gw", "fj"));
+
+        Assert.assertEquals(0, sqlMap.getQueryCount());
+    }
+
+}